@@ -0,0 +1,61 @@
+package com.klabs.accountservice.domain.valueobject;
+
+import com.klabs.accountservice.shared.time.CoarseClock;
+import com.klabs.accountservice.shared.time.DomainClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.InstantSource;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one token expiry check: the coarse clock against the system clock behind the same
+ * primitive comparison, and the {@code LocalDateTime.now()} comparison it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenExpiryBenchmark {
+
+    @Param({"coarse", "system"})
+    public String clock;
+
+    private CoarseClock coarseClock;
+
+    private Token token;
+
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.systemDefault();
+        if (clock.equals("coarse")) {
+            coarseClock = new CoarseClock(InstantSource.system(), zone);
+            DomainClock.use(coarseClock, zone);
+        } else {
+            DomainClock.use(InstantSource.system(), zone);
+        }
+        token = new Token("benchmark-token", LocalDateTime.now().plusHours(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (coarseClock != null) coarseClock.close();
+        DomainClock.reset();
+    }
+
+    @Benchmark
+    public boolean isExpired() {
+        return token.isExpired();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean isExpiredContended() {
+        return token.isExpired();
+    }
+
+    @Benchmark
+    public boolean localDateTimeNow() {
+        return LocalDateTime.now().isAfter(token.getExpiresAt());
+    }
+}
@@ -0,0 +1,59 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import com.klabs.accountservice.infrastructure.mail.OutgoingMail;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render throughput of the precompiled templates against substituting placeholders in the raw
+ * template text on every send.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MailTemplateRenderBenchmark {
+
+    private MailTemplateEngine engine;
+
+    private String rawTemplate;
+
+    private MailModel model;
+
+    @Setup
+    public void setUp() throws IOException {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        engine = new MailTemplateEngine(
+                new MailTemplateProperties("classpath:mail/templates/", Locale.ENGLISH, false, Duration.ofSeconds(1)), resourceLoader);
+        rawTemplate = resourceLoader.getResource("classpath:mail/templates/verification_en.txt")
+                .getContentAsString(StandardCharsets.UTF_8);
+        model = new MailModel("benchmarkUser", "bench@example.com", "042137", null, null, 10);
+    }
+
+    @Benchmark
+    public OutgoingMail precompiled() {
+        return engine.render(MailTemplate.VERIFICATION, Locale.ENGLISH, model, model.email());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OutgoingMail precompiledContended() {
+        return engine.render(MailTemplate.VERIFICATION, Locale.ENGLISH, model, model.email());
+    }
+
+    @Benchmark
+    public OutgoingMail replaceOnEverySend() {
+        int endOfSubject = rawTemplate.indexOf('\n');
+        String subject = rawTemplate.substring("Subject:".length(), endOfSubject).trim();
+        String body = rawTemplate.substring(endOfSubject + 2)
+                .replace("{{login}}", model.login())
+                .replace("{{code}}", model.code())
+                .replace("{{expiresInMinutes}}", String.valueOf(model.expiresInMinutes()));
+        return new OutgoingMail(model.email(), subject, body);
+    }
+}
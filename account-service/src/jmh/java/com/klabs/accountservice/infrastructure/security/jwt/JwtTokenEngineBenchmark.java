@@ -0,0 +1,80 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.domain.valueobject.Email;
+import com.klabs.accountservice.domain.valueobject.Login;
+import com.klabs.accountservice.domain.valueobject.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issue and verify throughput for HS256 and ES256. {@code verify} always checks the signature;
+ * {@code verifyCached} repeats the same token so it is answered from the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtTokenEngineBenchmark {
+
+    @Param({"HS256", "ES256"})
+    public JwtAlgorithm algorithm;
+
+    private JwtTokenEngine uncachedEngine;
+
+    private JwtTokenEngine cachedEngine;
+
+    private Account account;
+
+    private String uncachedToken;
+
+    private String cachedToken;
+
+    @Setup
+    public void setUp() {
+        uncachedEngine = engine(0);
+        cachedEngine = engine(10_000);
+        account = Account.createNew(new Login("benchmarkUser"), new Email("bench@example.com"), null);
+        uncachedToken = uncachedEngine.issue(account).getValue();
+        cachedToken = cachedEngine.issue(account).getValue();
+    }
+
+    @Benchmark
+    public Token issue() {
+        return uncachedEngine.issue(account);
+    }
+
+    @Benchmark
+    public AccessTokenClaims verify() {
+        return uncachedEngine.verify(uncachedToken);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccessTokenClaims verifyContended() {
+        return uncachedEngine.verify(uncachedToken);
+    }
+
+    @Benchmark
+    public AccessTokenClaims verifyCached() {
+        return cachedEngine.verify(cachedToken);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccessTokenClaims verifyCachedContended() {
+        return cachedEngine.verify(cachedToken);
+    }
+
+    private JwtTokenEngine engine(int cacheSize) {
+        return new JwtTokenEngine(
+                new JwtProperties(algorithm, "account-service", Duration.ofHours(1), Duration.ofHours(24),
+                        Duration.ofHours(2), Duration.ofSeconds(30), cacheSize, List.of()),
+                InstantSource.system(), new SimpleMeterRegistry());
+    }
+}
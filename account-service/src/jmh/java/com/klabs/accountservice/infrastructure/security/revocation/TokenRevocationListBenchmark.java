@@ -0,0 +1,66 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtAlgorithm;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the revocation check on the request path with {@code revoked} entries in the list.
+ * {@code notRevoked} is answered by the Bloom filter, {@code revoked} goes on to the exact map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenRevocationListBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revoked;
+
+    private TokenRevocationList revocationList;
+
+    private AccessTokenClaims revokedClaims;
+
+    private AccessTokenClaims validClaims;
+
+    @Setup
+    public void setUp() {
+        InstantSource clock = InstantSource.system();
+        revocationList = new TokenRevocationList(new RevocationProperties(100_000, 0.01, Duration.ofSeconds(1)),
+                new JwtProperties(JwtAlgorithm.HS256, "account-service", Duration.ofMinutes(15), Duration.ofHours(24),
+                        Duration.ofHours(1), Duration.ofSeconds(30), 0, List.of()),
+                events -> {
+                }, clock, new SimpleMeterRegistry());
+        long now = clock.millis();
+        long expiresAt = now + Duration.ofMinutes(15).toMillis();
+        for (int i = 0; i < revoked; i++) revocationList.revokeToken(UUID.randomUUID().toString(), expiresAt);
+
+        String revokedId = UUID.randomUUID().toString();
+        revocationList.revokeToken(revokedId, expiresAt);
+        revokedClaims = new AccessTokenClaims(UUID.randomUUID(), "benchmarkUser", revokedId, now, expiresAt);
+        validClaims = new AccessTokenClaims(UUID.randomUUID(), "benchmarkUser", UUID.randomUUID().toString(), now, expiresAt);
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocationList.isRevoked(validClaims);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean notRevokedContended() {
+        return revocationList.isRevoked(validClaims);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return revocationList.isRevoked(revokedClaims);
+    }
+}
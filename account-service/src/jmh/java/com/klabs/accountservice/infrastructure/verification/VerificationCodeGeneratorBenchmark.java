@@ -0,0 +1,64 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Code generation throughput of the striped generator, single and batched, against allocating a
+ * new {@link Random} per code. The contended variants run on 32 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VerificationCodeGeneratorBenchmark {
+
+    private SecureRandomVerificationCodeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SecureRandomVerificationCodeGenerator(
+                new VerificationCodeGeneratorProperties(Duration.ofMinutes(10), "DRBG", 0, 1536));
+    }
+
+    @Benchmark
+    public VerificationCode single() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public VerificationCode singleContended() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<VerificationCode> batchOf100() {
+        return generator.generate(100);
+    }
+
+    @Benchmark
+    @Threads(32)
+    @OperationsPerInvocation(100)
+    public List<VerificationCode> batchOf100Contended() {
+        return generator.generate(100);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public VerificationCode sharedSecureRandomContended() {
+        return VerificationCode.generate();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String randomPerCallContended() {
+        return String.format("%06d", new Random().nextInt(999_999)) + LocalDateTime.now().plusMinutes(10);
+    }
+}
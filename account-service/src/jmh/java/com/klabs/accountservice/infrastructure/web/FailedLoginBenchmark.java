@@ -0,0 +1,78 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.service.PasswordHashingService;
+import com.klabs.accountservice.domain.valueobject.Email;
+import com.klabs.accountservice.domain.valueobject.Login;
+import com.klabs.accountservice.domain.valueobject.Password;
+import com.klabs.accountservice.shared.exception.BusinessException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failed credential checks mapped to their problem response, thrown {@code depth} frames below
+ * the handler to stand in for the web stack. {@code withStackTraces} runs in a JVM started with
+ * the debug flag, so the difference is the cost of filling in the stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FailedLoginBenchmark {
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private final BusinessExceptionHandler handler = new BusinessExceptionHandler();
+
+    private final PasswordHashingService hashingService = new PasswordHashingService() {
+        @Override
+        public String hash(String plainPassword) {
+            return plainPassword;
+        }
+
+        @Override
+        public boolean matches(String plainPassword, Password hashedPassword) {
+            return false;
+        }
+    };
+
+    private Account account;
+
+    private Password newPassword;
+
+    @Setup
+    public void setUp() {
+        account = Account.createNew(new Login("benchmarkUser"), new Email("bench@example.com"), Password.fromHash("hash"));
+        newPassword = Password.fromHash("new-hash");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> stackless() {
+        return failedLogin();
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = "-D" + BusinessException.STACK_TRACES_PROPERTY + "=true")
+    public ResponseEntity<byte[]> withStackTraces() {
+        return failedLogin();
+    }
+
+    private ResponseEntity<byte[]> failedLogin() {
+        try {
+            descend(depth);
+            throw new IllegalStateException("Credentials unexpectedly matched");
+        } catch (BusinessException e) {
+            return handler.handle(e);
+        }
+    }
+
+    private void descend(int remaining) {
+        if (remaining == 0) {
+            account.changePassword("wrong-password", newPassword, hashingService);
+        } else {
+            descend(remaining - 1);
+        }
+    }
+}
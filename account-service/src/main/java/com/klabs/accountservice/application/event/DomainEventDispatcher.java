@@ -0,0 +1,60 @@
+package com.klabs.accountservice.application.event;
+
+import com.klabs.accountservice.domain.event.DomainEvent;
+import com.klabs.accountservice.domain.event.DomainEventPublisher;
+import com.klabs.accountservice.domain.model.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the events recorded by aggregates and hands them to the {@link DomainEventPublisher}.
+ * Inside a transaction all events collected during it are published as one batch after commit
+ * and dropped on rollback; outside a transaction they are published immediately.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventDispatcher {
+
+    private final DomainEventPublisher publisher;
+
+    public void dispatch(Account account) {
+        List<DomainEvent> events = account.pullDomainEvents();
+        if (events.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishAll(events);
+            return;
+        }
+        pendingBatch().addAll(events);
+    }
+
+    private List<DomainEvent> pendingBatch() {
+        @SuppressWarnings("unchecked")
+        List<DomainEvent> batch = (List<DomainEvent>) TransactionSynchronizationManager.getResource(this);
+        if (batch != null) return batch;
+
+        List<DomainEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publisher.publishAll(List.copyOf(created));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventDispatcher.this);
+                if (status != STATUS_COMMITTED && !created.isEmpty())
+                    log.debug("Discarding {} domain events of a rolled back transaction", created.size());
+            }
+        });
+        return created;
+    }
+}
@@ -1,6 +1,7 @@
 package com.klabs.accountservice.domain.event;
 
 import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import java.time.LocalDateTime;
@@ -22,7 +23,7 @@ public class AccountDeletedEvent implements  DomainEvent{
 
     public static AccountDeletedEvent from(Account account) {
         return new AccountDeletedEvent(account.getUuid(), account.getEmail().getValue(),
-                account.getLogin().getValue(), LocalDateTime.now(), LocalDateTime.now());
+                account.getLogin().getValue(), DomainClock.now(), DomainClock.now());
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.klabs.accountservice.domain.event;
 
 import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -23,7 +24,7 @@ public class AccountRegisteredEvent implements DomainEvent {
 
     public static AccountRegisteredEvent from(Account account) {
         return new AccountRegisteredEvent(account.getUuid(), account.getEmail().getValue(),
-                account.getLogin().getValue(), account.getRegisterDate(), LocalDateTime.now());
+                account.getLogin().getValue(), account.getRegisterDate(), DomainClock.now());
     }
 
     @Override
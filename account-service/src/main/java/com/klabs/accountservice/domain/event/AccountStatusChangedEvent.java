@@ -1,6 +1,7 @@
 package com.klabs.accountservice.domain.event;
 
 import com.klabs.accountservice.domain.model.AccountStatus;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -20,7 +21,7 @@ public class AccountStatusChangedEvent implements DomainEvent {
     private final LocalDateTime occurredOn;
 
     public static AccountStatusChangedEvent create(UUID accountUUID, AccountStatus oldStatus, AccountStatus newStatus) {
-        return new AccountStatusChangedEvent(accountUUID, oldStatus, newStatus, LocalDateTime.now());
+        return new AccountStatusChangedEvent(accountUUID, oldStatus, newStatus, DomainClock.now());
     }
 
     @Override
@@ -0,0 +1,9 @@
+package com.klabs.accountservice.domain.event;
+
+import java.util.List;
+
+public interface DomainEventPublisher {
+
+    void publishAll(List<DomainEvent> events);
+
+}
@@ -1,5 +1,6 @@
 package com.klabs.accountservice.domain.event;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -19,7 +20,7 @@ public class EmailUpdatedEvent implements DomainEvent{
     private final LocalDateTime occurredOn;
 
     public static EmailUpdatedEvent create(UUID accountUUID, String oldEmail, String newEmail) {
-        return new EmailUpdatedEvent(accountUUID, oldEmail, newEmail, LocalDateTime.now());
+        return new EmailUpdatedEvent(accountUUID, oldEmail, newEmail, DomainClock.now());
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.klabs.accountservice.domain.event;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -19,7 +20,7 @@ public class LoginUpdatedEvent implements DomainEvent{
     private final LocalDateTime occurredOn;
 
     public static LoginUpdatedEvent create(UUID accountUUID, String oldLogin, String newLogin) {
-        return new LoginUpdatedEvent(accountUUID, oldLogin, newLogin, LocalDateTime.now());
+        return new LoginUpdatedEvent(accountUUID, oldLogin, newLogin, DomainClock.now());
     }
 
     @Override
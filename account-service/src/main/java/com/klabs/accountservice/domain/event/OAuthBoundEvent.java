@@ -1,6 +1,7 @@
 package com.klabs.accountservice.domain.event;
 
 import com.klabs.accountservice.domain.model.OAuthProvider;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -20,7 +21,7 @@ public class OAuthBoundEvent implements DomainEvent{
     private final LocalDateTime occurredOn;
 
     public static OAuthBoundEvent from(UUID accountUUID, OAuthProvider provider) {
-        return new OAuthBoundEvent(accountUUID, provider.getProviderName(), provider.getProviderUserID(), LocalDateTime.now());
+        return new OAuthBoundEvent(accountUUID, provider.getProviderName(), provider.getProviderUserID(), DomainClock.now());
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.klabs.accountservice.domain.event;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -17,11 +18,11 @@ public class PasswordUpdatedEvent implements DomainEvent{
     private final LocalDateTime occurredOn;
 
     public static PasswordUpdatedEvent changed(UUID accountUUID) {
-        return new PasswordUpdatedEvent(accountUUID, false, LocalDateTime.now());
+        return new PasswordUpdatedEvent(accountUUID, false, DomainClock.now());
     }
 
     public static PasswordUpdatedEvent set(UUID accountUUID) {
-        return new PasswordUpdatedEvent(accountUUID, true, LocalDateTime.now());
+        return new PasswordUpdatedEvent(accountUUID, true, DomainClock.now());
     }
     @Override
     public UUID getAggregateID() {
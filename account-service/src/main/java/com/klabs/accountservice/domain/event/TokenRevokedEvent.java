@@ -0,0 +1,40 @@
+package com.klabs.accountservice.domain.event;
+
+import com.klabs.accountservice.shared.time.DomainClock;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TokenRevokedEvent implements DomainEvent {
+
+    private final UUID aggregateID;
+
+    private final String tokenId;
+
+    private final LocalDateTime expiresAt;
+
+    private final LocalDateTime occurredOn;
+
+    public static TokenRevokedEvent create(UUID accountUUID, String tokenId, long expiresAtMillis) {
+        return new TokenRevokedEvent(accountUUID, tokenId, DomainClock.toLocalDateTime(expiresAtMillis), DomainClock.now());
+    }
+
+    @Override
+    public UUID getAggregateID() {
+        return aggregateID;
+    }
+
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+
+    @Override
+    public String getEventType() {
+        return "TokenRevoked";
+    }
+}
@@ -1,15 +1,19 @@
 package com.klabs.accountservice.domain.model;
 
+import com.klabs.accountservice.domain.event.*;
 import com.klabs.accountservice.domain.service.PasswordHashingService;
 import com.klabs.accountservice.domain.valueobject.Email;
 import com.klabs.accountservice.domain.valueobject.Login;
 import com.klabs.accountservice.domain.valueobject.Password;
 import com.klabs.accountservice.shared.exception.InvalidCredentialsException;
 import com.klabs.accountservice.shared.exception.OAuthProviderAlreadyBoundException;
+import com.klabs.accountservice.shared.time.DomainClock;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -35,6 +39,9 @@ public class Account {
 
     private final List<OAuthProvider> oAuthProviders;
 
+    @Getter(AccessLevel.NONE)
+    private final List<DomainEvent> domainEvents = new ArrayList<>();
+
     private boolean hasProviderType(OAuthProvider oAuthProvider) {
         return oAuthProviders.stream().anyMatch(p -> p.isSameProvider(oAuthProvider.getProviderName()));
     }
@@ -60,7 +67,9 @@ public class Account {
     public static Account createNew(Login login, Email email, Password password) {
         Objects.requireNonNull(login);
         Objects.requireNonNull(email);
-        return new Account(UUID.randomUUID(), login, email, password, AccountStatus.PENDING_VERIFICATION, LocalDateTime.now(), false);
+        Account account = new Account(UUID.randomUUID(), login, email, password, AccountStatus.PENDING_VERIFICATION, DomainClock.now(), false);
+        account.registerEvent(AccountRegisteredEvent.from(account));
+        return account;
     }
 
     public static Account createNewOAuth(Login login, Email email, OAuthProvider oAuthProvider) {
@@ -77,19 +86,25 @@ public class Account {
 
     public void verifyEmail() {
         if (!emailVerified) emailVerified = true;
-        if (accountStatus == AccountStatus.PENDING_VERIFICATION) accountStatus = AccountStatus.ACTIVE;
+        if (accountStatus == AccountStatus.PENDING_VERIFICATION) changeStatus(AccountStatus.ACTIVE);
     }
 
     public void updateLogin(Login login) {
         Objects.requireNonNull(login);
-        if (!this.login.equals(login)) this.login = login;
+        if (!this.login.equals(login)) {
+            Login oldLogin = this.login;
+            this.login = login;
+            registerEvent(LoginUpdatedEvent.create(uuid, oldLogin.getValue(), login.getValue()));
+        }
     }
 
     public void updateEmail(Email email) {
         Objects.requireNonNull(email);
         if (!this.email.equals(email)) {
+            Email oldEmail = this.email;
             this.email = email;
             this.emailVerified = false;
+            registerEvent(EmailUpdatedEvent.create(uuid, oldEmail.getValue(), email.getValue()));
         }
     }
 
@@ -103,22 +118,26 @@ public class Account {
         if (!hashingService.matches(oldPlainPassword, this.password))
             throw new InvalidCredentialsException("Invalid old password");
         this.password = newPassword;
+        registerEvent(PasswordUpdatedEvent.changed(uuid));
     }
 
     public void recordLogIn() {
-        lastLogInDate = LocalDateTime.now();
+        lastLogInDate = DomainClock.now();
     }
 
     public void suspend() {
-        if (accountStatus.canBeDeleted()) accountStatus = AccountStatus.SUSPENDED;
+        if (accountStatus.canBeDeleted()) changeStatus(AccountStatus.SUSPENDED);
     }
 
     public void activate() {
-        if (accountStatus == AccountStatus.SUSPENDED) accountStatus = AccountStatus.ACTIVE;
+        if (accountStatus == AccountStatus.SUSPENDED) changeStatus(AccountStatus.ACTIVE);
     }
 
     public void markAsDeleted() {
-        if (accountStatus.canBeDeleted()) accountStatus = AccountStatus.DELETED;
+        if (accountStatus.canBeDeleted()) {
+            changeStatus(AccountStatus.DELETED);
+            registerEvent(AccountDeletedEvent.from(this));
+        }
     }
 
     public boolean hasPassword() {
@@ -135,6 +154,65 @@ public class Account {
         if (hasProviderType(provider))
             throw new OAuthProviderAlreadyBoundException(String.format("OAuth provider '%s' is already bound to this account", provider.getProviderName()));
         oAuthProviders.add(provider);
+        registerEvent(OAuthBoundEvent.from(uuid, provider));
+    }
+
+    /**
+     * Returns the events recorded since the last call and clears them, so the application layer
+     * can dispatch them once the surrounding transaction has committed.
+     */
+    public List<DomainEvent> pullDomainEvents() {
+        if (domainEvents.isEmpty()) return Collections.emptyList();
+        List<DomainEvent> events = List.copyOf(domainEvents);
+        domainEvents.clear();
+        return events;
+    }
+
+    public boolean hasPendingEvents() {
+        return !domainEvents.isEmpty();
+    }
+
+    private void changeStatus(AccountStatus newStatus) {
+        AccountStatus oldStatus = accountStatus;
+        if (oldStatus == newStatus) return;
+        accountStatus = newStatus;
+        registerEvent(AccountStatusChangedEvent.create(uuid, oldStatus, newStatus));
+    }
+
+    /**
+     * Records an event, folding it into the previous one when both describe consecutive changes of
+     * the same attribute. A change that ends up back at its starting value is dropped entirely,
+     * except for the email: any change of it has reset verification, which must still be announced.
+     */
+    private void registerEvent(DomainEvent event) {
+        int last = domainEvents.size() - 1;
+        if (last >= 0) {
+            DomainEvent merged = coalesce(domainEvents.get(last), event);
+            if (merged != null) {
+                domainEvents.remove(last);
+                if (!isNoOp(merged)) domainEvents.add(merged);
+                return;
+            }
+        }
+        domainEvents.add(event);
+    }
+
+    private static DomainEvent coalesce(DomainEvent previous, DomainEvent next) {
+        if (previous instanceof LoginUpdatedEvent p && next instanceof LoginUpdatedEvent n)
+            return new LoginUpdatedEvent(p.getAggregateID(), p.getOldLogin(), n.getNewLogin(), n.getOccurredOn());
+        if (previous instanceof EmailUpdatedEvent p && next instanceof EmailUpdatedEvent n)
+            return new EmailUpdatedEvent(p.getAggregateID(), p.getOldEmail(), n.getNewEmail(), n.getOccurredOn());
+        if (previous instanceof PasswordUpdatedEvent p && next instanceof PasswordUpdatedEvent n)
+            return new PasswordUpdatedEvent(p.getAggregateID(), p.isWasSet() || n.isWasSet(), n.getOccurredOn());
+        if (previous instanceof AccountStatusChangedEvent p && next instanceof AccountStatusChangedEvent n)
+            return new AccountStatusChangedEvent(p.getAggregateID(), p.getOldStatus(), n.getNewStatus(), n.getOccurredOn());
+        return null;
+    }
+
+    private static boolean isNoOp(DomainEvent event) {
+        if (event instanceof LoginUpdatedEvent e) return e.getOldLogin().equals(e.getNewLogin());
+        if (event instanceof AccountStatusChangedEvent e) return e.getOldStatus() == e.getNewStatus();
+        return false;
     }
 
 }
@@ -1,8 +1,8 @@
 package com.klabs.accountservice.domain.model;
 
-
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -40,7 +40,7 @@ public class AuditLog {
         ObjectMapper objectMapper = new ObjectMapper();
         String json = objectMapper.writeValueAsString(details);
 
-        return new AuditLog(null, accountUuid, action, ipAddress, userAgent, json, LocalDateTime.now());
+        return new AuditLog(null, accountUuid, action, ipAddress, userAgent, json, DomainClock.now());
     }
 
     public static AuditLog login(UUID accountUuid, String ipAddress, String userAgent) throws JsonProcessingException {
@@ -2,6 +2,7 @@ package com.klabs.accountservice.domain.model;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -32,7 +33,7 @@ public class DeletedAccount {
 
 
     public static DeletedAccount fromAccount(Account account) throws JsonProcessingException {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DomainClock.now();
         LocalDateTime purgeAt = now.plusDays(60);
 
         // Create map with account data for JSON serialization
@@ -79,11 +80,10 @@ public class DeletedAccount {
     }
 
     public boolean canBeRestored() {
-        return LocalDateTime.now().isBefore(purgeAt);
+        return DomainClock.now().isBefore(purgeAt);
     }
 
     public boolean shouldBePurged() {
-        LocalDateTime now;
-        return (now = LocalDateTime.now()).isAfter(purgeAt) || now.isEqual(purgeAt);
+        return !DomainClock.now().isBefore(purgeAt);
     }
 }
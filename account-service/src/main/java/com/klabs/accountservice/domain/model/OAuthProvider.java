@@ -1,5 +1,6 @@
 package com.klabs.accountservice.domain.model;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
@@ -25,7 +26,7 @@ public class OAuthProvider {
     public static OAuthProvider create(String providerName, String providerUserID) {
         if (!(providerName != null && (providerUserID != null && !providerUserID.isBlank())))
             throw new IllegalStateException("Invalid provider data");
-        return new OAuthProvider(null, providerName, providerUserID, LocalDateTime.now());
+        return new OAuthProvider(null, providerName, providerUserID, DomainClock.now());
     }
 
     public boolean isSameProvider(String providerName) {
@@ -0,0 +1,23 @@
+package com.klabs.accountservice.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Outcome of exchanging a refresh token. {@code accountUUID} is known for every outcome except
+ * {@link Outcome#NOT_FOUND}.
+ */
+public record RefreshTokenRotation(Outcome outcome, UUID accountUUID) {
+
+    public static final RefreshTokenRotation NOT_FOUND = new RefreshTokenRotation(Outcome.NOT_FOUND, null);
+
+    public boolean isRotated() {
+        return outcome == Outcome.ROTATED;
+    }
+
+    public enum Outcome {
+        ROTATED,
+        REUSED,
+        EXPIRED,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,13 @@
+package com.klabs.accountservice.domain.model;
+
+public enum VerificationResult {
+    MATCHED,
+    MISMATCHED,
+    EXPIRED,
+    NOT_FOUND,
+    ATTEMPTS_EXHAUSTED;
+
+    public boolean isMatched() {
+        return this == MATCHED;
+    }
+}
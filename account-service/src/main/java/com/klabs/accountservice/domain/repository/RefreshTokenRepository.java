@@ -0,0 +1,23 @@
+package com.klabs.accountservice.domain.repository;
+
+import com.klabs.accountservice.domain.model.RefreshTokenRotation;
+import com.klabs.accountservice.domain.valueobject.Token;
+
+import java.util.UUID;
+
+public interface RefreshTokenRepository {
+
+    /**
+     * Stores the first refresh token of a new login.
+     */
+    void save(UUID accountUUID, Token token);
+
+    /**
+     * Exchanges {@code presented} for {@code next}. A token that was already exchanged revokes
+     * every token descended from the same login.
+     */
+    RefreshTokenRotation rotate(String presented, Token next);
+
+    int deleteByAccount(UUID accountUUID);
+
+}
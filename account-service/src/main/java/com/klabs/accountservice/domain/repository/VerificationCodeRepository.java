@@ -0,0 +1,18 @@
+package com.klabs.accountservice.domain.repository;
+
+import com.klabs.accountservice.domain.model.VerificationResult;
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+
+import java.util.UUID;
+
+public interface VerificationCodeRepository {
+
+    void save(UUID accountUUID, VerificationCode code);
+
+    VerificationResult verify(UUID accountUUID, String code);
+
+    void delete(UUID accountUUID);
+
+    int size();
+
+}
@@ -0,0 +1,12 @@
+package com.klabs.accountservice.domain.service;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.domain.valueobject.Token;
+
+public interface AccessTokenService {
+
+    Token issue(Account account);
+
+    AccessTokenClaims verify(String token);
+}
@@ -0,0 +1,13 @@
+package com.klabs.accountservice.domain.service;
+
+import com.klabs.accountservice.shared.exception.LoginThrottledException;
+
+public interface LoginThrottle {
+
+    /**
+     * Takes one attempt from the budgets of the login and of the client address. Call it before
+     * the password is checked so a rejected attempt never pays for hashing.
+     */
+    void acquire(String login, String clientAddress) throws LoginThrottledException;
+
+}
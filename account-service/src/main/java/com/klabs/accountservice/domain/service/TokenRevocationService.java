@@ -0,0 +1,10 @@
+package com.klabs.accountservice.domain.service;
+
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+
+public interface TokenRevocationService {
+
+    void revoke(AccessTokenClaims claims);
+
+    boolean isRevoked(AccessTokenClaims claims);
+}
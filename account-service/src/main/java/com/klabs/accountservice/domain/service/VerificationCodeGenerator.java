@@ -0,0 +1,12 @@
+package com.klabs.accountservice.domain.service;
+
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+
+import java.util.List;
+
+public interface VerificationCodeGenerator {
+
+    VerificationCode generate();
+
+    List<VerificationCode> generate(int count);
+}
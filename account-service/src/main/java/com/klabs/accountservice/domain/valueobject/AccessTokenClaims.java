@@ -0,0 +1,7 @@
+package com.klabs.accountservice.domain.valueobject;
+
+import java.util.UUID;
+
+public record AccessTokenClaims(UUID accountUUID, String login, String tokenId, long issuedAtMillis,
+                                long expiresAtMillis) {
+}
@@ -1,14 +1,23 @@
 package com.klabs.accountservice.domain.valueobject;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.Getter;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 @Getter
 //@AllArgsConstructor
 public class Token {
+
+    public static final int RANDOM_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final String value;
     private final LocalDateTime expiresAt;
+    private final long expiresAtMillis;
 
     public Token(String value, LocalDateTime expiresAt) {
         if (value == null || value.isBlank())
@@ -17,10 +26,20 @@ public class Token {
             throw new IllegalArgumentException("Expire time cannot be null");
         this.value = value;
         this.expiresAt = expiresAt;
+        this.expiresAtMillis = DomainClock.toEpochMillis(expiresAt);
+    }
+
+    /**
+     * Opaque token of {@link #RANDOM_BYTES} random bytes, e.g. a refresh token.
+     */
+    public static Token generate(LocalDateTime expiresAt) {
+        byte[] bytes = new byte[RANDOM_BYTES];
+        RANDOM.nextBytes(bytes);
+        return new Token(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), expiresAt);
     }
 
     public boolean isExpired() {
-        return LocalDateTime.now().isAfter(this.expiresAt);
+        return DomainClock.millis() > this.expiresAtMillis;
     }
 
 }
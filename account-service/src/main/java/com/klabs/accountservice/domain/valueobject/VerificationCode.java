@@ -1,25 +1,48 @@
 package com.klabs.accountservice.domain.valueobject;
 
+import com.klabs.accountservice.shared.time.DomainClock;
 import lombok.Getter;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Random;
 
 @Getter
 public class VerificationCode {
 
+    public static final int LENGTH = 6;
+
+    public static final int BOUND = 1_000_000;
+
+    public static final int VALIDITY_MINUTES = 10;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final String code;
 
     private final LocalDateTime expiresAt;
 
+    private final long expiresAtMillis;
+
     private VerificationCode(String code, LocalDateTime expiresAt) {
         this.code = code;
         this.expiresAt = expiresAt;
+        this.expiresAtMillis = DomainClock.toEpochMillis(expiresAt);
     }
 
     public static VerificationCode generate() {
-        return new VerificationCode(String.format("%06d", new Random().nextInt(999_999)), LocalDateTime.now().plusMinutes(10));
+        return of(RANDOM.nextInt(BOUND), DomainClock.now().plusMinutes(VALIDITY_MINUTES));
+    }
+
+    public static VerificationCode of(int number, LocalDateTime expiresAt) {
+        if (number < 0 || number >= BOUND)
+            throw new IllegalArgumentException("Invalid verification code");
+        char[] digits = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return new VerificationCode(new String(digits), expiresAt);
     }
 
     public static VerificationCode codeOf(String code, LocalDateTime expiresAt) {
@@ -29,7 +52,7 @@ public class VerificationCode {
     }
 
     public boolean isExpired() {
-        return LocalDateTime.now().isAfter(this.expiresAt);
+        return DomainClock.millis() > this.expiresAtMillis;
     }
 
     public boolean matches(String code) {
@@ -0,0 +1,210 @@
+package com.klabs.accountservice.infrastructure.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.*;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues outgoing mail and sends it in the background so callers never wait on SMTP. Each sender
+ * runs on a virtual thread and keeps its own SMTP connection open across batches until it has been
+ * idle for {@code idleTimeout}. Failed messages are queued again with exponential backoff; a failed
+ * send also drops the connection so the next message starts on a fresh one. A message leaves the
+ * batch as soon as it has been handled, so a sender that stops mid-batch only re-queues the rest.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(MailOutboxProperties.class)
+@ConditionalOnProperty(prefix = "spring.mail", name = "host")
+public class MailOutbox implements SmartLifecycle {
+
+    private final JavaMailSenderImpl mailSender;
+
+    private final MailOutboxProperties properties;
+
+    private final DelayQueue<QueuedMail> queue = new DelayQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer sendLatency;
+
+    private final Timer deliveryLatency;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter dropped;
+
+    private final Counter rejected;
+
+    private volatile boolean running;
+
+    private ExecutorService senders;
+
+    public MailOutbox(JavaMailSenderImpl mailSender, MailOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+
+        Gauge.builder("mail.outbox.queue.size", queued, AtomicInteger::get).register(meterRegistry);
+        this.sendLatency = Timer.builder("mail.outbox.send.latency")
+                .description("Time to hand one message to the SMTP server")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.deliveryLatency = Timer.builder("mail.outbox.delivery.latency")
+                .description("Time from enqueueing a message until it was accepted by the SMTP server")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.sent = meterRegistry.counter("mail.outbox.messages", "outcome", "sent");
+        this.retried = meterRegistry.counter("mail.outbox.messages", "outcome", "retried");
+        this.dropped = meterRegistry.counter("mail.outbox.messages", "outcome", "dropped");
+        this.rejected = meterRegistry.counter("mail.outbox.messages", "outcome", "rejected");
+    }
+
+    /**
+     * Queues a message for delivery. Returns {@code false} without queueing when the outbox is full.
+     */
+    public boolean enqueue(OutgoingMail mail) {
+        if (queued.incrementAndGet() > properties.queueCapacity()) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        queue.add(QueuedMail.first(mail));
+        return true;
+    }
+
+    public int queueSize() {
+        return queued.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mail-sender-", 0).factory());
+        for (int i = 0; i < properties.connections(); i++) senders.execute(this::sendLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        senders.shutdownNow();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS))
+                log.warn("Mail senders did not stop in time, {} messages left in the outbox", queued.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void sendLoop() {
+        Transport transport = null;
+        List<QueuedMail> batch = new ArrayList<>(properties.batchSize());
+        try {
+            while (running) {
+                QueuedMail first = queue.poll(properties.idleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    transport = close(transport);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                transport = sendBatch(transport, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.forEach(queue::add);
+            close(transport);
+        }
+    }
+
+    private Transport sendBatch(Transport transport, List<QueuedMail> batch) {
+        for (Iterator<QueuedMail> pending = batch.iterator(); pending.hasNext(); ) {
+            QueuedMail mail = pending.next();
+            try {
+                if (transport == null) transport = connect();
+                send(transport, mail);
+            } catch (MessagingException | RuntimeException e) {
+                transport = close(transport);
+                reschedule(mail, e);
+            }
+            pending.remove();
+        }
+        return transport;
+    }
+
+    private void send(Transport transport, QueuedMail queuedMail) throws MessagingException {
+        OutgoingMail mail = queuedMail.mail();
+        MimeMessage message = new MimeMessage(mailSender.getSession());
+        if (properties.from() != null) message.setFrom(new InternetAddress(properties.from()));
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(mail.to()));
+        message.setSubject(mail.subject(), StandardCharsets.UTF_8.name());
+        message.setText(mail.body(), StandardCharsets.UTF_8.name());
+        message.saveChanges();
+
+        long start = System.nanoTime();
+        transport.sendMessage(message, message.getAllRecipients());
+        long end = System.nanoTime();
+
+        sendLatency.record(end - start, TimeUnit.NANOSECONDS);
+        deliveryLatency.record(end - queuedMail.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        sent.increment();
+        queued.decrementAndGet();
+    }
+
+    private void reschedule(QueuedMail mail, Exception cause) {
+        if (mail.attempt() >= properties.maxAttempts() || cause instanceof AddressException) {
+            queued.decrementAndGet();
+            dropped.increment();
+            log.error("Dropping mail to {} after {} attempts", mail.mail().to(), mail.attempt(), cause);
+            return;
+        }
+        long backoff = Math.min(properties.initialBackoff().toNanos() << Math.min(mail.attempt() - 1, 16), properties.maxBackoff().toNanos());
+        retried.increment();
+        log.warn("Sending mail to {} failed (attempt {}), retrying in {} ms", mail.mail().to(), mail.attempt(),
+                TimeUnit.NANOSECONDS.toMillis(backoff), cause);
+        queue.add(mail.retryAfter(backoff));
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport == null) return null;
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Closing SMTP connection failed", e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.klabs.accountservice.infrastructure.mail;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.mail.outbox")
+public record MailOutboxProperties(
+        String from,
+        @DefaultValue("2") int connections,
+        @DefaultValue("20") int batchSize,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("2s") Duration initialBackoff,
+        @DefaultValue("5m") Duration maxBackoff,
+        @DefaultValue("30s") Duration idleTimeout) {
+}
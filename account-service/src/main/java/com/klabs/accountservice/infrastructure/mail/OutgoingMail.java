@@ -0,0 +1,12 @@
+package com.klabs.accountservice.infrastructure.mail;
+
+import java.util.Objects;
+
+public record OutgoingMail(String to, String subject, String body) {
+
+    public OutgoingMail {
+        Objects.requireNonNull(to);
+        Objects.requireNonNull(subject);
+        Objects.requireNonNull(body);
+    }
+}
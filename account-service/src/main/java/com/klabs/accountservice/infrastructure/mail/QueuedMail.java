@@ -0,0 +1,54 @@
+package com.klabs.accountservice.infrastructure.mail;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+final class QueuedMail implements Delayed {
+
+    private final OutgoingMail mail;
+
+    private final int attempt;
+
+    private final long enqueuedAtNanos;
+
+    private final long dueAtNanos;
+
+    QueuedMail(OutgoingMail mail, int attempt, long enqueuedAtNanos, long dueAtNanos) {
+        this.mail = mail;
+        this.attempt = attempt;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+        this.dueAtNanos = dueAtNanos;
+    }
+
+    static QueuedMail first(OutgoingMail mail) {
+        long now = System.nanoTime();
+        return new QueuedMail(mail, 1, now, now);
+    }
+
+    QueuedMail retryAfter(long delayNanos) {
+        return new QueuedMail(mail, attempt + 1, enqueuedAtNanos, System.nanoTime() + delayNanos);
+    }
+
+    OutgoingMail mail() {
+        return mail;
+    }
+
+    int attempt() {
+        return attempt;
+    }
+
+    long enqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other instanceof QueuedMail queued) return Long.compare(dueAtNanos, queued.dueAtNanos);
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,23 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+/**
+ * Subject and body of one template in one locale. Template files start with a
+ * {@code Subject:} line followed by a blank line and the body.
+ */
+record CompiledMail(CompiledTemplate subject, CompiledTemplate body, long lastModified) {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    static CompiledMail parse(String source, long lastModified) {
+        String normalized = source.replace("\r\n", "\n");
+        int endOfSubject = normalized.indexOf('\n');
+        String firstLine = endOfSubject < 0 ? normalized : normalized.substring(0, endOfSubject);
+        if (!firstLine.startsWith(SUBJECT_PREFIX))
+            throw new IllegalArgumentException("Template must start with a '" + SUBJECT_PREFIX + "' line");
+
+        String body = endOfSubject < 0 ? "" : normalized.substring(endOfSubject + 1);
+        if (body.startsWith("\n")) body = body.substring(1);
+        return new CompiledMail(CompiledTemplate.compile(firstLine.substring(SUBJECT_PREFIX.length()).trim()),
+                CompiledTemplate.compile(body), lastModified);
+    }
+}
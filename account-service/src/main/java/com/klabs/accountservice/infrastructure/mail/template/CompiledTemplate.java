@@ -0,0 +1,61 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template split once into literal fragments and the variables between them. Rendering appends
+ * fragments and values in order and never scans the template text again.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+
+    private final TemplateVariable[] variables;
+
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, TemplateVariable[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateVariable> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) break;
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            literals.add(source.substring(position, open));
+            variables.add(TemplateVariable.fromPlaceholder(source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(TemplateVariable[]::new));
+    }
+
+    public void renderTo(StringBuilder out, MailModel model) {
+        out.ensureCapacity(out.length() + literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            model.append(variables[i], out);
+        }
+        out.append(literals[variables.length]);
+    }
+
+    public String render(MailModel model) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        renderTo(out, model);
+        return out.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+
+/**
+ * Values substituted into a compiled template at send time.
+ */
+public record MailModel(String login, String email, String code, String oldEmail, String newEmail, long expiresInMinutes) {
+
+    public static MailModel verification(Account account, VerificationCode code, long expiresInMinutes) {
+        return new MailModel(account.getLogin().getValue(), account.getEmail().getValue(), code.getCode(), null, null, expiresInMinutes);
+    }
+
+    public static MailModel emailChanged(String login, String oldEmail, String newEmail) {
+        return new MailModel(login, newEmail, null, oldEmail, newEmail, 0);
+    }
+
+    public static MailModel passwordChanged(String login, String email) {
+        return new MailModel(login, email, null, null, null, 0);
+    }
+
+    void append(TemplateVariable variable, StringBuilder out) {
+        switch (variable) {
+            case LOGIN -> appendNullable(login, out);
+            case EMAIL -> appendNullable(email, out);
+            case CODE -> appendNullable(code, out);
+            case OLD_EMAIL -> appendNullable(oldEmail, out);
+            case NEW_EMAIL -> appendNullable(newEmail, out);
+            case EXPIRES_IN_MINUTES -> out.append(expiresInMinutes);
+        }
+    }
+
+    private static void appendNullable(String value, StringBuilder out) {
+        if (value != null) out.append(value);
+    }
+}
@@ -0,0 +1,24 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+public enum MailTemplate {
+    VERIFICATION("verification"),
+    EMAIL_CHANGED("email-changed"),
+    PASSWORD_CHANGED("password-changed");
+
+    private final String fileName;
+
+    MailTemplate(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    static MailTemplate fromFileName(String fileName) {
+        for (MailTemplate template : values()) {
+            if (template.fileName.equals(fileName)) return template;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import com.klabs.accountservice.infrastructure.mail.OutgoingMail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles every mail template under {@code app.mail.templates.location} once at startup and keeps
+ * the compiled form per template and language. Template files are named {@code <template>_<language>.txt}.
+ * With {@code hot-reload} enabled, changed files are recompiled at most once per reload interval.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(MailTemplateProperties.class)
+public class MailTemplateEngine {
+
+    private static final int POOLED_BUILDERS = 64;
+
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+
+    private final MailTemplateProperties properties;
+
+    private final ResourcePatternResolver resolver;
+
+    private final Queue<StringBuilder> builders = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pooledBuilders = new AtomicInteger();
+
+    private final AtomicLong nextReloadCheck = new AtomicLong();
+
+    private volatile Map<MailTemplate, Map<String, CompiledMail>> templates;
+
+    public MailTemplateEngine(MailTemplateProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resolver = new PathMatchingResourcePatternResolver(resourceLoader);
+        this.templates = load(Map.of());
+        for (MailTemplate template : MailTemplate.values()) {
+            if (compiled(template, properties.defaultLocale()) == null)
+                throw new IllegalStateException("Missing " + properties.defaultLocale() + " template for " + template.getFileName());
+        }
+    }
+
+    public OutgoingMail render(MailTemplate template, Locale locale, MailModel model, String to) {
+        if (properties.hotReload()) reloadIfDue();
+
+        CompiledMail mail = compiled(template, locale);
+        if (mail == null) mail = compiled(template, properties.defaultLocale());
+
+        StringBuilder out = acquire();
+        try {
+            mail.subject().renderTo(out, model);
+            String subject = out.toString();
+            out.setLength(0);
+            mail.body().renderTo(out, model);
+            return new OutgoingMail(to, subject, out.toString());
+        } finally {
+            release(out);
+        }
+    }
+
+    private CompiledMail compiled(MailTemplate template, Locale locale) {
+        Map<String, CompiledMail> byLanguage = templates.get(template);
+        return byLanguage == null || locale == null ? null : byLanguage.get(locale.getLanguage());
+    }
+
+    private StringBuilder acquire() {
+        StringBuilder builder = builders.poll();
+        if (builder == null) return new StringBuilder(512);
+        pooledBuilders.decrementAndGet();
+        return builder;
+    }
+
+    private void release(StringBuilder builder) {
+        if (builder.capacity() > MAX_POOLED_CAPACITY) return;
+        if (pooledBuilders.incrementAndGet() > POOLED_BUILDERS) {
+            pooledBuilders.decrementAndGet();
+            return;
+        }
+        builder.setLength(0);
+        builders.offer(builder);
+    }
+
+    private void reloadIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextReloadCheck.get();
+        if (now < due || !nextReloadCheck.compareAndSet(due, now + properties.hotReloadInterval().toMillis())) return;
+        try {
+            templates = load(templates);
+        } catch (RuntimeException e) {
+            log.warn("Reloading mail templates failed, keeping the previous versions", e);
+        }
+    }
+
+    private Map<MailTemplate, Map<String, CompiledMail>> load(Map<MailTemplate, Map<String, CompiledMail>> previous) {
+        Map<MailTemplate, Map<String, CompiledMail>> loaded = new EnumMap<>(MailTemplate.class);
+        try {
+            for (Resource resource : resolver.getResources(properties.location() + "*.txt")) {
+                String fileName = Objects.requireNonNull(resource.getFilename());
+                int separator = fileName.lastIndexOf('_');
+                if (separator < 0) continue;
+                MailTemplate template = MailTemplate.fromFileName(fileName.substring(0, separator));
+                if (template == null) continue;
+                String language = fileName.substring(separator + 1, fileName.length() - ".txt".length());
+
+                long lastModified = lastModified(resource);
+                CompiledMail current = previous.getOrDefault(template, Map.of()).get(language);
+                CompiledMail compiled = current != null && current.lastModified() == lastModified && lastModified > 0
+                        ? current
+                        : compile(resource, lastModified);
+                loaded.computeIfAbsent(template, t -> new HashMap<>()).put(language, compiled);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read mail templates from " + properties.location(), e);
+        }
+        return loaded;
+    }
+
+    private static CompiledMail compile(Resource resource, long lastModified) throws IOException {
+        try {
+            return CompiledMail.parse(resource.getContentAsString(StandardCharsets.UTF_8), lastModified);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid mail template " + resource.getDescription() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
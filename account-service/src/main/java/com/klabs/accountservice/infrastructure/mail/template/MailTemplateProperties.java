@@ -0,0 +1,15 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@ConfigurationProperties(prefix = "app.mail.templates")
+public record MailTemplateProperties(
+        @DefaultValue("classpath:mail/templates/") String location,
+        @DefaultValue("en") Locale defaultLocale,
+        @DefaultValue("false") boolean hotReload,
+        @DefaultValue("1s") Duration hotReloadInterval) {
+}
@@ -0,0 +1,27 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+public enum TemplateVariable {
+    LOGIN("login"),
+    EMAIL("email"),
+    CODE("code"),
+    OLD_EMAIL("oldEmail"),
+    NEW_EMAIL("newEmail"),
+    EXPIRES_IN_MINUTES("expiresInMinutes");
+
+    private final String placeholder;
+
+    TemplateVariable(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    static TemplateVariable fromPlaceholder(String placeholder) {
+        for (TemplateVariable variable : values()) {
+            if (variable.placeholder.equals(placeholder)) return variable;
+        }
+        throw new IllegalArgumentException("Unknown template placeholder '" + placeholder + "'");
+    }
+}
@@ -0,0 +1,55 @@
+package com.klabs.accountservice.infrastructure.messaging;
+
+import com.klabs.accountservice.domain.event.DomainEvent;
+import com.klabs.accountservice.domain.event.DomainEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes domain events to the account events topic keyed by aggregate id, so every event of
+ * one account lands in the same partition and keeps its order. A batch is handed to the producer
+ * without waiting on individual acknowledgements, letting it share produce requests.
+ */
+@Slf4j
+@Component
+public class KafkaDomainEventPublisher implements DomainEventPublisher {
+
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
+    public static final String EVENT_ID_HEADER = "eventId";
+
+    private final KafkaTemplate<String, DomainEvent> kafkaTemplate;
+
+    private final String topic;
+
+    public KafkaDomainEventPublisher(KafkaTemplate<String, DomainEvent> kafkaTemplate,
+                                     @Value("${app.kafka.topics.account-events}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+    }
+
+    @Override
+    public void publishAll(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            ProducerRecord<String, DomainEvent> record = new ProducerRecord<>(topic, event.getAggregateID().toString(), event);
+            record.headers().add(EVENT_ID_HEADER, eventId(UUID.randomUUID()));
+            record.headers().add(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8));
+            kafkaTemplate.send(record).whenComplete((result, ex) -> {
+                if (ex != null)
+                    log.error("Failed to publish {} for aggregate {}", event.getEventType(), event.getAggregateID(), ex);
+            });
+        }
+    }
+
+    private static byte[] eventId(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
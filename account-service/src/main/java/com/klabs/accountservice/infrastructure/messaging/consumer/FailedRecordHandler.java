@@ -0,0 +1,16 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Invoked on the worker thread when a {@link RecordHandler} throws. The record's offset is marked
+ * as completed once this returns. If this throws, the offset is never completed: nothing at or
+ * after it is committed for the partition, and the record is delivered again after the next
+ * rebalance or restart.
+ */
+@FunctionalInterface
+public interface FailedRecordHandler<V> {
+
+    void onFailure(ConsumerRecord<String, V> record, Exception exception);
+
+}
@@ -0,0 +1,78 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks of the same key strictly one after another while tasks of different keys run in
+ * parallel. Each key with queued work owns a lane that is drained by a single task on the
+ * underlying executor; the lane is dropped as soon as it runs empty, so idle keys cost nothing.
+ */
+final class KeyOrderedExecutor {
+
+    private final Executor executor;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    KeyOrderedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a task for the given key and returns how many tasks of that key are now in flight,
+     * including the submitted one.
+     */
+    int submit(String key, Runnable task) {
+        Lane lane = lanes.compute(key, (k, existing) -> {
+            Lane target = existing != null ? existing : new Lane(k);
+            target.tasks.add(task);
+            target.size.incrementAndGet();
+            if (existing == null) executor.execute(() -> drain(target));
+            return target;
+        });
+        return lane.size.get();
+    }
+
+    int activeKeys() {
+        return lanes.size();
+    }
+
+    int maxInFlightPerKey() {
+        int max = 0;
+        for (Lane lane : lanes.values()) max = Math.max(max, lane.size.get());
+        return max;
+    }
+
+    private void drain(Lane lane) {
+        while (true) {
+            Runnable task = lane.tasks.poll();
+            if (task == null) {
+                Lane remaining = lanes.computeIfPresent(lane.key, (k, l) -> l.tasks.isEmpty() ? null : l);
+                if (remaining == null) return;
+                continue;
+            }
+            try {
+                task.run();
+            } finally {
+                lane.size.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Lane {
+
+        private final String key;
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Lane(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.kafka.consumer")
+public record OrderedConsumerProperties(
+        @DefaultValue("1000") int maxInFlight,
+        @DefaultValue("500ms") Duration pollTimeout,
+        @DefaultValue("1s") Duration commitInterval,
+        @DefaultValue("30s") Duration shutdownTimeout) {
+}
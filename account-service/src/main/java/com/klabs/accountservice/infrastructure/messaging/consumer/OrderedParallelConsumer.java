@@ -0,0 +1,270 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kafka consumer that processes records of distinct keys concurrently on virtual threads while
+ * keeping records of the same key (the aggregate id) in partition order. A single poll thread owns
+ * the {@link Consumer}; it only ever commits offsets whose predecessors have all completed, and
+ * pauses fetching while more than {@code maxInFlight} records are being processed.
+ */
+@Slf4j
+public class OrderedParallelConsumer<V> implements SmartLifecycle {
+
+    private final ConsumerFactory<String, V> consumerFactory;
+
+    private final String groupId;
+
+    private final Collection<String> topics;
+
+    private final RecordHandler<V> handler;
+
+    private final FailedRecordHandler<V> failedRecordHandler;
+
+    private final OrderedConsumerProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TopicPartition, PartitionOffsetTracker> trackers = new ConcurrentHashMap<>();
+
+    private final Map<TopicPartition, Gauge> lagGauges = new HashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final DistributionSummary keyInFlight;
+
+    private volatile boolean running;
+
+    private ExecutorService workers;
+
+    private KeyOrderedExecutor keyOrderedExecutor;
+
+    private Thread pollThread;
+
+    private volatile Consumer<String, V> consumer;
+
+    public OrderedParallelConsumer(ConsumerFactory<String, V> consumerFactory, String groupId, Collection<String> topics,
+                                   RecordHandler<V> handler, FailedRecordHandler<V> failedRecordHandler,
+                                   OrderedConsumerProperties properties, MeterRegistry meterRegistry) {
+        this.consumerFactory = Objects.requireNonNull(consumerFactory);
+        this.groupId = Objects.requireNonNull(groupId);
+        this.topics = List.copyOf(topics);
+        this.handler = Objects.requireNonNull(handler);
+        this.failedRecordHandler = Objects.requireNonNull(failedRecordHandler);
+        this.properties = Objects.requireNonNull(properties);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+
+        Tags tags = Tags.of("group", groupId);
+        Gauge.builder("account.events.consumer.inflight", inFlight, AtomicInteger::get).tags(tags).register(meterRegistry);
+        Gauge.builder("account.events.consumer.active.keys", this, c -> c.keyOrderedExecutor == null ? 0 : c.keyOrderedExecutor.activeKeys())
+                .tags(tags).register(meterRegistry);
+        Gauge.builder("account.events.consumer.key.inflight.max", this, c -> c.keyOrderedExecutor == null ? 0 : c.keyOrderedExecutor.maxInFlightPerKey())
+                .tags(tags).register(meterRegistry);
+        this.keyInFlight = DistributionSummary.builder("account.events.consumer.key.inflight")
+                .description("Records of the same key in flight when a record is queued")
+                .tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(groupId + "-worker-", 0).factory());
+        keyOrderedExecutor = new KeyOrderedExecutor(workers);
+        pollThread = Thread.ofPlatform().name(groupId + "-poll").start(this::pollLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        if (consumer != null) consumer.wakeup();
+        try {
+            pollThread.join(properties.shutdownTimeout().plusSeconds(5).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // interrupts failure handlers still waiting to forward a record, their offsets stay uncommitted
+        workers.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void pollLoop() {
+        consumer = consumerFactory.createConsumer(groupId, null);
+        try {
+            consumer.subscribe(topics, new RebalanceListener());
+            long nextCommit = System.currentTimeMillis() + properties.commitInterval().toMillis();
+            while (running) {
+                ConsumerRecords<String, V> records = consumer.poll(properties.pollTimeout());
+                for (ConsumerRecord<String, V> record : records) dispatch(record);
+                applyBackPressure();
+                if (System.currentTimeMillis() >= nextCommit) {
+                    commitCompleted(false);
+                    nextCommit = System.currentTimeMillis() + properties.commitInterval().toMillis();
+                }
+            }
+        } catch (WakeupException e) {
+            if (running) log.error("Consumer {} woken up unexpectedly", groupId, e);
+        } catch (Exception e) {
+            log.error("Consumer {} stopped after an unexpected error", groupId, e);
+            running = false;
+        } finally {
+            drainAll();
+            consumer.close();
+            consumer = null;
+        }
+    }
+
+    private void dispatch(ConsumerRecord<String, V> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        PartitionOffsetTracker tracker = trackers.computeIfAbsent(partition, this::newTracker);
+        tracker.register(record.offset());
+        inFlight.incrementAndGet();
+
+        String key = record.key() != null ? record.key() : partition.toString();
+        int queued = keyOrderedExecutor.submit(key, () -> process(record, tracker));
+        keyInFlight.record(queued);
+    }
+
+    private void process(ConsumerRecord<String, V> record, PartitionOffsetTracker tracker) {
+        boolean completed = true;
+        try {
+            handler.handle(record);
+        } catch (Exception e) {
+            try {
+                failedRecordHandler.onFailure(record, e);
+            } catch (Exception nested) {
+                completed = false;
+                log.error("Failure handler of {} failed for {}-{}@{}, holding back its offset", groupId, record.topic(),
+                        record.partition(), record.offset(), nested);
+            }
+        } finally {
+            if (completed) tracker.complete(record.offset());
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void applyBackPressure() {
+        Set<TopicPartition> paused = consumer.paused();
+        if (inFlight.get() >= properties.maxInFlight()) {
+            Set<TopicPartition> toPause = new HashSet<>(consumer.assignment());
+            toPause.removeAll(paused);
+            if (!toPause.isEmpty()) consumer.pause(toPause);
+        } else if (!paused.isEmpty() && inFlight.get() <= properties.maxInFlight() / 2) {
+            consumer.resume(paused);
+        }
+    }
+
+    private void commitCompleted(boolean sync) {
+        commit(trackers.keySet(), sync);
+    }
+
+    private void commit(Collection<TopicPartition> partitions, boolean sync) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsetTracker tracker = trackers.get(partition);
+            if (tracker == null) continue;
+            long offset = tracker.committableOffset();
+            if (offset >= 0) offsets.put(partition, new OffsetAndMetadata(offset));
+        }
+        if (offsets.isEmpty()) return;
+
+        if (sync) {
+            consumer.commitSync(offsets);
+            offsets.forEach((partition, offset) -> markCommitted(partition, offset.offset()));
+        } else {
+            consumer.commitAsync(offsets, (committed, ex) -> {
+                if (ex != null) log.warn("Async offset commit of {} failed", groupId, ex);
+                else committed.forEach((partition, offset) -> markCommitted(partition, offset.offset()));
+            });
+        }
+    }
+
+    private void markCommitted(TopicPartition partition, long offset) {
+        PartitionOffsetTracker tracker = trackers.get(partition);
+        if (tracker != null) tracker.markCommitted(offset);
+    }
+
+    private PartitionOffsetTracker newTracker(TopicPartition partition) {
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        lagGauges.put(partition, Gauge.builder("account.events.consumer.commit.lag", tracker, PartitionOffsetTracker::lag)
+                .description("Fetched records not yet covered by a committed offset")
+                .tags("group", groupId, "topic", partition.topic(), "partition", String.valueOf(partition.partition()))
+                .register(meterRegistry));
+        return tracker;
+    }
+
+    private void release(Collection<TopicPartition> partitions) {
+        long timeout = properties.shutdownTimeout().toMillis();
+        for (TopicPartition partition : partitions) {
+            PartitionOffsetTracker tracker = trackers.get(partition);
+            if (tracker == null) continue;
+            try {
+                if (!tracker.awaitDrained(timeout))
+                    log.warn("Records of {} still in flight after {} ms, they may be redelivered", partition, timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            commit(partitions, true);
+        } catch (Exception e) {
+            log.warn("Final offset commit of {} for {} failed", groupId, partitions, e);
+        }
+        for (TopicPartition partition : partitions) {
+            trackers.remove(partition);
+            Gauge gauge = lagGauges.remove(partition);
+            if (gauge != null) meterRegistry.remove(gauge);
+        }
+    }
+
+    private void drainAll() {
+        release(new ArrayList<>(trackers.keySet()));
+    }
+
+    private class RebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            release(partitions);
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            for (TopicPartition partition : partitions) {
+                trackers.remove(partition);
+                Gauge gauge = lagGauges.remove(partition);
+                if (gauge != null) meterRegistry.remove(gauge);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Creates {@link OrderedParallelConsumer}s sharing the application's Kafka consumer configuration.
+ * Consumers are returned unstarted; declare them as beans so their lifecycle follows the context.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OrderedConsumerProperties.class)
+public class OrderedParallelConsumerFactory {
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+
+    private final OrderedConsumerProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public OrderedParallelConsumerFactory(ConsumerFactory<?, ?> consumerFactory, OrderedConsumerProperties properties,
+                                          MeterRegistry meterRegistry) {
+        this.consumerFactory = (ConsumerFactory<String, Object>) consumerFactory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> OrderedParallelConsumer<V> create(String groupId, Collection<String> topics, RecordHandler<V> handler) {
+        return create(groupId, topics, handler, (record, ex) ->
+                log.error("Handler of {} failed for {}-{}@{}, record skipped", groupId, record.topic(), record.partition(), record.offset(), ex));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> OrderedParallelConsumer<V> create(String groupId, Collection<String> topics, RecordHandler<V> handler,
+                                                 FailedRecordHandler<V> failedRecordHandler) {
+        return new OrderedParallelConsumer<>((ConsumerFactory<String, V>) (ConsumerFactory<?, ?>) consumerFactory, groupId, topics,
+                handler, failedRecordHandler, properties, meterRegistry);
+    }
+}
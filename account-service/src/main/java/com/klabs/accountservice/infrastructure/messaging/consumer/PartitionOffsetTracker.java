@@ -0,0 +1,79 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import java.util.BitSet;
+
+/**
+ * Tracks completion of the records fetched from one partition. Records may complete in any order;
+ * only the offset right after the longest contiguous completed prefix is ever reported as
+ * committable, so a commit never skips a record that is still being processed.
+ */
+final class PartitionOffsetTracker {
+
+    private long base = -1;
+
+    private long next = -1;
+
+    private BitSet completed = new BitSet();
+
+    private int pending;
+
+    private long committed = -1;
+
+    synchronized void register(long offset) {
+        if (base < 0) {
+            base = offset;
+            next = offset;
+        }
+        if (offset < next) return;
+        // Offsets missing from the fetch (compaction, transaction markers) will never complete.
+        if (offset > next) completed.set((int) (next - base), (int) (offset - base));
+        next = offset + 1;
+        pending++;
+    }
+
+    synchronized void complete(long offset) {
+        if (offset < base || offset >= next) return;
+        int index = (int) (offset - base);
+        if (completed.get(index)) return;
+        completed.set(index);
+        pending--;
+        if (pending == 0) notifyAll();
+    }
+
+    /**
+     * Returns the next offset to commit, or {@code -1} if nothing new has completed since the last
+     * call to {@link #markCommitted(long)}.
+     */
+    synchronized long committableOffset() {
+        if (base < 0) return -1;
+        int shift = completed.nextClearBit(0);
+        if (shift > 0) {
+            completed = completed.get(shift, Math.max(shift, completed.length()));
+            base += shift;
+        }
+        return base > committed ? base : -1;
+    }
+
+    synchronized void markCommitted(long offset) {
+        if (offset > committed) committed = offset;
+    }
+
+    synchronized int pending() {
+        return pending;
+    }
+
+    synchronized long lag() {
+        if (next < 0) return 0;
+        return next - Math.max(committed, base);
+    }
+
+    synchronized boolean awaitDrained(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pending > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+            wait(remaining);
+        }
+        return true;
+    }
+}
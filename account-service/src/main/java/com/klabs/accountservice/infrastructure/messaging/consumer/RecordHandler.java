@@ -0,0 +1,10 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+@FunctionalInterface
+public interface RecordHandler<V> {
+
+    void handle(ConsumerRecord<String, V> record) throws Exception;
+
+}
@@ -0,0 +1,228 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import java.time.Duration;
+import java.time.InstantSource;
+
+/**
+ * Bounded set of recently processed event ids with least-recently-used eviction and a time window.
+ * Ids are kept as two {@code long}s in preallocated primitive arrays, split into independently
+ * locked segments; each segment is an open-addressing table with linear probing over an intrusive
+ * LRU list, so lookups and inserts are O(1) and allocate nothing.
+ */
+public final class EventIdWindow {
+
+    private final Segment[] segments;
+
+    private final int segmentShift;
+
+    private final long windowMillis;
+
+    private final InstantSource clock;
+
+    public EventIdWindow(int capacity, Duration window, int segmentCount, InstantSource clock) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        if (Integer.bitCount(segmentCount) != 1) throw new IllegalArgumentException("Segment count must be a power of two");
+
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        int perSegment = Math.max(1, (capacity + segmentCount - 1) / segmentCount);
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment(perSegment);
+    }
+
+    /**
+     * Returns whether the id was recorded within the window, refreshing its recency if so.
+     */
+    public boolean contains(long mostSigBits, long leastSigBits) {
+        int hash = hash(mostSigBits, leastSigBits);
+        return segmentFor(hash).contains(mostSigBits, leastSigBits, hash, clock.millis());
+    }
+
+    /**
+     * Records the id, evicting expired or least recently used ids when the segment is full.
+     */
+    public void add(long mostSigBits, long leastSigBits) {
+        int hash = hash(mostSigBits, leastSigBits);
+        long now = clock.millis();
+        segmentFor(hash).add(mostSigBits, leastSigBits, hash, now, now + windowMillis);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) size += segment.size();
+        return size;
+    }
+
+    public long capacity() {
+        return (long) segments.length * segments[0].capacity;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static int hash(long mostSigBits, long leastSigBits) {
+        long h = mostSigBits * 0x9E3779B97F4A7C15L ^ leastSigBits;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static final class Segment {
+
+        private static final int NONE = -1;
+
+        private final int capacity;
+
+        private final long[] mostSigBits;
+
+        private final long[] leastSigBits;
+
+        private final long[] expiresAt;
+
+        private final int[] hashes;
+
+        private final int[] previous;
+
+        private final int[] next;
+
+        /** Slot to entry index plus one; zero marks an empty slot. */
+        private final int[] table;
+
+        private final int mask;
+
+        private int allocated;
+
+        private int size;
+
+        private int head = NONE;
+
+        private int tail = NONE;
+
+        private int free = NONE;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.mostSigBits = new long[capacity];
+            this.leastSigBits = new long[capacity];
+            this.expiresAt = new long[capacity];
+            this.hashes = new int[capacity];
+            this.previous = new int[capacity];
+            this.next = new int[capacity];
+            int tableSize = Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+            this.table = new int[tableSize];
+            this.mask = tableSize - 1;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized boolean contains(long msb, long lsb, int hash, long now) {
+            int slot = find(msb, lsb, hash);
+            if (slot < 0) return false;
+            int entry = table[slot] - 1;
+            if (expiresAt[entry] <= now) {
+                remove(slot, entry);
+                return false;
+            }
+            moveToHead(entry);
+            return true;
+        }
+
+        synchronized void add(long msb, long lsb, int hash, long now, long expiry) {
+            int slot = find(msb, lsb, hash);
+            if (slot >= 0) {
+                int entry = table[slot] - 1;
+                expiresAt[entry] = expiry;
+                moveToHead(entry);
+                return;
+            }
+            while (tail != NONE && expiresAt[tail] <= now) removeEntry(tail);
+            if (size == capacity) removeEntry(tail);
+
+            int entry;
+            if (free != NONE) {
+                entry = free;
+                free = next[entry];
+            } else {
+                entry = allocated++;
+            }
+            mostSigBits[entry] = msb;
+            leastSigBits[entry] = lsb;
+            hashes[entry] = hash;
+            expiresAt[entry] = expiry;
+
+            int s = hash & mask;
+            while (table[s] != 0) s = (s + 1) & mask;
+            table[s] = entry + 1;
+            linkAtHead(entry);
+            size++;
+        }
+
+        private int find(long msb, long lsb, int hash) {
+            int s = hash & mask;
+            while (true) {
+                int candidate = table[s];
+                if (candidate == 0) return -1;
+                int entry = candidate - 1;
+                if (hashes[entry] == hash && mostSigBits[entry] == msb && leastSigBits[entry] == lsb) return s;
+                s = (s + 1) & mask;
+            }
+        }
+
+        private void removeEntry(int entry) {
+            int s = hashes[entry] & mask;
+            while (table[s] != entry + 1) s = (s + 1) & mask;
+            remove(s, entry);
+        }
+
+        private void remove(int slot, int entry) {
+            unlink(entry);
+            next[entry] = free;
+            free = entry;
+            size--;
+
+            // Backward-shift deletion keeps every probe chain unbroken without tombstones.
+            int gap = slot;
+            int s = slot;
+            while (true) {
+                s = (s + 1) & mask;
+                int candidate = table[s];
+                if (candidate == 0) break;
+                int home = hashes[candidate - 1] & mask;
+                boolean movable = gap <= s ? (home <= gap || home > s) : (home <= gap && home > s);
+                if (movable) {
+                    table[gap] = candidate;
+                    gap = s;
+                }
+            }
+            table[gap] = 0;
+        }
+
+        private void moveToHead(int entry) {
+            if (entry == head) return;
+            unlink(entry);
+            linkAtHead(entry);
+        }
+
+        private void linkAtHead(int entry) {
+            previous[entry] = NONE;
+            next[entry] = head;
+            if (head != NONE) previous[head] = entry;
+            head = entry;
+            if (tail == NONE) tail = entry;
+        }
+
+        private void unlink(int entry) {
+            int p = previous[entry];
+            int n = next[entry];
+            if (p != NONE) next[p] = n;
+            else head = n;
+            if (n != NONE) previous[n] = p;
+            else tail = p;
+        }
+    }
+}
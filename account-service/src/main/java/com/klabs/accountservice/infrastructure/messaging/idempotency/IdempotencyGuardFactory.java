@@ -0,0 +1,42 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import com.klabs.accountservice.infrastructure.messaging.consumer.RecordHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.InstantSource;
+
+/**
+ * Wraps record handlers with duplicate suppression. Each consumer group gets its own window sized
+ * by {@code app.idempotency.*}, since one group having handled an event says nothing about another.
+ */
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyGuardFactory {
+
+    private final IdempotencyProperties properties;
+
+    private final JdbcProcessedEventStore store;
+
+    private final InstantSource clock;
+
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyGuardFactory(IdempotencyProperties properties, ObjectProvider<JdbcProcessedEventStore> store,
+                                   InstantSource clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store.getIfAvailable();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> RecordHandler<V> guard(String consumerGroup, RecordHandler<V> handler) {
+        EventIdWindow window = new EventIdWindow(properties.capacity(), properties.window(), properties.segments(), clock);
+        Gauge.builder("account.events.idempotency.window.size", window, EventIdWindow::size)
+                .tag("group", consumerGroup).register(meterRegistry);
+        return new IdempotentRecordHandler<>(consumerGroup, handler, window, store, clock, meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("1000000") int capacity,
+        @DefaultValue("24h") Duration window,
+        @DefaultValue("64") int segments,
+        @DefaultValue Persistent persistent) {
+
+    public record Persistent(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("7d") Duration retention) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import com.klabs.accountservice.infrastructure.messaging.KafkaDomainEventPublisher;
+import com.klabs.accountservice.infrastructure.messaging.consumer.RecordHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.time.InstantSource;
+import java.util.UUID;
+
+/**
+ * Skips records whose event id this consumer group has already handled successfully. An id is only
+ * recorded after the delegate returns, so a failed attempt stays eligible for its retries.
+ * Duplicates of one event share the aggregate key and are therefore never handled concurrently.
+ */
+@Slf4j
+public class IdempotentRecordHandler<V> implements RecordHandler<V> {
+
+    private final String consumerGroup;
+
+    private final RecordHandler<V> delegate;
+
+    private final EventIdWindow window;
+
+    private final JdbcProcessedEventStore store;
+
+    private final InstantSource clock;
+
+    private final Counter duplicates;
+
+    public IdempotentRecordHandler(String consumerGroup, RecordHandler<V> delegate, EventIdWindow window,
+                                   JdbcProcessedEventStore store, InstantSource clock, MeterRegistry meterRegistry) {
+        this.consumerGroup = consumerGroup;
+        this.delegate = delegate;
+        this.window = window;
+        this.store = store;
+        this.clock = clock;
+        this.duplicates = meterRegistry.counter("account.events.duplicates.suppressed", "group", consumerGroup);
+    }
+
+    @Override
+    public void handle(ConsumerRecord<String, V> record) throws Exception {
+        Header header = record.headers().lastHeader(KafkaDomainEventPublisher.EVENT_ID_HEADER);
+        if (header == null || header.value().length != 16) {
+            delegate.handle(record);
+            return;
+        }
+        byte[] id = header.value();
+        long msb = readLong(id, 0);
+        long lsb = readLong(id, 8);
+
+        if (isDuplicate(msb, lsb)) {
+            duplicates.increment();
+            log.debug("Skipping duplicate event {} in group {}", new UUID(msb, lsb), consumerGroup);
+            return;
+        }
+        delegate.handle(record);
+        window.add(msb, lsb);
+        if (store != null) store.record(consumerGroup, new UUID(msb, lsb), clock.instant());
+    }
+
+    private boolean isDuplicate(long msb, long lsb) {
+        if (window.contains(msb, lsb)) return true;
+        if (store == null || !store.exists(consumerGroup, new UUID(msb, lsb))) return false;
+        window.add(msb, lsb);
+        return true;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + Long.BYTES; i++) value = (value << 8) | (bytes[i] & 0xFF);
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.UUID;
+
+/**
+ * Durable record of processed event ids, consulted only when an id is not in the in-memory
+ * window, e.g. after a restart or for events older than the window.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.idempotency.persistent", name = "enabled", havingValue = "true")
+public class JdbcProcessedEventStore {
+
+    private static final int PURGE_BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IdempotencyProperties properties;
+
+    private final InstantSource clock;
+
+    public JdbcProcessedEventStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties, InstantSource clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public boolean exists(String consumerGroup, UUID eventId) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM processed_event WHERE consumer_group = ? AND event_id = ?)",
+                Boolean.class, consumerGroup, eventId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void record(String consumerGroup, UUID eventId, Instant processedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO processed_event (consumer_group, event_id, processed_at) VALUES (?, ?, ?) ON CONFLICT DO NOTHING",
+                consumerGroup, eventId, Timestamp.from(processedAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.persistent.purge-interval:10m}")
+    public void purgeExpired() {
+        Instant threshold = clock.instant().minus(properties.persistent().retention());
+        while (purgeBefore(threshold, PURGE_BATCH_SIZE) == PURGE_BATCH_SIZE) {
+            // keep each delete short so it never holds locks on a large range
+        }
+    }
+
+    int purgeBefore(Instant threshold, int batchSize) {
+        return jdbcTemplate.update(
+                "DELETE FROM processed_event WHERE ctid IN (SELECT ctid FROM processed_event WHERE processed_at < ? LIMIT ?)",
+                Timestamp.from(threshold), batchSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Replays a group's dead-letter topic. Exposed over JMX only: it feeds records back into
+ * production consumers, and access tokens carry no authority that could guard it on the web.
+ */
+@Component
+@Endpoint(id = "deadletters")
+public class DeadLetterReplayEndpoint {
+
+    private static final int DEFAULT_MAX_RECORDS = 10_000;
+
+    private final DeadLetterReplayer replayer;
+
+    public DeadLetterReplayEndpoint(DeadLetterReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @WriteOperation
+    public Map<String, Object> replay(@Selector String group, @Nullable Integer maxRecords) {
+        int replayed = replayer.replay(group, maxRecords == null ? DEFAULT_MAX_RECORDS : maxRecords);
+        return Map.of("group", group, "replayed", replayed);
+    }
+}
@@ -0,0 +1,121 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves dead-lettered records of a consumer group back into the group's first retry tier, one
+ * poll batch at a time, up to the end of the dead-letter topic as it was when the replay started.
+ * Progress is committed under a dedicated consumer group after each batch has been acknowledged,
+ * so an interrupted replay resumes where it stopped.
+ */
+@Slf4j
+@Component
+public class DeadLetterReplayer {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final int MAX_IDLE_POLLS = 15;
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final RetryableConsumerFactory retryableConsumerFactory;
+
+    private final RetryProperties properties;
+
+    public DeadLetterReplayer(ConsumerFactory<?, ?> consumerFactory, KafkaTemplate<String, Object> kafkaTemplate,
+                              RetryableConsumerFactory retryableConsumerFactory, RetryProperties properties) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryableConsumerFactory = retryableConsumerFactory;
+        this.properties = properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    public int replay(String groupId, int maxRecords) {
+        RetryTopology topology = retryableConsumerFactory.topology(groupId);
+        if (topology.tiers() == 0) throw new IllegalStateException("No retry tier configured to replay into");
+
+        String topic = topology.deadLetterTopic();
+        Properties overrides = new Properties();
+        overrides.put("max.poll.records", String.valueOf(Math.min(maxRecords, properties.replayBatchSize())));
+        int replayed = 0;
+        try (Consumer<String, Object> consumer = (Consumer<String, Object>)
+                consumerFactory.createConsumer(topic + ".replay", null, null, overrides)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) return 0;
+            List<TopicPartition> partitions = partitionInfos.stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            // assigned rather than subscribed, so there is no rebalance to wait for before the first fetch
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            int idlePolls = 0;
+            while (replayed < maxRecords && !caughtUp(consumer, endOffsets)) {
+                ConsumerRecords<String, Object> batch = consumer.poll(POLL_TIMEOUT);
+                if (batch.isEmpty()) {
+                    if (++idlePolls >= MAX_IDLE_POLLS)
+                        throw new IllegalStateException("Nothing fetched from " + topic + " in " + idlePolls + " polls");
+                    continue;
+                }
+                idlePolls = 0;
+
+                List<CompletableFuture<?>> sends = new ArrayList<>(batch.count());
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<String, Object> record : batch) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    // records dead-lettered after the replay started are left for the next one
+                    if (record.offset() >= endOffsets.get(partition) || replayed + sends.size() >= maxRecords) continue;
+                    sends.add(kafkaTemplate.send(toRetry(record, topology)));
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+                if (!offsets.isEmpty()) consumer.commitSync(offsets);
+                replayed += sends.size();
+                log.info("Replayed {} dead-lettered records of group {}", replayed, groupId);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay of " + topic + " stopped after " + replayed + " records", e);
+        }
+        return replayed;
+    }
+
+    private static boolean caughtUp(Consumer<?, ?> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) return false;
+        }
+        return true;
+    }
+
+    private ProducerRecord<String, Object> toRetry(ConsumerRecord<String, Object> record, RetryTopology topology) {
+        ProducerRecord<String, Object> retry = new ProducerRecord<>(topology.tierTopic(0), record.key(), record.value());
+        RetryHeaders.copyWithOrigin(record, retry.headers());
+        long now = System.currentTimeMillis();
+        RetryHeaders.putInt(retry.headers(), RetryHeaders.ATTEMPTS, 0);
+        RetryHeaders.putLong(retry.headers(), RetryHeaders.ENQUEUED_AT, now);
+        RetryHeaders.putLong(retry.headers(), RetryHeaders.DUE_AT, now);
+        return retry;
+    }
+}
@@ -0,0 +1,51 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import com.klabs.accountservice.infrastructure.messaging.consumer.RecordHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler of a retry tier: holds each record until its due time and then runs the group's real
+ * handler. Waiting happens on the record's virtual thread, so only later records of the same key
+ * wait with it while the tier keeps polling.
+ */
+class DelayedRecordHandler<V> implements RecordHandler<V> {
+
+    private final RecordHandler<V> delegate;
+
+    private final Timer succeeded;
+
+    private final Timer failed;
+
+    DelayedRecordHandler(RecordHandler<V> delegate, RetryTopology topology, int tier, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.succeeded = tierTimer(meterRegistry, topology, tier, "success");
+        this.failed = tierTimer(meterRegistry, topology, tier, "failure");
+    }
+
+    private static Timer tierTimer(MeterRegistry meterRegistry, RetryTopology topology, int tier, String outcome) {
+        return Timer.builder("account.events.retry.tier.time")
+                .description("Time from entering a retry tier until the retried handler finished")
+                .tags("group", topology.groupId(), "tier", String.valueOf(tier), "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void handle(ConsumerRecord<String, V> record) throws Exception {
+        long wait = RetryHeaders.longValue(record, RetryHeaders.DUE_AT, 0) - System.currentTimeMillis();
+        if (wait > 0) Thread.sleep(wait);
+
+        long enqueuedAt = RetryHeaders.longValue(record, RetryHeaders.ENQUEUED_AT, record.timestamp());
+        boolean success = false;
+        try {
+            delegate.handle(record);
+            success = true;
+        } finally {
+            long elapsed = Math.max(0, System.currentTimeMillis() - enqueuedAt);
+            (success ? succeeded : failed).record(elapsed, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class RetryHeaders {
+
+    static final String ATTEMPTS = "retry-attempts";
+
+    static final String DUE_AT = "retry-due-at";
+
+    static final String ENQUEUED_AT = "retry-enqueued-at";
+
+    static final String ORIGINAL_TOPIC = "retry-original-topic";
+
+    static final String ORIGINAL_PARTITION = "retry-original-partition";
+
+    static final String ORIGINAL_OFFSET = "retry-original-offset";
+
+    static final String EXCEPTION = "retry-exception";
+
+    private RetryHeaders() {
+    }
+
+    static boolean isRetryHeader(String key) {
+        return key.startsWith("retry-");
+    }
+
+    static int attempts(ConsumerRecord<?, ?> record) {
+        return intValue(record, ATTEMPTS, 0);
+    }
+
+    static int intValue(ConsumerRecord<?, ?> record, String key, int defaultValue) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? defaultValue : ByteBuffer.wrap(header.value()).getInt();
+    }
+
+    static long longValue(ConsumerRecord<?, ?> record, String key, long defaultValue) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? defaultValue : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    static String stringValue(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    static void putInt(Headers headers, String key, int value) {
+        headers.remove(key).add(key, ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    static void putLong(Headers headers, String key, long value) {
+        headers.remove(key).add(key, ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+    }
+
+    static void putString(Headers headers, String key, String value) {
+        headers.remove(key).add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Copies the non-retry headers of a record and records where it originally came from, keeping
+     * the origin of records that are already being retried.
+     */
+    static void copyWithOrigin(ConsumerRecord<?, ?> record, Headers target) {
+        for (Header header : record.headers()) {
+            if (!isRetryHeader(header.key())) target.add(header);
+        }
+        String originalTopic = stringValue(record, ORIGINAL_TOPIC);
+        if (originalTopic == null) {
+            putString(target, ORIGINAL_TOPIC, record.topic());
+            putInt(target, ORIGINAL_PARTITION, record.partition());
+            putLong(target, ORIGINAL_OFFSET, record.offset());
+        } else {
+            putString(target, ORIGINAL_TOPIC, originalTopic);
+            putInt(target, ORIGINAL_PARTITION, intValue(record, ORIGINAL_PARTITION, -1));
+            putLong(target, ORIGINAL_OFFSET, longValue(record, ORIGINAL_OFFSET, -1));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.kafka.retry")
+public record RetryProperties(
+        @DefaultValue({"10s", "1m", "10m"}) List<Duration> delays,
+        @DefaultValue("3") int topicPartitions,
+        @DefaultValue("1") short replicationFactor,
+        @DefaultValue("500") int replayBatchSize) {
+}
@@ -0,0 +1,35 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Retry and dead-letter topics of one consumer group. Topics are per group rather than per source
+ * topic, so a retried record is only handled again by the group whose handler failed.
+ */
+public record RetryTopology(String groupId, List<Duration> delays) {
+
+    public RetryTopology {
+        delays = List.copyOf(delays);
+    }
+
+    public int tiers() {
+        return delays.size();
+    }
+
+    public String tierTopic(int tier) {
+        return groupId + ".retry-" + tier;
+    }
+
+    public String tierGroupId(int tier) {
+        return tierTopic(tier);
+    }
+
+    public Duration delay(int tier) {
+        return delays.get(tier);
+    }
+
+    public String deadLetterTopic() {
+        return groupId + ".dlt";
+    }
+}
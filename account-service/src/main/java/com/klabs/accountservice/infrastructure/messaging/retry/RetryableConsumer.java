@@ -0,0 +1,40 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import com.klabs.accountservice.infrastructure.messaging.consumer.OrderedParallelConsumer;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.List;
+
+/**
+ * A consumer group together with its retry tier consumers, started and stopped as one unit.
+ */
+public class RetryableConsumer<V> implements SmartLifecycle {
+
+    private final RetryTopology topology;
+
+    private final List<OrderedParallelConsumer<V>> consumers;
+
+    RetryableConsumer(RetryTopology topology, List<OrderedParallelConsumer<V>> consumers) {
+        this.topology = topology;
+        this.consumers = List.copyOf(consumers);
+    }
+
+    public RetryTopology getTopology() {
+        return topology;
+    }
+
+    @Override
+    public void start() {
+        consumers.forEach(OrderedParallelConsumer::start);
+    }
+
+    @Override
+    public void stop() {
+        consumers.forEach(OrderedParallelConsumer::stop);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return consumers.stream().anyMatch(OrderedParallelConsumer::isRunning);
+    }
+}
@@ -0,0 +1,76 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import com.klabs.accountservice.infrastructure.messaging.consumer.OrderedParallelConsumer;
+import com.klabs.accountservice.infrastructure.messaging.consumer.OrderedParallelConsumerFactory;
+import com.klabs.accountservice.infrastructure.messaging.consumer.RecordHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Builds consumers whose failed records move through delayed retry topics instead of being
+ * retried in place, so a failing handler never holds up the partition it consumes.
+ */
+@Component
+@EnableConfigurationProperties(RetryProperties.class)
+public class RetryableConsumerFactory {
+
+    private final OrderedParallelConsumerFactory consumerFactory;
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ObjectProvider<KafkaAdmin> kafkaAdmin;
+
+    private final RetryProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryableConsumerFactory(OrderedParallelConsumerFactory consumerFactory, KafkaTemplate<String, Object> kafkaTemplate,
+                                    ObjectProvider<KafkaAdmin> kafkaAdmin, RetryProperties properties, MeterRegistry meterRegistry) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaAdmin = kafkaAdmin;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RetryTopology topology(String groupId) {
+        return new RetryTopology(groupId, properties.delays());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> RetryableConsumer<V> create(String groupId, Collection<String> topics, RecordHandler<V> handler) {
+        RetryTopology topology = topology(groupId);
+        createTopics(topology);
+
+        RetryingFailedRecordHandler<V> failedRecordHandler =
+                new RetryingFailedRecordHandler<>(topology, (KafkaTemplate<String, V>) (KafkaTemplate<?, ?>) kafkaTemplate, meterRegistry);
+
+        List<OrderedParallelConsumer<V>> consumers = new ArrayList<>();
+        consumers.add(consumerFactory.create(groupId, topics, handler, failedRecordHandler));
+        for (int tier = 0; tier < topology.tiers(); tier++) {
+            consumers.add(consumerFactory.create(topology.tierGroupId(tier), List.of(topology.tierTopic(tier)),
+                    new DelayedRecordHandler<>(handler, topology, tier, meterRegistry), failedRecordHandler));
+        }
+        return new RetryableConsumer<>(topology, consumers);
+    }
+
+    private void createTopics(RetryTopology topology) {
+        KafkaAdmin admin = kafkaAdmin.getIfAvailable();
+        if (admin == null) return;
+
+        List<NewTopic> topics = new ArrayList<>();
+        for (int tier = 0; tier < topology.tiers(); tier++)
+            topics.add(new NewTopic(topology.tierTopic(tier), properties.topicPartitions(), properties.replicationFactor()));
+        topics.add(new NewTopic(topology.deadLetterTopic(), properties.topicPartitions(), properties.replicationFactor()));
+        admin.createOrModifyTopics(topics.toArray(NewTopic[]::new));
+    }
+}
@@ -0,0 +1,109 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import com.klabs.accountservice.infrastructure.messaging.KafkaDomainEventPublisher;
+import com.klabs.accountservice.infrastructure.messaging.consumer.FailedRecordHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards a failed record to the next retry tier of its group, or to the dead-letter topic once
+ * all tiers are exhausted. The forward is awaited before the source offset is released, so a
+ * record is never committed without having been handed on: a failed send is retried with backoff,
+ * holding up the record's key, until it succeeds or the consumer stops.
+ */
+@Slf4j
+public class RetryingFailedRecordHandler<V> implements FailedRecordHandler<V> {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final RetryTopology topology;
+
+    private final KafkaTemplate<String, V> kafkaTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long initialBackoffMillis;
+
+    public RetryingFailedRecordHandler(RetryTopology topology, KafkaTemplate<String, V> kafkaTemplate, MeterRegistry meterRegistry) {
+        this(topology, kafkaTemplate, meterRegistry, INITIAL_BACKOFF_MILLIS);
+    }
+
+    RetryingFailedRecordHandler(RetryTopology topology, KafkaTemplate<String, V> kafkaTemplate, MeterRegistry meterRegistry,
+                                long initialBackoffMillis) {
+        this.topology = topology;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    @Override
+    public void onFailure(ConsumerRecord<String, V> record, Exception exception) {
+        int attempts = RetryHeaders.attempts(record) + 1;
+        long now = System.currentTimeMillis();
+        boolean deadLetter = attempts > topology.tiers();
+        String topic = deadLetter ? topology.deadLetterTopic() : topology.tierTopic(attempts - 1);
+
+        ProducerRecord<String, V> forward = new ProducerRecord<>(topic, record.key(), record.value());
+        RetryHeaders.copyWithOrigin(record, forward.headers());
+        RetryHeaders.putInt(forward.headers(), RetryHeaders.ATTEMPTS, attempts);
+        RetryHeaders.putLong(forward.headers(), RetryHeaders.ENQUEUED_AT, now);
+        RetryHeaders.putString(forward.headers(), RetryHeaders.EXCEPTION, exception.getClass().getName() + ": " + exception.getMessage());
+        if (!deadLetter)
+            RetryHeaders.putLong(forward.headers(), RetryHeaders.DUE_AT, now + topology.delay(attempts - 1).toMillis());
+
+        send(record, forward);
+
+        if (deadLetter) {
+            deadLetterCounter(record).increment();
+            log.warn("Record {}-{}@{} of group {} dead-lettered after {} attempts", record.topic(), record.partition(),
+                    record.offset(), topology.groupId(), attempts, exception);
+        } else {
+            log.debug("Record {}-{}@{} of group {} scheduled for retry {} of {}", record.topic(), record.partition(),
+                    record.offset(), topology.groupId(), attempts, topology.tiers());
+        }
+    }
+
+    private void send(ConsumerRecord<String, V> record, ProducerRecord<String, V> forward) {
+        long backoff = initialBackoffMillis;
+        while (true) {
+            try {
+                kafkaTemplate.send(forward).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return;
+            } catch (InterruptedException e) {
+                throw interrupted(record, forward, e);
+            } catch (Exception e) {
+                log.error("Could not forward {}-{}@{} to {}, retrying in {} ms", record.topic(), record.partition(),
+                        record.offset(), forward.topic(), backoff, e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                throw interrupted(record, forward, e);
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private IllegalStateException interrupted(ConsumerRecord<String, V> record, ProducerRecord<String, V> forward,
+                                              InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new IllegalStateException("Interrupted while forwarding %s-%d@%d to %s"
+                .formatted(record.topic(), record.partition(), record.offset(), forward.topic()), e);
+    }
+
+    private Counter deadLetterCounter(ConsumerRecord<String, V> record) {
+        String eventType = RetryHeaders.stringValue(record, KafkaDomainEventPublisher.EVENT_TYPE_HEADER);
+        return meterRegistry.counter("account.events.dlt.records", "group", topology.groupId(),
+                "event", eventType == null ? "unknown" : eventType);
+    }
+}
@@ -0,0 +1,98 @@
+package com.klabs.accountservice.infrastructure.security;
+
+import com.klabs.accountservice.domain.service.AccessTokenService;
+import com.klabs.accountservice.domain.service.TokenRevocationService;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.shared.exception.BusinessException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Authenticates requests by their access token. Behind the gateway the token was already verified
+ * and its claims arrive in {@code X-Account-*} headers, which are trusted only when
+ * {@code app.security.trust-gateway-headers} is set; otherwise the bearer token is verified here.
+ * Either way a revoked token is rejected.
+ */
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String ACCOUNT_ID_HEADER = "X-Account-Id";
+
+    public static final String ACCOUNT_LOGIN_HEADER = "X-Account-Login";
+
+    public static final String TOKEN_ID_HEADER = "X-Token-Id";
+
+    public static final String TOKEN_ISSUED_AT_HEADER = "X-Token-Issued-At";
+
+    public static final String TOKEN_EXPIRES_AT_HEADER = "X-Token-Expires-At";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenService tokenService;
+
+    private final TokenRevocationService revocationService;
+
+    private final boolean trustGatewayHeaders;
+
+    public AccessTokenAuthenticationFilter(AccessTokenService tokenService, TokenRevocationService revocationService,
+                                           boolean trustGatewayHeaders) {
+        this.tokenService = tokenService;
+        this.revocationService = revocationService;
+        this.trustGatewayHeaders = trustGatewayHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AccessTokenClaims claims;
+        try {
+            claims = trustGatewayHeaders && request.getHeader(ACCOUNT_ID_HEADER) != null
+                    ? fromGatewayHeaders(request)
+                    : fromBearerToken(request);
+        } catch (BusinessException | IllegalArgumentException e) {
+            reject(response);
+            return;
+        }
+        if (claims != null && revocationService.isRevoked(claims)) {
+            reject(response);
+            return;
+        }
+        if (claims != null) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(claims, null, List.of()));
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    private AccessTokenClaims fromBearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length()))
+            return null;
+        return tokenService.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    private static AccessTokenClaims fromGatewayHeaders(HttpServletRequest request) {
+        String issuedAt = request.getHeader(TOKEN_ISSUED_AT_HEADER);
+        String expiresAt = request.getHeader(TOKEN_EXPIRES_AT_HEADER);
+        return new AccessTokenClaims(
+                UUID.fromString(request.getHeader(ACCOUNT_ID_HEADER)),
+                request.getHeader(ACCOUNT_LOGIN_HEADER),
+                request.getHeader(TOKEN_ID_HEADER),
+                issuedAt == null ? 0 : Long.parseLong(issuedAt),
+                expiresAt == null ? Long.MAX_VALUE : Long.parseLong(expiresAt));
+    }
+}
@@ -0,0 +1,43 @@
+package com.klabs.accountservice.infrastructure.security;
+
+import com.klabs.accountservice.domain.service.AccessTokenService;
+import com.klabs.accountservice.domain.service.TokenRevocationService;
+import com.klabs.accountservice.infrastructure.security.jwt.JwksController;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+@Configuration
+@EnableConfigurationProperties(SecurityProperties.class)
+public class SecurityConfiguration {
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService tokenService,
+                                                   TokenRevocationService revocationService,
+                                                   SecurityProperties properties, JwtProperties jwtProperties) throws Exception {
+        if (properties.trustGatewayHeaders() && !jwtProperties.algorithm().isAsymmetric())
+            throw new IllegalStateException("The gateway verifies tokens with published keys, "
+                    + jwtProperties.algorithm() + " keys are never published");
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(JwksController.PATH, "/api/v1/auth/**", "/api/v1/verify").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        // access tokens carry no authorities, so no token may reach operational endpoints
+                        .requestMatchers("/actuator/**").denyAll()
+                        .anyRequest().authenticated())
+                .addFilterBefore(new AccessTokenAuthenticationFilter(tokenService, revocationService,
+                                properties.trustGatewayHeaders()),
+                        AnonymousAuthenticationFilter.class)
+                .build();
+    }
+}
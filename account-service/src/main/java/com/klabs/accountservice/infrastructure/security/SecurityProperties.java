@@ -0,0 +1,9 @@
+package com.klabs.accountservice.infrastructure.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.security")
+public record SecurityProperties(
+        @DefaultValue("false") boolean trustGatewayHeaders) {
+}
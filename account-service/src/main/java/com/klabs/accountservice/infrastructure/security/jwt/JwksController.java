@@ -0,0 +1,39 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the public halves of the signing keys so the gateway can verify tokens itself.
+ * HMAC keys are secret and never published.
+ */
+@RestController
+public class JwksController {
+
+    public static final String PATH = "/.well-known/jwks.json";
+
+    private final JwtKeyRing keyRing;
+
+    public JwksController(JwtTokenEngine tokenEngine) {
+        this.keyRing = tokenEngine.keyRing();
+    }
+
+    @GetMapping(PATH)
+    public ResponseEntity<Map<String, Object>> keys() {
+        List<Map<String, ?>> keys = keyRing.verificationKeys().stream()
+                .filter(key -> key.verificationKey() instanceof PublicKey)
+                .<Map<String, ?>>map(key -> Jwks.builder().key((PublicKey) key.verificationKey()).id(key.id()).build())
+                .toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)))
+                .body(Map.of("keys", keys));
+    }
+}
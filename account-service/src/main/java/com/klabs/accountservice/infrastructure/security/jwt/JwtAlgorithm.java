@@ -0,0 +1,77 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.core.io.Resource;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+public enum JwtAlgorithm {
+    /**
+     * Shared secret, never published, so only account-service itself can verify these tokens and
+     * gateway verification is not supported.
+     */
+    HS256 {
+        @Override
+        JwtKey generateKey(String id) {
+            SecretKey key = Jwts.SIG.HS256.key().build();
+            return new JwtKey(id, key, key, JwtKey.ACTIVE);
+        }
+
+        @Override
+        JwtKey loadKey(JwtProperties.KeyMaterial material) {
+            if (material.secret() == null) throw new IllegalStateException("JWT key " + material.id() + " has no secret");
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(material.secret()));
+            return new JwtKey(material.id(), key, key, JwtKey.ACTIVE);
+        }
+    },
+    ES256 {
+        @Override
+        JwtKey generateKey(String id) {
+            KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+            return new JwtKey(id, pair.getPrivate(), pair.getPublic(), JwtKey.ACTIVE);
+        }
+
+        @Override
+        JwtKey loadKey(JwtProperties.KeyMaterial material) {
+            if (material.privateKey() == null || material.publicKey() == null)
+                throw new IllegalStateException("JWT key " + material.id() + " needs a private and a public key");
+            try {
+                KeyFactory factory = KeyFactory.getInstance("EC");
+                return new JwtKey(material.id(),
+                        factory.generatePrivate(new PKCS8EncodedKeySpec(pem(material.privateKey()))),
+                        factory.generatePublic(new X509EncodedKeySpec(pem(material.publicKey()))),
+                        JwtKey.ACTIVE);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JWT key " + material.id() + " is not a valid EC key pair", e);
+            }
+        }
+    };
+
+    abstract JwtKey generateKey(String id);
+
+    abstract JwtKey loadKey(JwtProperties.KeyMaterial material);
+
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+
+    private static byte[] pem(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            String text = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            return Base64.getMimeDecoder().decode(text.replaceAll("-----[A-Z ]+-----", ""));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import java.security.Key;
+
+public record JwtKey(String id, Key signingKey, Key verificationKey, long retiredAtMillis) {
+
+    static final long ACTIVE = Long.MAX_VALUE;
+
+    JwtKey retire(long nowMillis) {
+        return new JwtKey(id, signingKey, verificationKey, nowMillis);
+    }
+
+    boolean isActive() {
+        return retiredAtMillis == ACTIVE;
+    }
+}
@@ -0,0 +1,116 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The signing key in use plus the keys it replaced less than {@code overlap} ago, so tokens signed
+ * just before a rotation keep verifying until they expire. Readers see an immutable snapshot and
+ * never lock; rotation swaps the snapshot. Configured keys are shared by all replicas and never
+ * rotated here: the first signs, the others only verify.
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private final JwtAlgorithm algorithm;
+
+    private final long overlapMillis;
+
+    private final InstantSource clock;
+
+    private final boolean rotating;
+
+    private volatile JwtKey current;
+
+    private volatile Map<String, JwtKey> keys;
+
+    public JwtKeyRing(JwtAlgorithm algorithm, Duration overlap, InstantSource clock) {
+        this(algorithm, List.of(), overlap, clock);
+    }
+
+    public JwtKeyRing(JwtAlgorithm algorithm, List<JwtProperties.KeyMaterial> configured, Duration overlap,
+                      InstantSource clock) {
+        this.algorithm = algorithm;
+        this.overlapMillis = overlap.toMillis();
+        this.clock = clock;
+        this.rotating = configured.isEmpty();
+        if (rotating) {
+            this.current = algorithm.generateKey(newKeyId());
+            this.keys = Map.of(current.id(), current);
+            return;
+        }
+        Map<String, JwtKey> loaded = new HashMap<>();
+        for (JwtProperties.KeyMaterial material : configured) {
+            if (material.id() == null || material.id().isBlank()) throw new IllegalStateException("JWT keys need an id");
+            if (loaded.put(material.id(), algorithm.loadKey(material)) != null)
+                throw new IllegalStateException("Duplicate JWT key id " + material.id());
+        }
+        this.current = loaded.get(configured.getFirst().id());
+        this.keys = Map.copyOf(loaded);
+    }
+
+    public JwtKey current() {
+        return current;
+    }
+
+    public List<JwtKey> verificationKeys() {
+        long now = clock.millis();
+        return keys.values().stream().filter(key -> isUsable(key, now)).toList();
+    }
+
+    public JwtAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public boolean isRotating() {
+        return rotating;
+    }
+
+    /**
+     * Activates a new signing key and drops the retired keys whose overlap has passed. Returns
+     * {@code true} if any key was dropped. Does nothing for configured keys.
+     */
+    public synchronized boolean rotate() {
+        if (!rotating) return false;
+        long now = clock.millis();
+        JwtKey next = algorithm.generateKey(newKeyId());
+        Map<String, JwtKey> rotated = new HashMap<>();
+        boolean dropped = false;
+        for (JwtKey key : keys.values()) {
+            JwtKey kept = key.isActive() ? key.retire(now) : key;
+            if (!isUsable(kept, now)) {
+                dropped = true;
+            } else {
+                rotated.put(kept.id(), kept);
+            }
+        }
+        rotated.put(next.id(), next);
+        keys = Map.copyOf(rotated);
+        current = next;
+        return dropped;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        JwtKey key = keyId == null ? null : keys.get(keyId);
+        if (key == null || !isUsable(key, clock.millis())) throw new SignatureException("Unknown signing key");
+        return key.verificationKey();
+    }
+
+    private boolean isUsable(JwtKey key, long now) {
+        return now - key.retiredAtMillis() < overlapMillis;
+    }
+
+    private static String newKeyId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Access token settings. With {@code keys} configured every replica signs with the first key and
+ * verifies with all of them, and keys are rotated by changing the list; without, each process
+ * generates its own keys and rotates them every {@code keyRotationInterval}.
+ */
+@ConfigurationProperties(prefix = "app.jwt")
+public record JwtProperties(
+        @DefaultValue("ES256") JwtAlgorithm algorithm,
+        @DefaultValue("account-service") String issuer,
+        @DefaultValue("15m") Duration accessTokenTtl,
+        @DefaultValue("24h") Duration keyRotationInterval,
+        @DefaultValue("1h") Duration keyOverlap,
+        @DefaultValue("30s") Duration clockSkew,
+        @DefaultValue("10000") int verifiedCacheSize,
+        List<KeyMaterial> keys) {
+
+    public JwtProperties {
+        keys = keys == null ? List.of() : List.copyOf(keys);
+    }
+
+    /**
+     * One shared signing key: PEM encoded PKCS#8 private and X.509 public key for ES256, a base64
+     * secret of at least 256 bits for HS256.
+     */
+    public record KeyMaterial(String id, Resource privateKey, Resource publicKey, String secret) {
+    }
+}
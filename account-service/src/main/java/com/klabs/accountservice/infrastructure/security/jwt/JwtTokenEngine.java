@@ -0,0 +1,137 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.service.AccessTokenService;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.domain.valueobject.Token;
+import com.klabs.accountservice.shared.exception.InvalidTokenException;
+import com.klabs.accountservice.shared.exception.TokenExpiredException;
+import com.klabs.accountservice.shared.time.DomainClock;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.InstantSource;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and verifies access tokens. Keys and the parser are built once and shared by all threads;
+ * tokens verified recently are answered from a small cache without checking the signature again.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtTokenEngine implements AccessTokenService {
+
+    static final String LOGIN_CLAIM = "login";
+
+    private final JwtKeyRing keyRing;
+
+    private final JwtParser parser;
+
+    private final VerifiedTokenCache cache;
+
+    private final InstantSource clock;
+
+    private final String issuer;
+
+    private final long ttlMillis;
+
+    private final Counter cached;
+
+    private final Counter verified;
+
+    private final Counter rejected;
+
+    public JwtTokenEngine(JwtProperties properties, InstantSource clock, MeterRegistry meterRegistry) {
+        if (properties.keyOverlap().compareTo(properties.accessTokenTtl()) < 0)
+            throw new IllegalArgumentException("Key overlap must not be shorter than the access token lifetime");
+
+        this.keyRing = new JwtKeyRing(properties.algorithm(), properties.keys(), properties.keyOverlap(), clock);
+        if (keyRing.isRotating())
+            log.warn("No app.jwt.keys configured, signing with a key of this process only: tokens do not survive a "
+                    + "restart and are rejected by other replicas");
+        this.cache = new VerifiedTokenCache(properties.verifiedCacheSize());
+        this.clock = clock;
+        this.issuer = properties.issuer();
+        this.ttlMillis = properties.accessTokenTtl().toMillis();
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .requireIssuer(issuer)
+                .clock(() -> new Date(clock.millis()))
+                .clockSkewSeconds(properties.clockSkew().toSeconds())
+                .build();
+
+        this.cached = meterRegistry.counter("jwt.verifications", "outcome", "cached");
+        this.verified = meterRegistry.counter("jwt.verifications", "outcome", "verified");
+        this.rejected = meterRegistry.counter("jwt.verifications", "outcome", "rejected");
+    }
+
+    @Override
+    public Token issue(Account account) {
+        JwtKey key = keyRing.current();
+        // JWT times have second precision, truncate so the token and its claims agree
+        long now = clock.millis() / 1000 * 1000;
+        long expiresAt = now + ttlMillis;
+        String value = Jwts.builder()
+                .header().keyId(key.id()).and()
+                .issuer(issuer)
+                .subject(account.getUuid().toString())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date(now))
+                .expiration(new Date(expiresAt))
+                .claim(LOGIN_CLAIM, account.getLogin().getValue())
+                .signWith(key.signingKey())
+                .compact();
+        return new Token(value, DomainClock.toLocalDateTime(expiresAt));
+    }
+
+    @Override
+    public AccessTokenClaims verify(String token) {
+        if (token == null || token.isBlank()) throw new InvalidTokenException("Token is missing");
+
+        AccessTokenClaims claims = cache.get(token, clock.millis());
+        if (claims != null) {
+            cached.increment();
+            return claims;
+        }
+
+        try {
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            if (payload.getSubject() == null || payload.getIssuedAt() == null || payload.getExpiration() == null)
+                throw new MalformedJwtException("Subject, issue and expiration times are required");
+            claims = new AccessTokenClaims(UUID.fromString(payload.getSubject()), payload.get(LOGIN_CLAIM, String.class),
+                    payload.getId(), payload.getIssuedAt().getTime(), payload.getExpiration().getTime());
+        } catch (ExpiredJwtException e) {
+            rejected.increment();
+            throw new TokenExpiredException("Token has expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.increment();
+            throw new InvalidTokenException("Invalid token");
+        }
+        cache.put(token, claims);
+        verified.increment();
+        return claims;
+    }
+
+    public JwtKeyRing keyRing() {
+        return keyRing;
+    }
+
+    @Scheduled(fixedRateString = "${app.jwt.key-rotation-interval:24h}", initialDelayString = "${app.jwt.key-rotation-interval:24h}")
+    public void rotateKeys() {
+        if (!keyRing.isRotating()) return;
+        if (keyRing.rotate()) cache.clear();
+        log.info("Rotated JWT signing key, now signing with {}", keyRing.current().id());
+    }
+}
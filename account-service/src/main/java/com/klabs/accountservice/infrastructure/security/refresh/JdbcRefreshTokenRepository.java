@@ -0,0 +1,149 @@
+package com.klabs.accountservice.infrastructure.security.refresh;
+
+import com.klabs.accountservice.domain.model.RefreshTokenRotation;
+import com.klabs.accountservice.domain.repository.RefreshTokenRepository;
+import com.klabs.accountservice.domain.valueobject.Token;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Refresh tokens in PostgreSQL, keyed by the SHA-256 digest of the token so the table never holds
+ * a usable token. The tokens are 256-bit random values, so a plain digest is enough and one
+ * primary key lookup finds them. Tokens issued from the same login share a family; exchanging a
+ * token marks it used and inserts its successor, and presenting a used token again deletes the
+ * whole family. Used tokens are kept until they expire so a replay is still recognised.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RefreshTokenProperties.class)
+public class JdbcRefreshTokenRepository implements RefreshTokenRepository {
+
+    // one statement so an exchange costs a single round trip and two concurrent exchanges of the
+    // same token serialize on the row lock; the second one sees it used and the family is revoked
+    // by a statement of its own, whose snapshot includes the successor the first one inserted
+    private static final String ROTATE = """
+            WITH presented AS (
+                SELECT token_hash, family_id, account_uuid, expires_at, used_at
+                FROM refresh_token WHERE token_hash = ? FOR UPDATE
+            ), consumed AS (
+                UPDATE refresh_token t SET used_at = ?
+                FROM presented p
+                WHERE t.token_hash = p.token_hash AND p.used_at IS NULL AND p.expires_at > ?
+                RETURNING t.family_id, t.account_uuid
+            ), issued AS (
+                INSERT INTO refresh_token (token_hash, family_id, account_uuid, expires_at)
+                SELECT ?, family_id, account_uuid, ? FROM consumed
+                RETURNING token_hash
+            )
+            SELECT p.account_uuid,
+                   CASE WHEN p.used_at IS NOT NULL THEN 'REUSED'
+                        WHEN (SELECT count(*) FROM issued) = 0 THEN 'EXPIRED'
+                        ELSE 'ROTATED' END,
+                   p.family_id
+            FROM presented p""";
+
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RefreshTokenProperties properties;
+
+    private final InstantSource clock;
+
+    private final Map<RefreshTokenRotation.Outcome, Counter> rotations = new EnumMap<>(RefreshTokenRotation.Outcome.class);
+
+    public JdbcRefreshTokenRepository(JdbcTemplate jdbcTemplate, RefreshTokenProperties properties, InstantSource clock,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        for (RefreshTokenRotation.Outcome outcome : RefreshTokenRotation.Outcome.values()) {
+            rotations.put(outcome, Counter.builder("refresh.tokens.rotations")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void save(UUID accountUUID, Token token) {
+        jdbcTemplate.update(
+                "INSERT INTO refresh_token (token_hash, family_id, account_uuid, expires_at) VALUES (?, ?, ?, ?)",
+                digest(token.getValue()), UUID.randomUUID(), accountUUID, timestamp(token.getExpiresAtMillis()));
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(String presented, Token next) {
+        Timestamp now = Timestamp.from(clock.instant());
+        List<Presented> result = jdbcTemplate.query(ROTATE, (rs, row) -> new Presented(
+                        new RefreshTokenRotation(RefreshTokenRotation.Outcome.valueOf(rs.getString(2)), rs.getObject(1, UUID.class)),
+                        rs.getObject(3, UUID.class)),
+                digest(presented), now, now, digest(next.getValue()), timestamp(next.getExpiresAtMillis()));
+        RefreshTokenRotation rotation = result.isEmpty() ? RefreshTokenRotation.NOT_FOUND : result.getFirst().rotation();
+        if (rotation.outcome() == RefreshTokenRotation.Outcome.REUSED) {
+            int revoked = jdbcTemplate.update("DELETE FROM refresh_token WHERE family_id = ?", result.getFirst().familyId());
+            log.warn("Refresh token reused, revoked {} tokens of its family", revoked);
+        }
+        rotations.get(rotation.outcome()).increment();
+        return rotation;
+    }
+
+    @Override
+    public int deleteByAccount(UUID accountUUID) {
+        return jdbcTemplate.update("DELETE FROM refresh_token WHERE account_uuid = ?", accountUUID);
+    }
+
+    @Scheduled(fixedDelayString = "${app.refresh-token.sweep-interval:10m}")
+    public void sweepExpired() {
+        Instant now = clock.instant();
+        int batchSize = properties.sweepBatchSize();
+        while (deleteExpiredBefore(now, batchSize) == batchSize) {
+            // keep each delete short so it never holds locks on a large range
+        }
+    }
+
+    int deleteExpiredBefore(Instant threshold, int batchSize) {
+        return jdbcTemplate.update(
+                "DELETE FROM refresh_token WHERE ctid IN (SELECT ctid FROM refresh_token WHERE expires_at <= ? LIMIT ?)",
+                Timestamp.from(threshold), batchSize);
+    }
+
+    static byte[] digest(String token) {
+        try {
+            MessageDigest digest = (MessageDigest) SHA_256.clone();
+            return digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timestamp timestamp(long epochMillis) {
+        return Timestamp.from(Instant.ofEpochMilli(epochMillis));
+    }
+
+    private record Presented(RefreshTokenRotation rotation, UUID familyId) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.klabs.accountservice.infrastructure.security.refresh;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.refresh-token")
+public record RefreshTokenProperties(
+        @DefaultValue("10m") Duration sweepInterval,
+        @DefaultValue("5000") int sweepBatchSize) {
+}
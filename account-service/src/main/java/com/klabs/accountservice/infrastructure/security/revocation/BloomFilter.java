@@ -0,0 +1,54 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over 64-bit hashes. The bit positions are derived from the two halves
+ * of the hash (Kirsch and Mitzenmacher), so callers hash each key once.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+
+    private final long mask;
+
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double optimalBits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Math.max(64, Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1);
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+        this.mask = bits - 1;
+        this.hashCount = Math.max(1, (int) Math.round(optimalBits / n * Math.log(2)));
+    }
+
+    void put(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            long flag = 1L << bit;
+            int index = (int) (bit >>> 6);
+            if ((words.get(index) & flag) == 0) words.accumulateAndGet(index, flag, (a, b) -> a | b);
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    long bitCount() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,149 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import com.klabs.accountservice.domain.event.AccountDeletedEvent;
+import com.klabs.accountservice.domain.event.AccountStatusChangedEvent;
+import com.klabs.accountservice.domain.event.DomainEvent;
+import com.klabs.accountservice.domain.event.TokenRevokedEvent;
+import com.klabs.accountservice.domain.model.AccountStatus;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtProperties;
+import com.klabs.accountservice.shared.time.DomainClock;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps this replica's revocation list in sync with the others. Every replica reads all
+ * partitions of the account event stream without a consumer group, starting one token lifetime
+ * back so revocations made before it started are applied too, and never commits offsets.
+ */
+@Slf4j
+@Component
+public class RevocationEventListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, DomainEvent> consumerFactory;
+
+    private final String topic;
+
+    private final TokenRevocationList revocationList;
+
+    private final InstantSource clock;
+
+    private final long replayMillis;
+
+    private volatile Consumer<String, DomainEvent> consumer;
+
+    private volatile boolean running;
+
+    private Thread poller;
+
+    @SuppressWarnings("unchecked")
+    public RevocationEventListener(ConsumerFactory<?, ?> consumerFactory,
+                                   @Value("${app.kafka.topics.account-events}") String topic,
+                                   TokenRevocationList revocationList, JwtProperties jwtProperties, InstantSource clock) {
+        this.consumerFactory = (ConsumerFactory<String, DomainEvent>) consumerFactory;
+        this.topic = topic;
+        this.revocationList = revocationList;
+        this.clock = clock;
+        this.replayMillis = jwtProperties.accessTokenTtl().plus(jwtProperties.clockSkew()).toMillis();
+    }
+
+    void apply(DomainEvent event) {
+        switch (event) {
+            case TokenRevokedEvent revoked -> revocationList.revokeToken(revoked.getTokenId(),
+                    DomainClock.toEpochMillis(revoked.getExpiresAt()));
+            case AccountStatusChangedEvent changed when changed.getNewStatus() == AccountStatus.SUSPENDED
+                    || changed.getNewStatus() == AccountStatus.DELETED -> revocationList.revokeAccount(
+                    changed.getAggregateID(), DomainClock.toEpochMillis(changed.getOccurredOn()));
+            case AccountDeletedEvent deleted -> revocationList.revokeAccount(deleted.getAggregateID(),
+                    DomainClock.toEpochMillis(deleted.getOccurredOn()));
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        poller = Thread.ofPlatform().name("revocation-events").start(this::pollLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Consumer<String, DomainEvent> current = consumer;
+        if (current != null) current.wakeup();
+        try {
+            poller.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        try (Consumer<String, DomainEvent> kafkaConsumer = consumerFactory.createConsumer(null, "-revocations")) {
+            consumer = kafkaConsumer;
+            assignFromReplayStart(kafkaConsumer);
+            while (running) {
+                for (ConsumerRecord<String, DomainEvent> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    if (record.value() == null) continue;
+                    try {
+                        apply(record.value());
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to apply {}-{}@{} to the revocation list", record.topic(), record.partition(), record.offset(), e);
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            if (running) log.error("Revocation event listener woken up unexpectedly", e);
+        } catch (RuntimeException e) {
+            log.error("Revocation event listener stopped, revocations from other replicas are no longer applied", e);
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private void assignFromReplayStart(Consumer<String, DomainEvent> kafkaConsumer) {
+        List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topic).stream()
+                .map(PartitionInfo::partition)
+                .map(partition -> new TopicPartition(topic, partition))
+                .toList();
+        kafkaConsumer.assign(partitions);
+
+        long replayFrom = clock.millis() - replayMillis;
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(partition -> timestamps.put(partition, replayFrom));
+        Map<TopicPartition, OffsetAndTimestamp> offsets = kafkaConsumer.offsetsForTimes(timestamps);
+        for (TopicPartition partition : partitions) {
+            OffsetAndTimestamp offset = offsets.get(partition);
+            if (offset != null) {
+                kafkaConsumer.seek(partition, offset.offset());
+            } else {
+                kafkaConsumer.seekToEnd(List.of(partition));
+            }
+        }
+        log.info("Replaying revocations of the last {} ms from {} partitions of {}", replayMillis, partitions.size(), topic);
+    }
+}
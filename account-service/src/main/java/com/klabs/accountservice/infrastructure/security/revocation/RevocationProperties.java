@@ -0,0 +1,13 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.jwt.revocation")
+public record RevocationProperties(
+        @DefaultValue("100000") int expectedRevocations,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("1s") Duration tick) {
+}
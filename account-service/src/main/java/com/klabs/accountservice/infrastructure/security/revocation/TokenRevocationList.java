@@ -0,0 +1,229 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import com.klabs.accountservice.domain.event.DomainEventPublisher;
+import com.klabs.accountservice.domain.event.TokenRevokedEvent;
+import com.klabs.accountservice.domain.service.TokenRevocationService;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtProperties;
+import com.klabs.accountservice.shared.time.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.InstantSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens that must stop working before they expire: single tokens revoked on logout, and
+ * every token issued to an account up to the moment it was suspended or deleted. A Bloom filter
+ * answers the common not-revoked case without touching the maps. Entries leave the maps through a
+ * timing wheel once no token they cover can still be valid; the filter is replaced every token
+ * lifetime and the previous one kept for one more, so it forgets them too.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RevocationProperties.class)
+public class TokenRevocationList implements TokenRevocationService, SmartLifecycle {
+
+    private static final long ACCOUNT_SEED = 0x9e3779b97f4a7c15L;
+
+    private final Map<String, RevokedToken> tokens = new ConcurrentHashMap<>();
+
+    private final Map<UUID, RevokedAccount> accounts = new ConcurrentHashMap<>();
+
+    private final HierarchicalTimingWheel<RevokedEntry> wheel;
+
+    private final DomainEventPublisher eventPublisher;
+
+    private final InstantSource clock;
+
+    private final RevocationProperties properties;
+
+    private final long windowMillis;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter previous;
+
+    private long nextRotationMillis;
+
+    private volatile Thread ticker;
+
+    public TokenRevocationList(RevocationProperties properties, JwtProperties jwtProperties,
+                               DomainEventPublisher eventPublisher, InstantSource clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.windowMillis = jwtProperties.accessTokenTtl().plus(jwtProperties.clockSkew()).toMillis();
+        this.current = newFilter();
+        this.previous = newFilter();
+        this.nextRotationMillis = clock.millis() + windowMillis;
+        this.wheel = new HierarchicalTimingWheel<>(properties.tick().toMillis(), clock.millis(), this::expire);
+
+        Gauge.builder("jwt.revocations.tokens", tokens, Map::size).register(meterRegistry);
+        Gauge.builder("jwt.revocations.accounts", accounts, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public void revoke(AccessTokenClaims claims) {
+        if (claims.tokenId() == null) throw new IllegalArgumentException("Token has no id");
+        revokeToken(claims.tokenId(), claims.expiresAtMillis());
+        eventPublisher.publishAll(List.of(
+                TokenRevokedEvent.create(claims.accountUUID(), claims.tokenId(), claims.expiresAtMillis())));
+    }
+
+    @Override
+    public boolean isRevoked(AccessTokenClaims claims) {
+        String tokenId = claims.tokenId();
+        long tokenHash = tokenId == null ? 0 : hash(tokenId);
+        long accountHash = hash(claims.accountUUID());
+        boolean tokenMaybe = tokenId != null && mightContain(tokenHash);
+        if (!tokenMaybe && !mightContain(accountHash)) return false;
+
+        if (tokenMaybe && tokens.containsKey(tokenId)) return true;
+        RevokedAccount account = accounts.get(claims.accountUUID());
+        return account != null && claims.issuedAtMillis() <= account.revokedAtMillis;
+    }
+
+    /**
+     * Revokes one token until it expires. Applying the same revocation twice has no effect.
+     */
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.millis() || tokens.containsKey(tokenId)) return;
+        RevokedToken entry = new RevokedToken(tokenId);
+        // the filter is set before the map, so a reader never misses an entry that is in the map
+        current.put(hash(tokenId));
+        if (tokens.putIfAbsent(tokenId, entry) != null) return;
+        if (!wheel.schedule(entry, expiresAtMillis)) tokens.remove(tokenId, entry);
+    }
+
+    /**
+     * Revokes every token issued to the account up to {@code revokedAtMillis}. An older revocation
+     * never replaces a newer one.
+     */
+    public synchronized void revokeAccount(UUID accountUUID, long revokedAtMillis) {
+        long expiresAtMillis = revokedAtMillis + windowMillis;
+        if (expiresAtMillis <= clock.millis()) return;
+        RevokedAccount existing = accounts.get(accountUUID);
+        if (existing != null && existing.revokedAtMillis >= revokedAtMillis) return;
+
+        RevokedAccount entry = new RevokedAccount(accountUUID, revokedAtMillis);
+        current.put(hash(accountUUID));
+        accounts.put(accountUUID, entry);
+        if (existing != null) wheel.cancel(existing);
+        if (!wheel.schedule(entry, expiresAtMillis)) accounts.remove(accountUUID, entry);
+    }
+
+    public int size() {
+        return tokens.size() + accounts.size();
+    }
+
+    void advance() {
+        long now = clock.millis();
+        wheel.advanceTo(now);
+        if (now >= nextRotationMillis) {
+            previous = current;
+            current = newFilter();
+            nextRotationMillis = now + windowMillis;
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        return current.mightContain(hash) || previous.mightContain(hash);
+    }
+
+    private void expire(RevokedEntry entry) {
+        if (entry instanceof RevokedToken token) {
+            tokens.remove(token.tokenId, token);
+        } else if (entry instanceof RevokedAccount account) {
+            accounts.remove(account.accountUUID, account);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.expectedRevocations(), properties.falsePositiveRate());
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    static long hash(UUID value) {
+        return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits() ^ ACCOUNT_SEED));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ticker != null) return;
+        ticker = Thread.ofPlatform().daemon().name("token-revocation-expiry").start(this::tickLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (ticker == null) return;
+        ticker.interrupt();
+        ticker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    private void tickLoop() {
+        long tickMillis = properties.tick().toMillis();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(tickMillis);
+                advance();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to expire revoked tokens", e);
+            }
+        }
+    }
+
+    private abstract static class RevokedEntry extends HierarchicalTimingWheel.Node {
+    }
+
+    private static final class RevokedToken extends RevokedEntry {
+
+        private final String tokenId;
+
+        private RevokedToken(String tokenId) {
+            this.tokenId = tokenId;
+        }
+    }
+
+    private static final class RevokedAccount extends RevokedEntry {
+
+        private final UUID accountUUID;
+
+        private final long revokedAtMillis;
+
+        private RevokedAccount(UUID accountUUID, long revokedAtMillis) {
+            this.accountUUID = accountUUID;
+            this.revokedAtMillis = revokedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.klabs.accountservice.infrastructure.security.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.rate-limit.login")
+public record LoginThrottleProperties(
+        @DefaultValue Limit account,
+        @DefaultValue Limit address,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("200000") int maxBuckets,
+        @DefaultValue("1m") Duration evictionInterval) {
+
+    /**
+     * Bucket of {@code capacity} attempts that regains {@code refillTokens} every {@code refillPeriod}.
+     */
+    public record Limit(
+            @DefaultValue("10") int capacity,
+            @DefaultValue("5") int refillTokens,
+            @DefaultValue("5m") Duration refillPeriod) {
+    }
+}
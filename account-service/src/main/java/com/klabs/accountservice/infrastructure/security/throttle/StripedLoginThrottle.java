@@ -0,0 +1,70 @@
+package com.klabs.accountservice.infrastructure.security.throttle;
+
+import com.klabs.accountservice.domain.service.LoginThrottle;
+import com.klabs.accountservice.shared.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.InstantSource;
+import java.util.Locale;
+
+/**
+ * Limits password attempts per login and per client address with in-memory token buckets, so a
+ * credential-stuffing burst is turned away before it reaches the password hash. Limits are per
+ * replica.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class StripedLoginThrottle implements LoginThrottle {
+
+    private final TokenBucketTable accounts;
+
+    private final TokenBucketTable addresses;
+
+    private final InstantSource clock;
+
+    private final Counter accountRejections;
+
+    private final Counter addressRejections;
+
+    public StripedLoginThrottle(LoginThrottleProperties properties, InstantSource clock, MeterRegistry meterRegistry) {
+        this.accounts = new TokenBucketTable(properties.account(), properties.stripes(), properties.maxBuckets());
+        this.addresses = new TokenBucketTable(properties.address(), properties.stripes(), properties.maxBuckets());
+        this.clock = clock;
+        this.accountRejections = rejections(meterRegistry, "account");
+        this.addressRejections = rejections(meterRegistry, "address");
+
+        Gauge.builder("login.throttle.buckets", accounts, TokenBucketTable::size).tag("key", "account").register(meterRegistry);
+        Gauge.builder("login.throttle.buckets", addresses, TokenBucketTable::size).tag("key", "address").register(meterRegistry);
+    }
+
+    @Override
+    public void acquire(String login, String clientAddress) {
+        long now = clock.millis();
+        if (clientAddress != null && !addresses.tryAcquire(clientAddress, now)) {
+            addressRejections.increment();
+            throw new LoginThrottledException("Too many login attempts from this address");
+        }
+        if (login != null && !accounts.tryAcquire(login.toLowerCase(Locale.ROOT), now)) {
+            accountRejections.increment();
+            throw new LoginThrottledException("Too many login attempts for this account");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.login.eviction-interval:1m}")
+    public void evictIdle() {
+        long now = clock.millis();
+        int evicted = accounts.evictIdle(now) + addresses.evictIdle(now);
+        if (evicted > 0) log.debug("Evicted {} idle login throttle buckets", evicted);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("login.throttle.rejected").tag("key", key).register(meterRegistry);
+    }
+}
@@ -0,0 +1,136 @@
+package com.klabs.accountservice.infrastructure.security.throttle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets by key, split over lock stripes. A bucket is two primitives and is refilled
+ * lazily when it is next used. Buckets that have refilled completely are indistinguishable from
+ * new ones and are evicted. A stripe that holds its share of {@code maxBuckets} makes room only by
+ * dropping its least recently used bucket if that one is full: dropping a drained bucket would let
+ * anyone who fills the stripe reset another key's limit. Otherwise the new key draws from an
+ * overflow bucket the stripe shares, worth {@value #OVERFLOW_KEYS} keys, so a burst of distinct keys
+ * neither resets anyone's limit nor locks out every key that was not tracked yet.
+ */
+final class TokenBucketTable {
+
+    static final int OVERFLOW_KEYS = 16;
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    private final double capacity;
+
+    private final double tokensPerMilli;
+
+    private final long millisToFull;
+
+    TokenBucketTable(LoginThrottleProperties.Limit limit, int stripeCount, int maxBuckets) {
+        if (limit.capacity() < 1 || limit.refillTokens() < 1 || limit.refillPeriod().toMillis() < 1)
+            throw new IllegalArgumentException("Bucket capacity, refill tokens and refill period must be positive");
+        int count = Integer.highestOneBit(Math.max(1, stripeCount) * 2 - 1);
+        int perStripe = Math.max(1, maxBuckets / count);
+
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        this.capacity = limit.capacity();
+        this.tokensPerMilli = (double) limit.refillTokens() / limit.refillPeriod().toMillis();
+        this.millisToFull = (long) Math.ceil(capacity / tokensPerMilli);
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe(perStripe, capacity * OVERFLOW_KEYS);
+    }
+
+    boolean tryAcquire(String key, long nowMillis) {
+        Stripe stripe = stripeOf(key);
+        stripe.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (!makeRoom(stripe, nowMillis))
+                    return take(stripe.overflow, capacity * OVERFLOW_KEYS, tokensPerMilli * OVERFLOW_KEYS, nowMillis);
+                bucket = new Bucket(capacity, nowMillis);
+                stripe.buckets.put(key, bucket);
+            }
+            return take(bucket, capacity, tokensPerMilli, nowMillis);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+                while (iterator.hasNext()) {
+                    if (nowMillis - iterator.next().refilledAtMillis >= millisToFull) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.buckets.size();
+        return size;
+    }
+
+    private static boolean take(Bucket bucket, double capacity, double tokensPerMilli, long nowMillis) {
+        if (nowMillis > bucket.refilledAtMillis) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (nowMillis - bucket.refilledAtMillis) * tokensPerMilli);
+            bucket.refilledAtMillis = nowMillis;
+        }
+        if (bucket.tokens < 1) return false;
+        bucket.tokens -= 1;
+        return true;
+    }
+
+    private boolean makeRoom(Stripe stripe, long nowMillis) {
+        if (stripe.buckets.size() < stripe.maxBuckets) return true;
+        Iterator<Bucket> eldest = stripe.buckets.values().iterator();
+        Bucket bucket = eldest.next();
+        if (bucket.tokens + (nowMillis - bucket.refilledAtMillis) * tokensPerMilli < capacity) return false;
+        eldest.remove();
+        return true;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe extends ReentrantLock {
+
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final int maxBuckets;
+
+        private final Bucket overflow;
+
+        private Stripe(int maxBuckets, double overflowCapacity) {
+            this.maxBuckets = maxBuckets;
+            this.overflow = new Bucket(overflowCapacity, 0);
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long refilledAtMillis;
+
+        private Bucket(double tokens, long refilledAtMillis) {
+            this.tokens = tokens;
+            this.refilledAtMillis = refilledAtMillis;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import com.klabs.accountservice.domain.model.VerificationResult;
+import com.klabs.accountservice.domain.repository.VerificationCodeRepository;
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+import com.klabs.accountservice.shared.time.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.InstantSource;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps pending verification codes in memory, one per account. Codes are stored as primitive
+ * fields of a single entry that doubles as its own timing wheel node, so a code costs one map
+ * node plus one small object, and expiry is handled by the wheel instead of scanning the map.
+ * A code is kept only as a keyed digest bound to its account, so neither this store nor the
+ * copies written behind it can give the code away; like {@link VerificationCode#isExpired()}, a
+ * code is valid up to and including the millisecond it expires at.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(VerificationCodeStoreProperties.class)
+public class InMemoryVerificationCodeStore implements VerificationCodeRepository, SmartLifecycle {
+
+    private static final VerificationCodeChangeListener NO_LISTENER = new VerificationCodeChangeListener() {
+        @Override
+        public void saved(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+        }
+
+        @Override
+        public void removed(UUID accountUUID) {
+        }
+    };
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private final HierarchicalTimingWheel<Entry> wheel;
+
+    private final InstantSource clock;
+
+    private final int maxAttempts;
+
+    private final long tickMillis;
+
+    private final Counter expired;
+
+    private final Mac digest;
+
+    private volatile VerificationCodeChangeListener listener = NO_LISTENER;
+
+    private volatile Thread ticker;
+
+    public InMemoryVerificationCodeStore(VerificationCodeStoreProperties properties, InstantSource clock,
+                                         MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.maxAttempts = properties.maxAttempts();
+        this.tickMillis = properties.tick().toMillis();
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, clock.millis(), this::expire);
+        this.digest = mac(properties.digestKey());
+
+        Gauge.builder("verification.codes.stored", entries, Map::size).register(meterRegistry);
+        this.expired = meterRegistry.counter("verification.codes.expired");
+    }
+
+    @Override
+    public void save(UUID accountUUID, VerificationCode code) {
+        store(accountUUID, digest(accountUUID, Integer.parseInt(code.getCode())), code.getExpiresAtMillis(), 0);
+    }
+
+    @Override
+    public VerificationResult verify(UUID accountUUID, String code) {
+        Entry entry = entries.get(accountUUID);
+        if (entry == null) return VerificationResult.NOT_FOUND;
+
+        VerificationResult result;
+        synchronized (entry) {
+            if (entry.discarded) return VerificationResult.NOT_FOUND;
+            int presented = parseCode(code);
+            if (entry.expiresAtMillis < clock.millis()) {
+                result = VerificationResult.EXPIRED;
+            } else if (presented >= 0 && entry.codeDigest == digest(accountUUID, presented)) {
+                result = VerificationResult.MATCHED;
+            } else if (++entry.attempts >= maxAttempts) {
+                result = VerificationResult.ATTEMPTS_EXHAUSTED;
+            } else {
+                listener.saved(accountUUID, entry.codeDigest, entry.expiresAtMillis, entry.attempts);
+                return VerificationResult.MISMATCHED;
+            }
+        }
+        discard(entry);
+        return result;
+    }
+
+    @Override
+    public void delete(UUID accountUUID) {
+        Entry entry = entries.get(accountUUID);
+        if (entry != null) discard(entry);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    void restore(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+        store(accountUUID, codeDigest, expiresAtMillis, attempts);
+    }
+
+    void setListener(VerificationCodeChangeListener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    void expireDue() {
+        wheel.advanceTo(clock.millis());
+    }
+
+    private void store(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+        Entry entry = new Entry(accountUUID, codeDigest, expiresAtMillis, attempts);
+        Entry previous = entries.put(accountUUID, entry);
+        if (previous != null) {
+            synchronized (previous) {
+                previous.discarded = true;
+            }
+            wheel.cancel(previous);
+        }
+        // due once its last valid millisecond has passed
+        if (wheel.schedule(entry, expiresAtMillis + 1)) {
+            listener.saved(accountUUID, codeDigest, expiresAtMillis, attempts);
+        } else {
+            discard(entry);
+        }
+    }
+
+    private void expire(Entry entry) {
+        synchronized (entry) {
+            if (entry.discarded) return;
+            entry.discarded = true;
+        }
+        if (entries.remove(entry.accountUUID, entry)) {
+            expired.increment();
+            listener.removed(entry.accountUUID);
+        }
+    }
+
+    private void discard(Entry entry) {
+        synchronized (entry) {
+            entry.discarded = true;
+        }
+        wheel.cancel(entry);
+        if (entries.remove(entry.accountUUID, entry)) listener.removed(entry.accountUUID);
+    }
+
+    /**
+     * First eight bytes of the HMAC of the account and the code: a six digit code is too easy to
+     * guess for an unkeyed hash, and 64 bits keep the entry free of arrays.
+     */
+    long digest(UUID accountUUID, int code) {
+        try {
+            Mac mac = (Mac) digest.clone();
+            byte[] input = ByteBuffer.allocate(20)
+                    .putLong(accountUUID.getMostSignificantBits())
+                    .putLong(accountUUID.getLeastSignificantBits())
+                    .putInt(code)
+                    .array();
+            return ByteBuffer.wrap(mac.doFinal(input)).getLong();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Mac mac(String digestKey) {
+        byte[] key;
+        if (digestKey == null || digestKey.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(digestKey);
+        }
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(new SecretKeySpec(key, DIGEST_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize the verification code digest", e);
+        }
+    }
+
+    static int parseCode(String code) {
+        if (code == null || code.length() != VerificationCode.LENGTH) return -1;
+        int value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            int digit = code.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ticker != null) return;
+        ticker = Thread.ofPlatform().daemon().name("verification-code-expiry").start(this::tickLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (ticker == null) return;
+        ticker.interrupt();
+        ticker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    private void tickLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(tickMillis);
+                expireDue();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to expire verification codes", e);
+            }
+        }
+    }
+
+    private static final class Entry extends HierarchicalTimingWheel.Node {
+
+        private final UUID accountUUID;
+
+        private final long codeDigest;
+
+        private final long expiresAtMillis;
+
+        private int attempts;
+
+        private boolean discarded;
+
+        private Entry(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+            this.accountUUID = accountUUID;
+            this.codeDigest = codeDigest;
+            this.expiresAtMillis = expiresAtMillis;
+            this.attempts = attempts;
+        }
+    }
+}
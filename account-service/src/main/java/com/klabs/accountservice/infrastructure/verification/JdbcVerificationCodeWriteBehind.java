@@ -0,0 +1,140 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mirrors the in-memory verification codes to PostgreSQL so they survive a restart. Changes are
+ * coalesced per account and written in batches off the request path; on start the codes that
+ * have not expired yet are loaded back into the store. Only the digests of the codes are written,
+ * and since they are keyed, {@code app.verification.store.digest-key} must be shared by restarts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.verification.store.write-behind", name = "enabled", havingValue = "true")
+public class JdbcVerificationCodeWriteBehind implements VerificationCodeChangeListener, SmartLifecycle {
+
+    private static final PendingCode REMOVED = new PendingCode(0, 0, 0);
+
+    private final InMemoryVerificationCodeStore store;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final InstantSource clock;
+
+    private final int batchSize;
+
+    private final Map<UUID, PendingCode> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public JdbcVerificationCodeWriteBehind(InMemoryVerificationCodeStore store, JdbcTemplate jdbcTemplate,
+                                           InstantSource clock, VerificationCodeStoreProperties properties) {
+        this.store = store;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.batchSize = properties.writeBehind().batchSize();
+        if (properties.digestKey() == null || properties.digestKey().isBlank())
+            throw new IllegalStateException("app.verification.store.digest-key is required with write-behind, "
+                    + "codes written under a key generated per process cannot be verified after a restart");
+    }
+
+    @Override
+    public void saved(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+        pending.put(accountUUID, new PendingCode(codeDigest, expiresAtMillis, attempts));
+    }
+
+    @Override
+    public void removed(UUID accountUUID) {
+        pending.put(accountUUID, REMOVED);
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification.store.write-behind.flush-interval:1s}")
+    public void flush() {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Map<UUID, PendingCode> drained = new HashMap<>();
+
+        Iterator<Map.Entry<UUID, PendingCode>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PendingCode> change = iterator.next();
+            UUID accountUUID = change.getKey();
+            PendingCode code = change.getValue();
+            if (!pending.remove(accountUUID, code)) continue;
+            drained.put(accountUUID, code);
+            if (code == REMOVED) {
+                deletes.add(new Object[]{accountUUID});
+            } else {
+                upserts.add(new Object[]{accountUUID, code.codeDigest(),
+                        Timestamp.from(Instant.ofEpochMilli(code.expiresAtMillis())), code.attempts()});
+            }
+        }
+        if (drained.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO verification_code (account_uuid, code_digest, expires_at, attempts) VALUES (?, ?, ?, ?)
+                    ON CONFLICT (account_uuid) DO UPDATE
+                    SET code_digest = EXCLUDED.code_digest, expires_at = EXCLUDED.expires_at, attempts = EXCLUDED.attempts""",
+                    upserts, batchSize, (ps, row) -> {
+                        ps.setObject(1, row[0]);
+                        ps.setLong(2, (Long) row[1]);
+                        ps.setTimestamp(3, (Timestamp) row[2]);
+                        ps.setInt(4, (Integer) row[3]);
+                    });
+            jdbcTemplate.batchUpdate("DELETE FROM verification_code WHERE account_uuid = ?",
+                    deletes, batchSize, (ps, row) -> ps.setObject(1, row[0]));
+        } catch (RuntimeException e) {
+            // newer changes made while flushing win over the ones that failed to write
+            drained.forEach(pending::putIfAbsent);
+            log.warn("Failed to write {} verification code changes, will retry", drained.size(), e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.update("DELETE FROM verification_code WHERE expires_at < ?", now);
+        jdbcTemplate.query("SELECT account_uuid, code_digest, expires_at, attempts FROM verification_code WHERE expires_at >= ?",
+                rs -> {
+                    store.restore(rs.getObject(1, UUID.class), rs.getLong(2),
+                            rs.getTimestamp(3).getTime(), rs.getInt(4));
+                }, now);
+        pending.clear();
+        store.setListener(this);
+        running = true;
+        log.info("Restored {} verification codes", store.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        store.setListener(null);
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingCode(long codeDigest, long expiresAtMillis, int attempts) {
+    }
+}
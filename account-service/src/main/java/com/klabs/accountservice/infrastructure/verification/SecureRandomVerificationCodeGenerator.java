@@ -0,0 +1,134 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import com.klabs.accountservice.domain.service.VerificationCodeGenerator;
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+import com.klabs.accountservice.shared.time.DomainClock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates verification codes from a few independent {@link SecureRandom}s. Each stripe reads
+ * random bytes in bulk into its own buffer and turns every three bytes into a code; values that
+ * would make {@code % 1_000_000} biased are rejected. Threads pick a stripe by id and move on to
+ * the next one when it is busy, so contention stays low without a buffer per virtual thread.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(VerificationCodeGeneratorProperties.class)
+public class SecureRandomVerificationCodeGenerator implements VerificationCodeGenerator {
+
+    private static final int BYTES_PER_DRAW = 3;
+
+    // largest multiple of 1_000_000 that fits into 24 bits
+    private static final int ACCEPT_BELOW = (1 << 24) / VerificationCode.BOUND * VerificationCode.BOUND;
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    private final Duration validity;
+
+    public SecureRandomVerificationCodeGenerator(VerificationCodeGeneratorProperties properties) {
+        int count = properties.stripes() > 0 ? properties.stripes() : Runtime.getRuntime().availableProcessors() * 2;
+        count = Integer.highestOneBit(count - 1) << 1;
+        int bufferSize = Math.max(BYTES_PER_DRAW, properties.bufferSize() / BYTES_PER_DRAW * BYTES_PER_DRAW);
+
+        this.stripes = new Stripe[Math.max(count, 1)];
+        this.mask = stripes.length - 1;
+        this.validity = properties.validity();
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new Stripe(newRandom(properties.algorithm()), bufferSize);
+    }
+
+    @Override
+    public VerificationCode generate() {
+        LocalDateTime expiresAt = DomainClock.now().plus(validity);
+        Stripe stripe = acquire();
+        try {
+            return VerificationCode.of(stripe.next(), expiresAt);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<VerificationCode> generate(int count) {
+        if (count < 0) throw new IllegalArgumentException("Count must not be negative");
+        LocalDateTime expiresAt = DomainClock.now().plus(validity);
+        int[] numbers = new int[count];
+        Stripe stripe = acquire();
+        try {
+            for (int i = 0; i < count; i++) numbers[i] = stripe.next();
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        List<VerificationCode> codes = new ArrayList<>(count);
+        for (int number : numbers) codes.add(VerificationCode.of(number, expiresAt));
+        return codes;
+    }
+
+    private Stripe acquire() {
+        int home = (int) mix(Thread.currentThread().threadId()) & mask;
+        for (int i = 0; i <= mask; i++) {
+            Stripe stripe = stripes[(home + i) & mask];
+            if (stripe.lock.tryLock()) return stripe;
+        }
+        Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        return value ^ (value >>> 33);
+    }
+
+    private static SecureRandom newRandom(String algorithm) {
+        try {
+            return SecureRandom.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("SecureRandom algorithm {} is not available, using the platform default", algorithm);
+            return new SecureRandom();
+        }
+    }
+
+    private static final class Stripe {
+
+        // a ReentrantLock rather than synchronized so a waiting virtual thread never pins its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final SecureRandom random;
+
+        private final byte[] buffer;
+
+        private int position;
+
+        private Stripe(SecureRandom random, int bufferSize) {
+            this.random = random;
+            this.buffer = new byte[bufferSize];
+            this.position = bufferSize;
+        }
+
+        private int next() {
+            while (true) {
+                if (position == buffer.length) {
+                    random.nextBytes(buffer);
+                    position = 0;
+                }
+                int value = (buffer[position] & 0xff) << 16 | (buffer[position + 1] & 0xff) << 8 | buffer[position + 2] & 0xff;
+                position += BYTES_PER_DRAW;
+                if (value < ACCEPT_BELOW) return value % VerificationCode.BOUND;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import java.util.UUID;
+
+interface VerificationCodeChangeListener {
+
+    void saved(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts);
+
+    void removed(UUID accountUUID);
+
+}
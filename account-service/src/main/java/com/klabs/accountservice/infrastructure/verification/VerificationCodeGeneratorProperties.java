@@ -0,0 +1,14 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.verification.generator")
+public record VerificationCodeGeneratorProperties(
+        @DefaultValue("10m") Duration validity,
+        @DefaultValue("DRBG") String algorithm,
+        @DefaultValue("0") int stripes,
+        @DefaultValue("1536") int bufferSize) {
+}
@@ -0,0 +1,20 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.verification.store")
+public record VerificationCodeStoreProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue WriteBehind writeBehind,
+        String digestKey) {
+
+    public record WriteBehind(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1s") Duration flushInterval,
+            @DefaultValue("500") int batchSize) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Adds an ETag to account reads and answers a matching {@code If-None-Match} with 304. Clients
+ * must revalidate every time, while the gateway cache, which drops an account's responses when
+ * its events arrive, may serve them for {@code surrogateMaxAge} without asking.
+ */
+public class AccountReadCacheHeadersFilter extends ShallowEtagHeaderFilter {
+
+    static final String SURROGATE_CONTROL = "Surrogate-Control";
+
+    private final String surrogateControl;
+
+    public AccountReadCacheHeadersFilter(Duration surrogateMaxAge) {
+        this.surrogateControl = "max-age=" + surrogateMaxAge.toSeconds();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if ("GET".equals(request.getMethod())) {
+            // Spring Security adds its no-store default only to responses without cache headers
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            response.setHeader(SURROGATE_CONTROL, surrogateControl);
+        }
+        super.doFilterInternal(request, response, chain);
+    }
+}
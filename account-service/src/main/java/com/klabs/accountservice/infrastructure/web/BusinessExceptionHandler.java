@@ -0,0 +1,39 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import com.klabs.accountservice.shared.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps business exceptions to {@code application/problem+json} responses with the prerendered
+ * bodies of {@link Problem}. A subclass without its own problem gets the one of its nearest
+ * ancestor; the lookup is resolved once per exception class.
+ */
+@Slf4j
+@RestControllerAdvice
+public class BusinessExceptionHandler {
+
+    private static final ClassValue<Problem> PROBLEMS = new ClassValue<>() {
+        @Override
+        protected Problem computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Problem problem : Problem.values()) {
+                    if (problem.exceptionType() == current) return problem;
+                }
+            }
+            return Problem.BUSINESS_RULE_VIOLATED;
+        }
+    };
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<byte[]> handle(BusinessException exception) {
+        Problem problem = PROBLEMS.get(exception.getClass());
+        if (log.isDebugEnabled()) log.debug("{}: {}", problem.type(), exception.getMessage(), exception);
+        return ResponseEntity.status(problem.status())
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problem.body());
+    }
+}
@@ -0,0 +1,67 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import com.klabs.accountservice.shared.exception.*;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 7807 problem for each business exception. Bodies are rendered once, the messages of the
+ * exceptions are not exposed, so an expected failure costs no serialization.
+ */
+enum Problem {
+
+    ACCOUNT_ALREADY_DELETED(AccountAlreadyDeletedException.class, HttpStatus.GONE, "account-deleted", "Account has been deleted"),
+    ACCOUNT_NOT_FOUND(AccountNotFoundException.class, HttpStatus.NOT_FOUND, "account-not-found", "Account not found"),
+    ACCOUNT_SUSPENDED(AccountSuspendedException.class, HttpStatus.FORBIDDEN, "account-suspended", "Account is suspended"),
+    EMAIL_ALREADY_EXISTS(EmailAlreadyExistsException.class, HttpStatus.CONFLICT, "email-exists", "Email is already in use"),
+    EMAIL_NOT_VERIFIED(EmailNotVerifiedException.class, HttpStatus.FORBIDDEN, "email-not-verified", "Email is not verified"),
+    INVALID_CREDENTIALS(InvalidCredentialsException.class, HttpStatus.UNAUTHORIZED, "invalid-credentials", "Invalid credentials"),
+    INVALID_OAUTH_PROVIDER(InvalidOAuthProviderException.class, HttpStatus.BAD_REQUEST, "invalid-oauth-provider", "Invalid OAuth provider"),
+    INVALID_TOKEN(InvalidTokenException.class, HttpStatus.UNAUTHORIZED, "invalid-token", "Invalid token"),
+    INVALID_VERIFICATION_CODE(InvalidVerificationCodeException.class, HttpStatus.BAD_REQUEST, "invalid-verification-code", "Invalid verification code"),
+    LOGIN_THROTTLED(LoginThrottledException.class, HttpStatus.TOO_MANY_REQUESTS, "login-throttled", "Too many login attempts"),
+    LOGIN_ALREADY_EXISTS(LoginAlreadyExistsException.class, HttpStatus.CONFLICT, "login-exists", "Login is already in use"),
+    OAUTH_PROVIDER_ALREADY_BOUND(OAuthProviderAlreadyBoundException.class, HttpStatus.CONFLICT, "oauth-provider-bound", "OAuth provider is already bound"),
+    PASSWORD_NOT_SET(PasswordNotSetException.class, HttpStatus.BAD_REQUEST, "password-not-set", "Password is not set"),
+    TOKEN_EXPIRED(TokenExpiredException.class, HttpStatus.UNAUTHORIZED, "token-expired", "Token has expired"),
+    VERIFICATION_CODE_EXPIRED(VerificationCodeExpiredException.class, HttpStatus.BAD_REQUEST, "verification-code-expired", "Verification code has expired"),
+    BUSINESS_RULE_VIOLATED(BusinessException.class, HttpStatus.BAD_REQUEST, "business-rule-violated", "Request violates a business rule");
+
+    private static final String TYPE_PREFIX = "/problems/";
+
+    private final Class<? extends BusinessException> exceptionType;
+
+    private final HttpStatus status;
+
+    private final String type;
+
+    private final byte[] body;
+
+    Problem(Class<? extends BusinessException> exceptionType, HttpStatus status, String type, String title) {
+        this.exceptionType = exceptionType;
+        this.status = status;
+        this.type = TYPE_PREFIX + type;
+        this.body = String.format("{\"type\":\"%s\",\"title\":\"%s\",\"status\":%d}", this.type, title, status.value())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    Class<? extends BusinessException> exceptionType() {
+        return exceptionType;
+    }
+
+    HttpStatus status() {
+        return status;
+    }
+
+    String type() {
+        return type;
+    }
+
+    /**
+     * Shared, do not modify.
+     */
+    byte[] body() {
+        return body;
+    }
+}
@@ -0,0 +1,21 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<AccountReadCacheHeadersFilter> accountReadCacheHeadersFilter(
+            @Value("${app.web.account-reads.surrogate-max-age:30s}") Duration surrogateMaxAge) {
+        FilterRegistrationBean<AccountReadCacheHeadersFilter> registration =
+                new FilterRegistrationBean<>(new AccountReadCacheHeadersFilter(surrogateMaxAge));
+        registration.addUrlPatterns("/api/v1/account/*");
+        return registration;
+    }
+}
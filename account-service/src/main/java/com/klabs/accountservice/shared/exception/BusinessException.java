@@ -1,9 +1,18 @@
 package com.klabs.accountservice.shared.exception;
 
+/**
+ * Expected failure of a business rule. Instances created without a cause carry no stack trace,
+ * since they are thrown on hot paths such as failed logins and mapped straight to a response;
+ * start the JVM with {@code -Dapp.exceptions.stack-traces=true} to record them while debugging.
+ */
 public class BusinessException extends RuntimeException {
 
+    public static final String STACK_TRACES_PROPERTY = "app.exceptions.stack-traces";
+
+    static final boolean STACK_TRACES = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
     public BusinessException(String message) {
-        super(message);
+        super(message, null, STACK_TRACES, STACK_TRACES);
     }
 
     public BusinessException(String message, Throwable cause) {
@@ -20,6 +29,6 @@ public class BusinessException extends RuntimeException {
 
 
     public BusinessException() {
-        super();
+        this((String) null);
     }
 }
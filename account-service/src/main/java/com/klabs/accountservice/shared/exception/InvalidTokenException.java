@@ -0,0 +1,7 @@
+package com.klabs.accountservice.shared.exception;
+
+public class InvalidTokenException extends BusinessException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.klabs.accountservice.shared.exception;
+
+public class LoginThrottledException extends BusinessException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
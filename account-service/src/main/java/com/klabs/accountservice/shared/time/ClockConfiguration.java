@@ -0,0 +1,21 @@
+package com.klabs.accountservice.shared.time;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.InstantSource;
+import java.time.ZoneId;
+
+@Configuration
+@EnableConfigurationProperties(ClockProperties.class)
+public class ClockConfiguration {
+
+    @Bean
+    public InstantSource instantSource(ClockProperties properties) {
+        ZoneId zone = ZoneId.systemDefault();
+        InstantSource clock = properties.coarse() ? new CoarseClock(InstantSource.system(), zone) : InstantSource.system();
+        DomainClock.use(clock, zone);
+        return clock;
+    }
+}
@@ -0,0 +1,9 @@
+package com.klabs.accountservice.shared.time;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.clock")
+public record ClockProperties(
+        @DefaultValue("true") boolean coarse) {
+}
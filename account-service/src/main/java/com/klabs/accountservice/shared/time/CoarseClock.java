@@ -0,0 +1,76 @@
+package com.klabs.accountservice.shared.time;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clock that reads a cached time instead of asking the operating system. A single daemon thread
+ * refreshes the epoch millis and the matching {@link LocalDateTime} about once per millisecond,
+ * so readers pay for one volatile read and never allocate or look up the time zone.
+ */
+public final class CoarseClock implements InstantSource, AutoCloseable {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final InstantSource source;
+
+    private final ZoneId zone;
+
+    private final Thread ticker;
+
+    private volatile long millis;
+
+    private volatile LocalDateTime localDateTime;
+
+    private volatile boolean running = true;
+
+    public CoarseClock(InstantSource source, ZoneId zone) {
+        this.source = source;
+        this.zone = zone;
+        update();
+        this.ticker = Thread.ofPlatform().daemon().name("coarse-clock").start(this::tickLoop);
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    public LocalDateTime localDateTime() {
+        return localDateTime;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(ticker);
+        DomainClock.release(this);
+    }
+
+    private void tickLoop() {
+        while (running) {
+            LockSupport.parkNanos(TICK_NANOS);
+            update();
+        }
+    }
+
+    private void update() {
+        Instant now = source.instant();
+        // publish the LocalDateTime first so a reader never sees millis ahead of it
+        localDateTime = LocalDateTime.ofInstant(now, zone);
+        millis = now.toEpochMilli();
+    }
+}
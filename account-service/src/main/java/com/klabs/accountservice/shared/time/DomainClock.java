@@ -0,0 +1,51 @@
+package com.klabs.accountservice.shared.time;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Time source for domain objects, which are created with {@code new} and cannot have a clock
+ * injected. The application installs its clock on start; tests install a fake and reset it.
+ */
+public final class DomainClock {
+
+    private static volatile InstantSource clock = InstantSource.system();
+
+    private static volatile ZoneId zone = ZoneId.systemDefault();
+
+    private DomainClock() {
+    }
+
+    public static long millis() {
+        return clock.millis();
+    }
+
+    public static LocalDateTime now() {
+        InstantSource current = clock;
+        if (current instanceof CoarseClock coarse) return coarse.localDateTime();
+        return LocalDateTime.ofInstant(current.instant(), zone);
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    public static void use(InstantSource clock, ZoneId zone) {
+        DomainClock.zone = zone;
+        DomainClock.clock = clock;
+    }
+
+    static void release(InstantSource stopped) {
+        if (clock == stopped) reset();
+    }
+
+    public static void reset() {
+        use(InstantSource.system(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,155 @@
+package com.klabs.accountservice.shared.time;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed hierarchical timing wheel (Varghese and Lauck). Timers are intrusive {@link Node}s kept in
+ * doubly linked bucket lists, so scheduling and cancelling are O(1) and never allocate. Each level
+ * has 64 slots covering 64 times the span of the level below; when a lower level wraps, the due
+ * slot of the level above is cascaded down. Expired nodes are handed to the callback outside the
+ * wheel's lock.
+ */
+public final class HierarchicalTimingWheel<T extends HierarchicalTimingWheel.Node> {
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+
+    private final Node[] buckets = new Node[LEVELS * SLOTS];
+
+    private final Consumer<T> onExpire;
+
+    private long currentTick;
+
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis, Consumer<T> onExpire) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("Tick must be positive");
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.onExpire = onExpire;
+        for (int i = 0; i < buckets.length; i++) {
+            Node sentinel = new Node();
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            buckets[i] = sentinel;
+        }
+    }
+
+    /**
+     * Schedules the node to expire at the given time, rescheduling it if it is already scheduled.
+     * Returns {@code false} without scheduling when that time has already passed.
+     */
+    public synchronized boolean schedule(T timer, long expiresAtMillis) {
+        Node node = timer;
+        if (node.isScheduled()) {
+            unlink(node);
+            size--;
+        }
+        long expiryTick = Math.floorDiv(expiresAtMillis + tickMillis - 1, tickMillis);
+        if (expiryTick <= currentTick) return false;
+        node.expiryTick = expiryTick;
+        insert(node);
+        size++;
+        return true;
+    }
+
+    public synchronized boolean cancel(T timer) {
+        Node node = timer;
+        if (!node.isScheduled()) return false;
+        unlink(node);
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel to the given time and expires every node that became due.
+     */
+    @SuppressWarnings("unchecked")
+    public void advanceTo(long nowMillis) {
+        Node expired = null;
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Node bucket = buckets[(int) (currentTick & SLOT_MASK)];
+                for (Node node = bucket.next; node != bucket; ) {
+                    Node next = node.next;
+                    unlink(node);
+                    size--;
+                    node.next = expired;
+                    expired = node;
+                    node = next;
+                }
+            }
+        }
+        while (expired != null) {
+            Node next = expired.next;
+            expired.next = null;
+            onExpire.accept((T) expired);
+            expired = next;
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) return;
+            Node bucket = buckets[level * SLOTS + (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            Node node = bucket.next;
+            bucket.next = bucket;
+            bucket.previous = bucket;
+            while (node != bucket) {
+                Node next = node.next;
+                node.previous = null;
+                node.next = null;
+                insert(node);
+                node = next;
+            }
+        }
+    }
+
+    private void insert(Node node) {
+        long delta = node.expiryTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+        Node bucket = buckets[level * SLOTS + (int) ((node.expiryTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        node.next = bucket;
+        node.previous = bucket.previous;
+        bucket.previous.next = node;
+        bucket.previous = node;
+    }
+
+    private static void unlink(Node node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * Base class of everything scheduled on a wheel; a node can be scheduled on one wheel at a time.
+     */
+    public static class Node {
+
+        private Node previous;
+
+        private Node next;
+
+        private long expiryTick;
+
+        public final boolean isScheduled() {
+            return previous != null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS processed_event (
+    consumer_group VARCHAR(255) NOT NULL,
+    event_id       UUID         NOT NULL,
+    processed_at   TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (consumer_group, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_event_processed_at ON processed_event (processed_at);
+
+CREATE TABLE IF NOT EXISTS verification_code (
+    account_uuid UUID        PRIMARY KEY,
+    code_digest  BIGINT      NOT NULL,
+    expires_at   TIMESTAMPTZ NOT NULL,
+    attempts     INTEGER     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_verification_code_expires_at ON verification_code (expires_at);
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    token_hash   BYTEA       PRIMARY KEY,
+    family_id    UUID        NOT NULL,
+    account_uuid UUID        NOT NULL,
+    expires_at   TIMESTAMPTZ NOT NULL,
+    used_at      TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_id ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_account_uuid ON refresh_token (account_uuid);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token (expires_at);
@@ -0,0 +1,98 @@
+package com.klabs.accountservice.application.event;
+
+import com.klabs.accountservice.domain.event.DomainEvent;
+import com.klabs.accountservice.domain.event.DomainEventPublisher;
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.valueobject.Email;
+import com.klabs.accountservice.domain.valueobject.Login;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Domain Event Dispatcher Tests")
+class DomainEventDispatcherTest {
+
+    private DomainEventPublisher publisher;
+    private DomainEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(DomainEventPublisher.class);
+        dispatcher = new DomainEventDispatcher(publisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(dispatcher);
+    }
+
+    @Test
+    @DisplayName("Should publish immediately when no transaction is active")
+    void shouldPublishImmediatelyWithoutTransaction() {
+        // Arrange
+        Account account = Account.createNew(new Login("testUser"), new Email("test@example.com"), null);
+
+        // Act
+        dispatcher.dispatch(account);
+
+        // Assert
+        verify(publisher, times(1)).publishAll(anyList());
+        assertFalse(account.hasPendingEvents());
+    }
+
+    @Test
+    @DisplayName("Should publish all events of a transaction as one batch after commit")
+    @SuppressWarnings("unchecked")
+    void shouldPublishOneBatchAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        Account first = Account.createNew(new Login("firstUser"), new Email("first@example.com"), null);
+        Account second = Account.createNew(new Login("secondUser"), new Email("second@example.com"), null);
+
+        // Act
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+        verifyNoInteractions(publisher);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        ArgumentCaptor<List<DomainEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(publisher, times(1)).publishAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Should discard events of a rolled back transaction")
+    void shouldDiscardEventsOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        Account account = Account.createNew(new Login("testUser"), new Email("test@example.com"), null);
+
+        // Act
+        dispatcher.dispatch(account);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        verifyNoInteractions(publisher);
+        assertNull(TransactionSynchronizationManager.getResource(dispatcher));
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED)
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
@@ -1,5 +1,6 @@
 package com.klabs.accountservice.domain.model;
 
+import com.klabs.accountservice.domain.event.*;
 import com.klabs.accountservice.domain.service.PasswordHashingService;
 import com.klabs.accountservice.domain.valueobject.Email;
 import com.klabs.accountservice.domain.valueobject.Login;
@@ -13,6 +14,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -629,4 +631,169 @@ class AccountTest {
                 () -> new Account(uuid, testLogin, testEmail, testPassword,
                         AccountStatus.ACTIVE, null, true));
     }
+
+    // Domain event tests
+
+    @Test
+    @DisplayName("Should record AccountRegisteredEvent when creating new account")
+    void shouldRecordAccountRegisteredEventWhenCreatingNewAccount() {
+        // Act
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(1, events.size());
+        assertInstanceOf(AccountRegisteredEvent.class, events.get(0));
+        assertEquals(account.getUuid(), events.get(0).getAggregateID());
+    }
+
+    @Test
+    @DisplayName("Should clear pending events after pulling them")
+    void shouldClearPendingEventsAfterPulling() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+
+        // Act
+        account.pullDomainEvents();
+
+        // Assert
+        assertFalse(account.hasPendingEvents());
+        assertTrue(account.pullDomainEvents().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not record events when reconstituting account through constructor")
+    void shouldNotRecordEventsWhenReconstitutingAccount() {
+        // Act
+        Account account = new Account(UUID.randomUUID(), testLogin, testEmail, testPassword,
+                AccountStatus.ACTIVE, LocalDateTime.now(), true);
+
+        // Assert
+        assertFalse(account.hasPendingEvents());
+    }
+
+    @Test
+    @DisplayName("Should record events for OAuth registration in order")
+    void shouldRecordEventsForOAuthRegistrationInOrder() {
+        // Act
+        Account account = Account.createNewOAuth(testLogin, testEmail, OAuthProvider.create("GOOGLE", "googleUserId123"));
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(3, events.size());
+        assertInstanceOf(AccountRegisteredEvent.class, events.get(0));
+        AccountStatusChangedEvent statusChanged = assertInstanceOf(AccountStatusChangedEvent.class, events.get(1));
+        assertEquals(AccountStatus.PENDING_VERIFICATION, statusChanged.getOldStatus());
+        assertEquals(AccountStatus.ACTIVE, statusChanged.getNewStatus());
+        assertInstanceOf(OAuthBoundEvent.class, events.get(2));
+    }
+
+    @Test
+    @DisplayName("Should coalesce consecutive email updates into one event")
+    void shouldCoalesceConsecutiveEmailUpdates() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.pullDomainEvents();
+
+        // Act
+        account.updateEmail(new Email("second@example.com"));
+        account.updateEmail(new Email("third@example.com"));
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(1, events.size());
+        EmailUpdatedEvent event = assertInstanceOf(EmailUpdatedEvent.class, events.get(0));
+        assertEquals("test@example.com", event.getOldEmail());
+        assertEquals("third@example.com", event.getNewEmail());
+    }
+
+    @Test
+    @DisplayName("Should drop coalesced login update that returns to the original value")
+    void shouldDropCoalescedLoginUpdateReturningToOriginalValue() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.pullDomainEvents();
+
+        // Act
+        account.updateLogin(new Login("otherUser"));
+        account.updateLogin(testLogin);
+
+        // Assert
+        assertFalse(account.hasPendingEvents());
+    }
+
+    @Test
+    @DisplayName("Should keep an email update that returns to the original value, since it reset verification")
+    void shouldKeepEmailUpdateReturningToOriginalValue() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.verifyEmail();
+        account.pullDomainEvents();
+
+        // Act
+        account.updateEmail(new Email("second@example.com"));
+        account.updateEmail(testEmail);
+
+        // Assert
+        assertFalse(account.isEmailVerified());
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(1, events.size());
+        EmailUpdatedEvent event = assertInstanceOf(EmailUpdatedEvent.class, events.get(0));
+        assertEquals("test@example.com", event.getOldEmail());
+        assertEquals("test@example.com", event.getNewEmail());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce updates separated by a different event")
+    void shouldNotCoalesceUpdatesSeparatedByDifferentEvent() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.pullDomainEvents();
+
+        // Act
+        account.updateLogin(new Login("secondUser"));
+        account.updateEmail(new Email("second@example.com"));
+        account.updateLogin(new Login("thirdUser"));
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(3, events.size());
+        assertInstanceOf(LoginUpdatedEvent.class, events.get(0));
+        assertInstanceOf(EmailUpdatedEvent.class, events.get(1));
+        assertInstanceOf(LoginUpdatedEvent.class, events.get(2));
+    }
+
+    @Test
+    @DisplayName("Should record status change and deletion when marking as deleted")
+    void shouldRecordStatusChangeAndDeletionWhenMarkingAsDeleted() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.pullDomainEvents();
+
+        // Act
+        account.markAsDeleted();
+        account.markAsDeleted();
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(2, events.size());
+        assertEquals(AccountStatus.DELETED, assertInstanceOf(AccountStatusChangedEvent.class, events.get(0)).getNewStatus());
+        assertInstanceOf(AccountDeletedEvent.class, events.get(1));
+    }
+
+    @Test
+    @DisplayName("Should record PasswordUpdatedEvent when password changes")
+    void shouldRecordPasswordUpdatedEventWhenPasswordChanges() {
+        // Arrange
+        Account account = Account.createNew(testLogin, testEmail, testPassword);
+        account.pullDomainEvents();
+
+        // Act
+        account.changePassword("oldPassword", Password.fromHash("$2a$10$newHash"), mockHashingService);
+
+        // Assert
+        List<DomainEvent> events = account.pullDomainEvents();
+        assertEquals(1, events.size());
+        assertFalse(assertInstanceOf(PasswordUpdatedEvent.class, events.get(0)).isWasSet());
+    }
 }
@@ -1,12 +1,18 @@
 package com.klabs.accountservice.domain.valueobject;
 
+import com.klabs.accountservice.shared.time.DomainClock;
+import com.klabs.accountservice.shared.time.FakeClock;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -225,4 +231,45 @@ class TokenTest {
         assertNotSame(token1, token2);
         assertNotEquals(token1.getValue(), token2.getValue());
     }
-}
\ No newline at end of file
+
+    @AfterEach
+    void resetClock() {
+        DomainClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should expire token exactly after its expiration time on the domain clock")
+    void shouldExpireTokenOnDomainClock() {
+        // Arrange
+        FakeClock clock = new FakeClock(0);
+        DomainClock.use(clock, ZoneOffset.UTC);
+        Token token = new Token("clockToken", LocalDateTime.of(1970, 1, 1, 1, 0));
+
+        // Act
+        clock.set(Instant.ofEpochSecond(3_600));
+        boolean expiredAtDeadline = token.isExpired();
+        clock.advance(Duration.ofMillis(1));
+
+        // Assert
+        assertFalse(expiredAtDeadline);
+        assertTrue(token.isExpired());
+        assertEquals(3_600_000L, token.getExpiresAtMillis());
+    }
+
+    @Test
+    @DisplayName("Should generate distinct url-safe random tokens")
+    void shouldGenerateDistinctRandomTokens() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(30);
+
+        // Act
+        Token first = Token.generate(expiresAt);
+        Token second = Token.generate(expiresAt);
+
+        // Assert
+        assertNotEquals(first.getValue(), second.getValue());
+        assertEquals(43, first.getValue().length());
+        assertTrue(first.getValue().matches("[A-Za-z0-9_-]+"));
+        assertEquals(expiresAt, first.getExpiresAt());
+    }
+}
@@ -1,11 +1,16 @@
 package com.klabs.accountservice.domain.valueobject;
 
+import com.klabs.accountservice.shared.time.DomainClock;
+import com.klabs.accountservice.shared.time.FakeClock;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +72,31 @@ class VerificationCodeTest {
         assertFalse(code.isExpired());
     }
 
+    // of() tests
+
+    @Test
+    @DisplayName("Should pad numeric code with leading zeros")
+    void shouldPadNumericCodeWithLeadingZeros() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10);
+
+        // Act
+        VerificationCode code = VerificationCode.of(42, expiresAt);
+
+        // Assert
+        assertEquals("000042", code.getCode());
+        assertEquals(expiresAt, code.getExpiresAt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 1_000_000})
+    @DisplayName("Should reject numeric code outside of six digits")
+    void shouldRejectNumericCodeOutsideOfSixDigits(int number) {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> VerificationCode.of(number, LocalDateTime.now().plusMinutes(10)));
+    }
+
     // codeOf() tests - Note: There's a bug in the actual implementation (//d instead of \\d)
 
     @Test
@@ -295,4 +325,28 @@ class VerificationCodeTest {
         // Assert
         assertTrue(codeValue >= 0 && codeValue <= 999999);
     }
-}
\ No newline at end of file
+
+    @AfterEach
+    void resetClock() {
+        DomainClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should expire generated code once ten minutes have passed on the domain clock")
+    void shouldExpireGeneratedCodeOnDomainClock() {
+        // Arrange
+        FakeClock clock = new FakeClock(0);
+        DomainClock.use(clock, ZoneOffset.UTC);
+        VerificationCode code = VerificationCode.generate();
+
+        // Act
+        clock.advance(Duration.ofMinutes(10));
+        boolean expiredAtDeadline = code.isExpired();
+        clock.advance(Duration.ofMillis(1));
+
+        // Assert
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 10), code.getExpiresAt());
+        assertFalse(expiredAtDeadline);
+        assertTrue(code.isExpired());
+    }
+}
@@ -0,0 +1,136 @@
+package com.klabs.accountservice.infrastructure.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mail Outbox Tests")
+class MailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MailOutbox outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) outbox.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver queued messages in the background")
+    void shouldDeliverQueuedMessages() throws Exception {
+        // Arrange
+        outbox = newOutbox(ServerSetupTest.SMTP.getPort(), 100);
+        outbox.start();
+
+        // Act
+        for (int i = 0; i < 25; i++)
+            assertTrue(outbox.enqueue(new OutgoingMail("user" + i + "@example.com", "Verify your email", "Your code is 12345" + (i % 10))));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 25);
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertEquals("Verify your email", received.getSubject());
+        assertEquals("no-reply@klabs.com", received.getFrom()[0].toString());
+        await().atMost(Duration.ofSeconds(5)).until(() -> outbox.queueSize() == 0);
+        assertEquals(25, meterRegistry.get("mail.outbox.send.latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject messages once the outbox is full")
+    void shouldRejectMessagesWhenFull() {
+        // Arrange
+        outbox = newOutbox(ServerSetupTest.SMTP.getPort(), 2);
+
+        // Act
+        boolean first = outbox.enqueue(new OutgoingMail("a@example.com", "s", "b"));
+        boolean second = outbox.enqueue(new OutgoingMail("b@example.com", "s", "b"));
+        boolean third = outbox.enqueue(new OutgoingMail("c@example.com", "s", "b"));
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1, meterRegistry.get("mail.outbox.messages").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should retry with backoff until the SMTP server becomes available")
+    void shouldRetryUntilServerAvailable() {
+        // Arrange
+        int port = ServerSetupTest.SMTP.getPort() + 100;
+        outbox = newOutbox(port, 100);
+        outbox.start();
+
+        // Act
+        outbox.enqueue(new OutgoingMail("late@example.com", "Verify your email", "Your code is 654321"));
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                meterRegistry.get("mail.outbox.messages").tag("outcome", "retried").counter().count() >= 1);
+        GreenMail lateServer = new GreenMail(new ServerSetup(port, null, ServerSetup.PROTOCOL_SMTP));
+        lateServer.start();
+
+        // Assert
+        try {
+            await().atMost(Duration.ofSeconds(10)).until(() -> lateServer.getReceivedMessages().length == 1);
+        } finally {
+            lateServer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry only the failing message of a batch and keep sending")
+    void shouldRetryOnlyFailingMessageOfBatch() {
+        // Arrange
+        AtomicInteger sessions = new AtomicInteger();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            public synchronized Session getSession() {
+                // the third session is the one the second message of the batch is built on
+                if (sessions.incrementAndGet() == 3) throw new IllegalStateException("Session unavailable");
+                return super.getSession();
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        outbox = new MailOutbox(mailSender, new MailOutboxProperties("no-reply@klabs.com", 1, 10, 100, 10,
+                Duration.ofMillis(50), Duration.ofMillis(500), Duration.ofSeconds(5)), meterRegistry);
+        for (int i = 0; i < 3; i++) outbox.enqueue(new OutgoingMail("user" + i + "@example.com", "Verify your email", "Your code is 12345" + i));
+
+        // Act
+        outbox.start();
+        await().atMost(Duration.ofSeconds(10)).until(() -> outbox.queueSize() == 0);
+        outbox.enqueue(new OutgoingMail("late@example.com", "Verify your email", "Your code is 654321"));
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 4);
+        assertEquals(1, meterRegistry.get("mail.outbox.messages").tag("outcome", "retried").counter().count());
+        assertEquals(4, meterRegistry.get("mail.outbox.messages").tag("outcome", "sent").counter().count());
+    }
+
+    private MailOutbox newOutbox(int port, int queueCapacity) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        MailOutboxProperties properties = new MailOutboxProperties("no-reply@klabs.com", 2, 10, queueCapacity, 10,
+                Duration.ofMillis(50), Duration.ofMillis(500), Duration.ofSeconds(5));
+        return new MailOutbox(mailSender, properties, meterRegistry);
+    }
+}
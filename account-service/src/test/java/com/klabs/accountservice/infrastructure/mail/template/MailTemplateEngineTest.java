@@ -0,0 +1,112 @@
+package com.klabs.accountservice.infrastructure.mail.template;
+
+import com.klabs.accountservice.infrastructure.mail.OutgoingMail;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mail Template Engine Tests")
+class MailTemplateEngineTest {
+
+    private final MailModel model = new MailModel("testUser", "test@example.com", "012345", null, null, 10);
+
+    @Test
+    @DisplayName("Should render verification mail with code and account fields")
+    void shouldRenderVerificationMail() {
+        // Arrange
+        MailTemplateEngine engine = classpathEngine(false);
+
+        // Act
+        OutgoingMail mail = engine.render(MailTemplate.VERIFICATION, Locale.ENGLISH, model, "test@example.com");
+
+        // Assert
+        assertEquals("test@example.com", mail.to());
+        assertEquals("Confirm your email address", mail.subject());
+        assertTrue(mail.body().startsWith("Hello, testUser!"));
+        assertTrue(mail.body().contains("Your verification code is 012345."));
+        assertTrue(mail.body().contains("expires in 10 minutes"));
+        assertFalse(mail.body().contains("{{"));
+    }
+
+    @Test
+    @DisplayName("Should pick the template of the requested language")
+    void shouldPickTemplateOfRequestedLanguage() {
+        // Arrange
+        MailTemplateEngine engine = classpathEngine(false);
+
+        // Act
+        OutgoingMail mail = engine.render(MailTemplate.VERIFICATION, Locale.forLanguageTag("ru-RU"), model, "test@example.com");
+
+        // Assert
+        assertTrue(mail.body().contains("012345"));
+        assertNotEquals("Confirm your email address", mail.subject());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default locale for unknown languages")
+    void shouldFallBackToDefaultLocale() {
+        // Arrange
+        MailTemplateEngine engine = classpathEngine(false);
+
+        // Act
+        OutgoingMail mail = engine.render(MailTemplate.PASSWORD_CHANGED, Locale.JAPANESE, model, "test@example.com");
+
+        // Assert
+        assertEquals("Your password was changed", mail.subject());
+    }
+
+    @Test
+    @DisplayName("Should reject templates with unknown placeholders when compiling")
+    void shouldRejectUnknownPlaceholders() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hello {{password}}"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hello {{login"));
+    }
+
+    @Test
+    @DisplayName("Should render repeated placeholders and surrounding literals")
+    void shouldRenderRepeatedPlaceholders() {
+        // Arrange
+        CompiledTemplate template = CompiledTemplate.compile("{{login}} / {{ login }} <{{email}}>");
+
+        // Act & Assert
+        assertEquals("testUser / testUser <test@example.com>", template.render(model));
+    }
+
+    @Test
+    @DisplayName("Should recompile changed templates in hot-reload mode")
+    void shouldRecompileChangedTemplatesInHotReloadMode(@TempDir Path directory) throws IOException {
+        // Arrange
+        for (MailTemplate template : MailTemplate.values())
+            Files.writeString(directory.resolve(template.getFileName() + "_en.txt"), "Subject: Old\n\nCode {{code}}");
+        MailTemplateEngine engine = new MailTemplateEngine(new MailTemplateProperties(
+                directory.toUri().toString(), Locale.ENGLISH, true, Duration.ZERO), new DefaultResourceLoader());
+        assertEquals("Old", engine.render(MailTemplate.VERIFICATION, Locale.ENGLISH, model, "a@example.com").subject());
+
+        // Act
+        Path file = directory.resolve("verification_en.txt");
+        Files.writeString(file, "Subject: New\n\nNew code {{code}}");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        // Assert
+        OutgoingMail mail = engine.render(MailTemplate.VERIFICATION, Locale.ENGLISH, model, "a@example.com");
+        assertEquals("New", mail.subject());
+        assertEquals("New code 012345", mail.body());
+    }
+
+    private MailTemplateEngine classpathEngine(boolean hotReload) {
+        return new MailTemplateEngine(new MailTemplateProperties(
+                "classpath:mail/templates/", Locale.ENGLISH, hotReload, Duration.ofSeconds(1)), new DefaultResourceLoader());
+    }
+}
@@ -0,0 +1,99 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Key Ordered Executor Tests")
+class KeyOrderedExecutorTest {
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run tasks of the same key in submission order")
+    void shouldRunTasksOfSameKeyInOrder() throws InterruptedException {
+        // Arrange
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(4 * 500);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            for (String key : List.of("a", "b", "c", "d")) {
+                int sequence = i;
+                executor.submit(key, () -> {
+                    seen.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence);
+                    done.countDown();
+                });
+            }
+        }
+
+        // Assert
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> sequences : seen.values()) {
+            for (int i = 0; i < sequences.size(); i++) assertEquals(i, sequences.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should run tasks of distinct keys concurrently")
+    void shouldRunDistinctKeysConcurrently() throws InterruptedException {
+        // Arrange
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        CountDownLatch done = new CountDownLatch(3);
+
+        // Act
+        for (String key : List.of("a", "b", "c")) {
+            executor.submit(key, () -> {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    done.countDown();
+                } catch (Exception ignored) {
+                }
+            });
+        }
+
+        // Assert
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should never run two tasks of the same key at once and drop idle lanes")
+    void shouldNotOverlapTasksOfSameKey() throws InterruptedException {
+        // Arrange
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(workers);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(200);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            executor.submit("same", () -> {
+                if (running.incrementAndGet() > 1) overlaps.incrementAndGet();
+                Thread.yield();
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        // Assert
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.activeKeys() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(0, executor.activeKeys());
+    }
+}
@@ -0,0 +1,139 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Ordered Parallel Consumer Tests")
+class OrderedParallelConsumerTest {
+
+    private static final String TOPIC = "account.events";
+
+    private final TopicPartition partition = new TopicPartition(TOPIC, 0);
+
+    private final OrderedConsumerProperties properties =
+            new OrderedConsumerProperties(100, Duration.ofMillis(20), Duration.ofMillis(20), Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should keep per-key order and commit every processed record")
+    void shouldKeepPerKeyOrderAndCommitProcessedRecords() {
+        // Arrange
+        MockConsumer<String, String> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        mockConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+        mockConsumer.schedulePollTask(() -> {
+            mockConsumer.rebalance(List.of(partition));
+            for (int i = 0; i < 300; i++)
+                mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key-" + (i % 7), String.valueOf(i)));
+        });
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        OrderedParallelConsumer<String> consumer = newConsumer(mockConsumer, record ->
+                seen.computeIfAbsent(record.key(), k -> new CopyOnWriteArrayList<>()).add(Integer.parseInt(record.value())));
+
+        // Act
+        consumer.start();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(() -> committedOffset(mockConsumer) == 300L);
+        consumer.stop();
+        assertEquals(300, seen.values().stream().mapToInt(List::size).sum());
+        for (List<Integer> values : seen.values()) {
+            for (int i = 1; i < values.size(); i++) assertTrue(values.get(i - 1) < values.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass failed records to the failure handler and still commit them")
+    void shouldPassFailedRecordsToFailureHandler() {
+        // Arrange
+        MockConsumer<String, String> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        mockConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+        mockConsumer.schedulePollTask(() -> {
+            mockConsumer.rebalance(List.of(partition));
+            for (int i = 0; i < 10; i++)
+                mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key", String.valueOf(i)));
+        });
+        AtomicInteger failures = new AtomicInteger();
+        OrderedParallelConsumer<String> consumer = newConsumer(mockConsumer, record -> {
+            if (Integer.parseInt(record.value()) % 2 == 0) throw new IllegalStateException("boom");
+        }, (record, ex) -> failures.incrementAndGet());
+
+        // Act
+        consumer.start();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(() -> committedOffset(mockConsumer) == 10L);
+        consumer.stop();
+        assertEquals(5, failures.get());
+    }
+
+    @Test
+    @DisplayName("Should hold back the offset of a record the failure handler could not hand on")
+    void shouldHoldBackOffsetWhenFailureHandlerThrows() {
+        // Arrange
+        MockConsumer<String, String> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        mockConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+        mockConsumer.schedulePollTask(() -> {
+            mockConsumer.rebalance(List.of(partition));
+            for (int i = 0; i < 10; i++)
+                mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, 0, i, "key-" + i, String.valueOf(i)));
+        });
+        AtomicInteger processed = new AtomicInteger();
+        OrderedParallelConsumer<String> consumer = newConsumer(mockConsumer, record -> {
+            processed.incrementAndGet();
+            if (record.offset() == 3) throw new IllegalStateException("boom");
+        }, (record, ex) -> {
+            throw new IllegalStateException("forward failed");
+        });
+
+        // Act
+        consumer.start();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(10)).until(() -> processed.get() == 10 && committedOffset(mockConsumer) == 3L);
+        await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(() -> committedOffset(mockConsumer) == 3L);
+        consumer.stop();
+        assertEquals(3L, committedOffset(mockConsumer));
+    }
+
+    private OrderedParallelConsumer<String> newConsumer(MockConsumer<String, String> mockConsumer, RecordHandler<String> handler) {
+        return newConsumer(mockConsumer, handler, (record, ex) -> {
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private OrderedParallelConsumer<String> newConsumer(MockConsumer<String, String> mockConsumer, RecordHandler<String> handler,
+                                                        FailedRecordHandler<String> failedRecordHandler) {
+        ConsumerFactory<String, String> factory = mock(ConsumerFactory.class);
+        when(factory.createConsumer(anyString(), any())).thenReturn(mockConsumer);
+        return new OrderedParallelConsumer<>(factory, "test-group", List.of(TOPIC), handler, failedRecordHandler,
+                properties, new SimpleMeterRegistry());
+    }
+
+    private long committedOffset(MockConsumer<String, String> mockConsumer) {
+        synchronized (mockConsumer) {
+            OffsetAndMetadata committed = mockConsumer.committed(Set.of(partition)).get(partition);
+            return committed == null ? -1 : committed.offset();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.klabs.accountservice.infrastructure.messaging.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Partition Offset Tracker Tests")
+class PartitionOffsetTrackerTest {
+
+    @Test
+    @DisplayName("Should report nothing committable before any record completes")
+    void shouldReportNothingCommittableBeforeCompletion() {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.register(10);
+        tracker.register(11);
+
+        // Act & Assert
+        assertEquals(10, tracker.committableOffset());
+        tracker.markCommitted(10);
+        assertEquals(-1, tracker.committableOffset());
+        assertEquals(2, tracker.pending());
+    }
+
+    @Test
+    @DisplayName("Should only advance over the contiguous completed prefix")
+    void shouldOnlyAdvanceOverContiguousCompletedPrefix() {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        for (long offset = 0; offset < 5; offset++) tracker.register(offset);
+
+        // Act
+        tracker.complete(0);
+        tracker.complete(2);
+        tracker.complete(3);
+
+        // Assert
+        assertEquals(1, tracker.committableOffset());
+        tracker.complete(1);
+        assertEquals(4, tracker.committableOffset());
+        tracker.complete(4);
+        assertEquals(5, tracker.committableOffset());
+        assertEquals(0, tracker.pending());
+    }
+
+    @Test
+    @DisplayName("Should treat offsets missing from the fetch as completed")
+    void shouldTreatGapsAsCompleted() {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.register(0);
+        tracker.register(5);
+
+        // Act
+        tracker.complete(0);
+
+        // Assert
+        assertEquals(5, tracker.committableOffset());
+        tracker.complete(5);
+        assertEquals(6, tracker.committableOffset());
+    }
+
+    @Test
+    @DisplayName("Should ignore duplicate and unknown completions")
+    void shouldIgnoreDuplicateAndUnknownCompletions() {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.register(0);
+        tracker.register(1);
+
+        // Act
+        tracker.complete(0);
+        tracker.complete(0);
+        tracker.complete(42);
+
+        // Assert
+        assertEquals(1, tracker.pending());
+        assertEquals(1, tracker.committableOffset());
+    }
+
+    @Test
+    @DisplayName("Should report lag as fetched records not covered by a commit")
+    void shouldReportLag() {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        for (long offset = 100; offset < 110; offset++) tracker.register(offset);
+
+        // Act
+        for (long offset = 100; offset < 104; offset++) tracker.complete(offset);
+        tracker.markCommitted(tracker.committableOffset());
+
+        // Assert
+        assertEquals(6, tracker.lag());
+    }
+
+    @Test
+    @DisplayName("Should return from awaitDrained once all records complete")
+    void shouldAwaitDrained() throws InterruptedException {
+        // Arrange
+        PartitionOffsetTracker tracker = new PartitionOffsetTracker();
+        tracker.register(0);
+
+        // Act
+        Thread.ofVirtual().start(() -> tracker.complete(0));
+
+        // Assert
+        assertTrue(tracker.awaitDrained(5_000));
+    }
+}
@@ -0,0 +1,123 @@
+package com.klabs.accountservice.infrastructure.messaging.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Event Id Window Tests")
+class EventIdWindowTest {
+
+    private long now = 1_000_000L;
+
+    private final InstantSource clock = new InstantSource() {
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now);
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
+    };
+
+    @Test
+    @DisplayName("Should contain an id after it was added")
+    void shouldContainAddedId() {
+        // Arrange
+        EventIdWindow window = new EventIdWindow(100, Duration.ofMinutes(1), 4, clock);
+        UUID id = UUID.randomUUID();
+
+        // Act
+        window.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+
+        // Assert
+        assertTrue(window.contains(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        assertFalse(window.contains(id.getLeastSignificantBits(), id.getMostSignificantBits()));
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    @DisplayName("Should forget ids once the time window has passed")
+    void shouldForgetExpiredIds() {
+        // Arrange
+        EventIdWindow window = new EventIdWindow(100, Duration.ofSeconds(10), 1, clock);
+        window.add(1, 2);
+
+        // Act
+        now += 10_000;
+
+        // Assert
+        assertFalse(window.contains(1, 2));
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used id when full")
+    void shouldEvictLeastRecentlyUsedId() {
+        // Arrange
+        EventIdWindow window = new EventIdWindow(3, Duration.ofMinutes(1), 1, clock);
+        window.add(0, 1);
+        window.add(0, 2);
+        window.add(0, 3);
+
+        // Act
+        window.contains(0, 1);
+        window.add(0, 4);
+
+        // Assert
+        assertTrue(window.contains(0, 1));
+        assertFalse(window.contains(0, 2));
+        assertTrue(window.contains(0, 3));
+        assertTrue(window.contains(0, 4));
+        assertEquals(3, window.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a segment count that is not a power of two")
+    void shouldRejectInvalidSegmentCount() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new EventIdWindow(100, Duration.ofMinutes(1), 3, clock));
+    }
+
+    @Test
+    @DisplayName("Should behave like a reference LRU map under random operations")
+    void shouldMatchReferenceLruUnderRandomOperations() {
+        // Arrange
+        Random random = new Random(42);
+        int capacity = 37;
+        EventIdWindow window = new EventIdWindow(capacity, Duration.ofMillis(1_000), 1, clock);
+        LinkedHashMap<Long, Long> reference = new LinkedHashMap<>(16, 0.75f, true);
+
+        // Act & Assert
+        for (int i = 0; i < 50_000; i++) {
+            now += random.nextInt(20);
+            long id = random.nextInt(capacity * 3);
+            if (random.nextBoolean()) {
+                Long expiresAt = reference.get(id);
+                boolean expected = expiresAt != null && expiresAt > now;
+                if (expiresAt != null && !expected) reference.remove(id);
+                assertEquals(expected, window.contains(id, ~id));
+            } else {
+                if (!reference.containsKey(id)) {
+                    Iterator<Map.Entry<Long, Long>> eldest = reference.entrySet().iterator();
+                    while (eldest.hasNext() && eldest.next().getValue() <= now) eldest.remove();
+                    if (reference.size() == capacity) {
+                        eldest = reference.entrySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                    }
+                }
+                reference.put(id, now + 1_000);
+                window.add(id, ~id);
+            }
+            assertEquals(reference.size(), window.size());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import com.klabs.accountservice.infrastructure.messaging.consumer.OrderedConsumerProperties;
+import com.klabs.accountservice.infrastructure.messaging.consumer.OrderedParallelConsumerFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.core.*;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Retry Topics Tests")
+@EmbeddedKafka(partitions = 1, topics = RetryTopicsTest.TOPIC)
+class RetryTopicsTest {
+
+    static final String TOPIC = "account.events";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private RetryableConsumerFactory retryableConsumerFactory;
+
+    private DeadLetterReplayer replayer;
+
+    private RetryableConsumer<String> consumer;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker);
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("unused", "false", broker);
+        ConsumerFactory<String, String> consumerFactory =
+                new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer());
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("kafkaAdmin", new KafkaAdmin(Map.of("bootstrap.servers", broker.getBrokersAsString())));
+
+        OrderedConsumerProperties consumerProperties =
+                new OrderedConsumerProperties(100, Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofSeconds(5));
+        RetryProperties retryProperties = new RetryProperties(List.of(Duration.ofMillis(200), Duration.ofMillis(400)), 1, (short) 1, 100);
+
+        retryableConsumerFactory = new RetryableConsumerFactory(
+                new OrderedParallelConsumerFactory(consumerFactory, consumerProperties, meterRegistry),
+                kafkaTemplate, beanFactory.getBeanProvider(KafkaAdmin.class), retryProperties, meterRegistry);
+        replayer = new DeadLetterReplayer(consumerFactory, kafkaTemplate, retryableConsumerFactory, retryProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) consumer.stop();
+    }
+
+    @Test
+    @DisplayName("Should retry a failing record through the tiers until it succeeds")
+    void shouldRetryFailingRecordThroughTiers() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        consumer = retryableConsumerFactory.create("mail-" + System.nanoTime(), List.of(TOPIC), record -> {
+            if (calls.incrementAndGet() < 3) throw new IllegalStateException("SMTP unavailable");
+        });
+        consumer.start();
+
+        // Act
+        kafkaTemplate.send(TOPIC, "aggregate-1", "registered");
+
+        // Assert
+        await().atMost(Duration.ofSeconds(30)).until(() -> calls.get() == 3);
+        assertEquals(1, meterRegistry.get("account.events.retry.tier.time")
+                .tags("tier", "1", "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter an exhausted record and replay it into the first tier")
+    void shouldDeadLetterExhaustedRecordAndReplayIt() {
+        // Arrange
+        String group = "projection-" + System.nanoTime();
+        AtomicBoolean healthy = new AtomicBoolean(false);
+        AtomicInteger handled = new AtomicInteger();
+        consumer = retryableConsumerFactory.create(group, List.of(TOPIC), record -> {
+            if (!healthy.get()) throw new IllegalStateException("Projection store down");
+            handled.incrementAndGet();
+        });
+        consumer.start();
+
+        // Act
+        kafkaTemplate.send(TOPIC, "aggregate-2", "updated");
+        await().atMost(Duration.ofSeconds(30)).until(() ->
+                meterRegistry.find("account.events.dlt.records").tags("group", group).counter() != null
+                        && meterRegistry.get("account.events.dlt.records").tags("group", group).counter().count() == 1);
+        healthy.set(true);
+        int replayed = replayer.replay(group, 10);
+
+        // Assert
+        assertEquals(1, replayed);
+        await().atMost(Duration.ofSeconds(30)).until(() -> handled.get() == 1);
+    }
+
+    @Test
+    @DisplayName("Should replay at most the requested records and resume with the rest")
+    void shouldCapReplayAndResume() {
+        // Arrange
+        String group = "audit-" + System.nanoTime();
+        consumer = retryableConsumerFactory.create(group, List.of(TOPIC), record -> {
+        });
+        String deadLetterTopic = retryableConsumerFactory.topology(group).deadLetterTopic();
+        for (int i = 0; i < 3; i++) kafkaTemplate.send(deadLetterTopic, "aggregate-" + i, "failed");
+        kafkaTemplate.flush();
+
+        // Act
+        int first = replayer.replay(group, 2);
+        int second = replayer.replay(group, 10);
+        int third = replayer.replay(group, 10);
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, third);
+    }
+}
@@ -0,0 +1,75 @@
+package com.klabs.accountservice.infrastructure.messaging.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Retrying Failed Record Handler Tests")
+class RetryingFailedRecordHandlerTest {
+
+    private final RetryTopology topology = new RetryTopology("notifications", List.of(Duration.ofSeconds(10)));
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RetryingFailedRecordHandler<String> handler =
+            new RetryingFailedRecordHandler<>(topology, kafkaTemplate, meterRegistry, 1);
+
+    private final ConsumerRecord<String, String> record = new ConsumerRecord<>("account.events", 0, 42, "key", "value");
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("Should retry a failed forward until it is sent")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedForward() {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(
+                CompletableFuture.failedFuture(new KafkaException("broker unavailable")),
+                CompletableFuture.failedFuture(new KafkaException("broker unavailable")),
+                CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        handler.onFailure(record, new IllegalStateException("boom"));
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, String>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(3)).send(sent.capture());
+        assertEquals(topology.tierTopic(0), sent.getValue().topic());
+    }
+
+    @Test
+    @DisplayName("Should throw rather than return when interrupted before the forward is sent")
+    @SuppressWarnings("unchecked")
+    void shouldThrowWhenInterruptedBeforeForwardIsSent() {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+        Thread.currentThread().interrupt();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> handler.onFailure(record, new IllegalStateException("boom")));
+        verify(kafkaTemplate, times(1)).send(any(ProducerRecord.class));
+        assertNull(meterRegistry.find("account.events.dlt.records").counter());
+    }
+}
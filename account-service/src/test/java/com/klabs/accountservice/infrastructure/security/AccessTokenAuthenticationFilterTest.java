@@ -0,0 +1,128 @@
+package com.klabs.accountservice.infrastructure.security;
+
+import com.klabs.accountservice.domain.service.AccessTokenService;
+import com.klabs.accountservice.domain.service.TokenRevocationService;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.shared.exception.InvalidTokenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Access Token Authentication Filter Tests")
+class AccessTokenAuthenticationFilterTest {
+
+    private final AccessTokenService tokenService = mock(AccessTokenService.class);
+
+    private final TokenRevocationService revocationService = mock(TokenRevocationService.class);
+
+    private final UUID accountUUID = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a valid bearer token")
+    void shouldAuthenticateBearerToken() throws Exception {
+        // Arrange
+        AccessTokenClaims claims = new AccessTokenClaims(accountUUID, "testUser", "jti", 0, Long.MAX_VALUE);
+        when(tokenService.verify("valid")).thenReturn(claims);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer valid");
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        new AccessTokenAuthenticationFilter(tokenService, revocationService, false).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(chain.getRequest());
+        assertEquals(claims, authentication.getPrincipal());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid bearer token with 401")
+    void shouldRejectInvalidBearerToken() throws Exception {
+        // Arrange
+        when(tokenService.verify(anyString())).thenThrow(new InvalidTokenException("Invalid token"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer forged");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        new AccessTokenAuthenticationFilter(tokenService, revocationService, false).doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token with 401")
+    void shouldRejectRevokedToken() throws Exception {
+        // Arrange
+        AccessTokenClaims claims = new AccessTokenClaims(accountUUID, "testUser", "jti", 0, Long.MAX_VALUE);
+        when(tokenService.verify("revoked")).thenReturn(claims);
+        when(revocationService.isRevoked(claims)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer revoked");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        new AccessTokenAuthenticationFilter(tokenService, revocationService, false).doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should take claims from gateway headers without verifying the token again")
+    void shouldTrustGatewayHeaders() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AccessTokenAuthenticationFilter.ACCOUNT_ID_HEADER, accountUUID.toString());
+        request.addHeader(AccessTokenAuthenticationFilter.ACCOUNT_LOGIN_HEADER, "testUser");
+        request.addHeader(AccessTokenAuthenticationFilter.TOKEN_ID_HEADER, "jti");
+        request.addHeader(AccessTokenAuthenticationFilter.TOKEN_ISSUED_AT_HEADER, "1699999100000");
+        request.addHeader(AccessTokenAuthenticationFilter.TOKEN_EXPIRES_AT_HEADER, "1700000000000");
+
+        // Act
+        new AccessTokenAuthenticationFilter(tokenService, revocationService, true).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        AccessTokenClaims claims = (AccessTokenClaims) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(new AccessTokenClaims(accountUUID, "testUser", "jti", 1_699_999_100_000L, 1_700_000_000_000L), claims);
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    @DisplayName("Should ignore gateway headers unless they are trusted")
+    void shouldIgnoreUntrustedGatewayHeaders() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AccessTokenAuthenticationFilter.ACCOUNT_ID_HEADER, accountUUID.toString());
+
+        // Act
+        new AccessTokenAuthenticationFilter(tokenService, revocationService, false).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,207 @@
+package com.klabs.accountservice.infrastructure.security.jwt;
+
+import com.klabs.accountservice.domain.model.Account;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.domain.valueobject.Email;
+import com.klabs.accountservice.domain.valueobject.Login;
+import com.klabs.accountservice.domain.valueobject.Token;
+import com.klabs.accountservice.shared.exception.InvalidTokenException;
+import com.klabs.accountservice.shared.exception.TokenExpiredException;
+import com.klabs.accountservice.shared.time.FakeClock;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JWT Token Engine Tests")
+class JwtTokenEngineTest {
+
+    private final FakeClock clock = FakeClock.now();
+
+    private final Account account = Account.createNew(new Login("testUser"), new Email("test@example.com"), null);
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("Should verify a token it issued")
+    void shouldVerifyIssuedToken(JwtAlgorithm algorithm) {
+        // Arrange
+        JwtTokenEngine engine = engine(algorithm, 100);
+
+        // Act
+        Token token = engine.issue(account);
+        AccessTokenClaims claims = engine.verify(token.getValue());
+
+        // Assert
+        assertEquals(account.getUuid(), claims.accountUUID());
+        assertEquals("testUser", claims.login());
+        assertNotNull(claims.tokenId());
+        assertEquals(clock.millis() / 1000 * 1000, claims.issuedAtMillis());
+        assertEquals(claims.issuedAtMillis() + Duration.ofMinutes(15).toMillis(), claims.expiresAtMillis());
+        assertEquals(token.getExpiresAtMillis(), claims.expiresAtMillis());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token even after it was cached")
+    void shouldRejectExpiredToken() {
+        // Arrange
+        JwtTokenEngine engine = engine(JwtAlgorithm.ES256, 100);
+        Token token = engine.issue(account);
+        engine.verify(token.getValue());
+
+        // Act
+        clock.advance(Duration.ofMinutes(16));
+
+        // Assert
+        assertThrows(TokenExpiredException.class, () -> engine.verify(token.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered payload that reuses a cached signature")
+    void shouldRejectTamperedPayloadWithCachedSignature() {
+        // Arrange
+        JwtTokenEngine engine = engine(JwtAlgorithm.HS256, 100);
+        String genuine = engine.issue(account).getValue();
+        String other = engine.issue(Account.createNew(new Login("otherUser"), new Email("other@example.com"), null)).getValue();
+        engine.verify(genuine);
+        String[] genuineParts = genuine.split("\\.");
+        String[] otherParts = other.split("\\.");
+
+        // Act
+        String forged = genuineParts[0] + "." + otherParts[1] + "." + genuineParts[2];
+
+        // Assert
+        assertThrows(InvalidTokenException.class, () -> engine.verify(forged));
+        assertEquals("testUser", engine.verify(genuine).login());
+    }
+
+    @Test
+    @DisplayName("Should keep verifying tokens of the previous key until the overlap has passed")
+    void shouldVerifyPreviousKeyDuringOverlap() {
+        // Arrange
+        JwtTokenEngine engine = engine(JwtAlgorithm.ES256, 0);
+        String beforeRotation = engine.issue(account).getValue();
+        String previousKey = engine.keyRing().current().id();
+
+        // Act
+        engine.rotateKeys();
+        AccessTokenClaims claims = engine.verify(beforeRotation);
+        clock.advance(Duration.ofHours(1));
+        engine.rotateKeys();
+
+        // Assert
+        assertEquals(account.getUuid(), claims.accountUUID());
+        assertEquals(2, engine.keyRing().verificationKeys().size());
+        assertTrue(engine.keyRing().verificationKeys().stream().noneMatch(key -> key.id().equals(previousKey)));
+        assertThrows(InvalidTokenException.class, () -> engine.verify(beforeRotation));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens from another issuer key")
+    void shouldRejectForeignToken() {
+        // Arrange
+        JwtTokenEngine engine = engine(JwtAlgorithm.ES256, 100);
+        JwtTokenEngine foreign = engine(JwtAlgorithm.ES256, 100);
+
+        // Act
+        String token = foreign.issue(account).getValue();
+
+        // Assert
+        assertThrows(InvalidTokenException.class, () -> engine.verify(token));
+        assertThrows(InvalidTokenException.class, () -> engine.verify("not.a.token"));
+        assertThrows(InvalidTokenException.class, () -> engine.verify(null));
+    }
+
+    @Test
+    @DisplayName("Should refuse a key overlap shorter than the token lifetime")
+    void shouldRefuseShortOverlap() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new JwtTokenEngine(
+                new JwtProperties(JwtAlgorithm.ES256, "account-service", Duration.ofHours(1), Duration.ofHours(24),
+                        Duration.ofMinutes(30), Duration.ZERO, 100, List.of()),
+                clock, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should verify tokens issued by another replica with the same configured keys")
+    void shouldShareConfiguredKeysAcrossReplicas(@TempDir Path directory) throws Exception {
+        // Arrange
+        KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+        Path privateKey = pem(directory.resolve("signing.key.pem"), "PRIVATE KEY", pair.getPrivate().getEncoded());
+        Path publicKey = pem(directory.resolve("signing.pub.pem"), "PUBLIC KEY", pair.getPublic().getEncoded());
+        List<JwtProperties.KeyMaterial> keys = List.of(new JwtProperties.KeyMaterial("2026-10",
+                new FileSystemResource(privateKey), new FileSystemResource(publicKey), null));
+        JwtTokenEngine replica = engine(JwtAlgorithm.ES256, keys);
+        JwtTokenEngine other = engine(JwtAlgorithm.ES256, keys);
+
+        // Act
+        String token = replica.issue(account).getValue();
+        other.rotateKeys();
+
+        // Assert
+        assertEquals(account.getUuid(), other.verify(token).accountUUID());
+        assertEquals("2026-10", other.keyRing().current().id());
+        assertEquals(1, other.keyRing().verificationKeys().size());
+    }
+
+    @Test
+    @DisplayName("Should sign with the first configured key and verify with the others")
+    void shouldSignWithFirstConfiguredKey() {
+        // Arrange
+        String previousSecret = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+        String nextSecret = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+        JwtTokenEngine before = engine(JwtAlgorithm.HS256, List.of(
+                new JwtProperties.KeyMaterial("previous", null, null, previousSecret)));
+        JwtTokenEngine after = engine(JwtAlgorithm.HS256, List.of(
+                new JwtProperties.KeyMaterial("next", null, null, nextSecret),
+                new JwtProperties.KeyMaterial("previous", null, null, previousSecret)));
+
+        // Act
+        String oldToken = before.issue(account).getValue();
+        String newToken = after.issue(account).getValue();
+
+        // Assert
+        assertEquals(account.getUuid(), after.verify(oldToken).accountUUID());
+        assertEquals("next", after.keyRing().current().id());
+        assertThrows(InvalidTokenException.class, () -> before.verify(newToken));
+    }
+
+    @Test
+    @DisplayName("Should refuse configured keys without the material the algorithm needs")
+    void shouldRefuseIncompleteKeyMaterial() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> engine(JwtAlgorithm.ES256,
+                List.of(new JwtProperties.KeyMaterial("2026-10", null, null, "c2VjcmV0"))));
+    }
+
+    private JwtTokenEngine engine(JwtAlgorithm algorithm, List<JwtProperties.KeyMaterial> keys) {
+        return new JwtTokenEngine(
+                new JwtProperties(algorithm, "account-service", Duration.ofMinutes(15), Duration.ofHours(24),
+                        Duration.ofHours(1), Duration.ZERO, 100, keys),
+                clock, new SimpleMeterRegistry());
+    }
+
+    private static Path pem(Path file, String type, byte[] der) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+        return Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+
+    private JwtTokenEngine engine(JwtAlgorithm algorithm, int cacheSize) {
+        return new JwtTokenEngine(
+                new JwtProperties(algorithm, "account-service", Duration.ofMinutes(15), Duration.ofHours(24),
+                        Duration.ofHours(1), Duration.ZERO, cacheSize, List.of()),
+                clock, new SimpleMeterRegistry());
+    }
+}
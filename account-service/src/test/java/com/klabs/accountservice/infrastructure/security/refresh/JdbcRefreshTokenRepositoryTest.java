@@ -0,0 +1,158 @@
+package com.klabs.accountservice.infrastructure.security.refresh;
+
+import com.klabs.accountservice.domain.model.RefreshTokenRotation;
+import com.klabs.accountservice.domain.valueobject.Token;
+import com.klabs.accountservice.shared.time.DomainClock;
+import com.klabs.accountservice.shared.time.FakeClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JDBC Refresh Token Repository Tests")
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcRefreshTokenRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final FakeClock clock = FakeClock.now();
+
+    private final UUID accountUUID = UUID.randomUUID();
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcRefreshTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("TRUNCATE refresh_token");
+        repository = new JdbcRefreshTokenRepository(jdbcTemplate, new RefreshTokenProperties(Duration.ofMinutes(10), 2),
+                clock, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should exchange a token for its successor and store only digests")
+    void shouldRotateToken() {
+        // Arrange
+        Token first = token(Duration.ofDays(30));
+        Token second = token(Duration.ofDays(30));
+        repository.save(accountUUID, first);
+
+        // Act
+        RefreshTokenRotation rotation = repository.rotate(first.getValue(), second);
+        RefreshTokenRotation next = repository.rotate(second.getValue(), token(Duration.ofDays(30)));
+
+        // Assert
+        assertEquals(new RefreshTokenRotation(RefreshTokenRotation.Outcome.ROTATED, accountUUID), rotation);
+        assertTrue(next.isRotated());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_token WHERE token_hash = ?", Integer.class,
+                JdbcRefreshTokenRepository.digest(first.getValue())));
+        assertEquals(RefreshTokenRotation.NOT_FOUND, repository.rotate("unknown", token(Duration.ofDays(30))));
+    }
+
+    @Test
+    @DisplayName("Should refuse an expired token")
+    void shouldRefuseExpiredToken() {
+        // Arrange
+        Token first = token(Duration.ofMinutes(1));
+        repository.save(accountUUID, first);
+        clock.advance(Duration.ofMinutes(2));
+
+        // Act
+        RefreshTokenRotation rotation = repository.rotate(first.getValue(), token(Duration.ofDays(30)));
+
+        // Assert
+        assertEquals(RefreshTokenRotation.Outcome.EXPIRED, rotation.outcome());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a used token is presented again")
+    void shouldRevokeFamilyOnReuse() {
+        // Arrange
+        Token first = token(Duration.ofDays(30));
+        Token second = token(Duration.ofDays(30));
+        repository.save(accountUUID, first);
+        repository.save(accountUUID, token(Duration.ofDays(30)));
+        repository.rotate(first.getValue(), second);
+
+        // Act
+        RefreshTokenRotation replay = repository.rotate(first.getValue(), token(Duration.ofDays(30)));
+
+        // Assert
+        assertEquals(new RefreshTokenRotation(RefreshTokenRotation.Outcome.REUSED, accountUUID), replay);
+        assertEquals(RefreshTokenRotation.NOT_FOUND, repository.rotate(second.getValue(), token(Duration.ofDays(30))));
+        assertEquals(1, count(), "the token of another login stays valid");
+    }
+
+    @Test
+    @DisplayName("Should revoke the successor of a concurrent exchange of the same token")
+    void shouldRevokeSuccessorOfConcurrentExchange() {
+        // Arrange
+        Token first = token(Duration.ofDays(30));
+        Token winner = token(Duration.ofDays(30));
+        repository.save(accountUUID, first);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // Act
+        CompletableFuture<RefreshTokenRotation> loser = transaction.execute(status -> {
+            assertTrue(repository.rotate(first.getValue(), winner).isRotated());
+            CompletableFuture<RefreshTokenRotation> concurrent =
+                    CompletableFuture.supplyAsync(() -> repository.rotate(first.getValue(), token(Duration.ofDays(30))));
+            // commit only once the concurrent exchange waits on the row lock
+            await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) > 0);
+            return concurrent;
+        });
+
+        // Assert
+        assertEquals(RefreshTokenRotation.Outcome.REUSED, loser.join().outcome());
+        assertEquals(RefreshTokenRotation.NOT_FOUND, repository.rotate(winner.getValue(), token(Duration.ofDays(30))));
+        assertEquals(0, count());
+    }
+
+    @Test
+    @DisplayName("Should sweep expired tokens in batches")
+    void shouldSweepExpiredTokens() {
+        // Arrange
+        for (int i = 0; i < 5; i++) repository.save(UUID.randomUUID(), token(Duration.ofMinutes(1)));
+        repository.save(accountUUID, token(Duration.ofDays(30)));
+        clock.advance(Duration.ofMinutes(2));
+
+        // Act
+        repository.sweepExpired();
+
+        // Assert
+        assertEquals(1, count());
+    }
+
+    private Token token(Duration validity) {
+        return Token.generate(DomainClock.toLocalDateTime(clock.millis() + validity.toMillis()));
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM refresh_token", Integer.class);
+    }
+}
@@ -0,0 +1,205 @@
+package com.klabs.accountservice.infrastructure.security.revocation;
+
+import com.klabs.accountservice.domain.event.AccountStatusChangedEvent;
+import com.klabs.accountservice.domain.event.DomainEventPublisher;
+import com.klabs.accountservice.domain.event.TokenRevokedEvent;
+import com.klabs.accountservice.domain.model.AccountStatus;
+import com.klabs.accountservice.domain.valueobject.AccessTokenClaims;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtAlgorithm;
+import com.klabs.accountservice.infrastructure.security.jwt.JwtProperties;
+import com.klabs.accountservice.shared.time.DomainClock;
+import com.klabs.accountservice.shared.time.FakeClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Token Revocation List Tests")
+class TokenRevocationListTest {
+
+    private static final long TTL_MILLIS = Duration.ofMinutes(15).toMillis();
+
+    private final FakeClock clock = FakeClock.now();
+
+    private final DomainEventPublisher eventPublisher = mock(DomainEventPublisher.class);
+
+    private final JwtProperties jwtProperties = new JwtProperties(JwtAlgorithm.HS256, "account-service",
+            Duration.ofMinutes(15), Duration.ofHours(24), Duration.ofHours(1), Duration.ofSeconds(30), 100, List.of());
+
+    private final UUID accountUUID = UUID.randomUUID();
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        DomainClock.use(clock, ZoneOffset.UTC);
+        revocationList = new TokenRevocationList(new RevocationProperties(1000, 0.01, Duration.ofSeconds(1)),
+                jwtProperties, eventPublisher, clock, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token until it expires")
+    void shouldRevokeTokenUntilItExpires() {
+        // Arrange
+        AccessTokenClaims claims = claims("jti", clock.millis());
+
+        // Act
+        revocationList.revoke(claims);
+        boolean revoked = revocationList.isRevoked(claims);
+        clock.advance(Duration.ofMillis(TTL_MILLIS + 1_000));
+        revocationList.advance();
+
+        // Assert
+        assertTrue(revoked);
+        assertEquals(0, revocationList.size());
+        assertFalse(revocationList.isRevoked(claims("other", clock.millis())));
+    }
+
+    @Test
+    @DisplayName("Should publish an event when a token is revoked")
+    void shouldPublishRevocation() {
+        // Act
+        revocationList.revoke(claims("jti", clock.millis()));
+
+        // Assert
+        verify(eventPublisher).publishAll(argThat(events -> events.size() == 1
+                && events.getFirst() instanceof TokenRevokedEvent revoked && revoked.getTokenId().equals("jti")));
+    }
+
+    @Test
+    @DisplayName("Should ignore a token that has already expired")
+    void shouldIgnoreExpiredToken() {
+        // Act
+        revocationList.revokeToken("jti", clock.millis() - 1);
+
+        // Assert
+        assertEquals(0, revocationList.size());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued to an account before it was revoked only")
+    void shouldRevokeAccountTokensIssuedBefore() {
+        // Arrange
+        AccessTokenClaims before = claims("before", clock.millis() - 1_000);
+        AccessTokenClaims after = claims("after", clock.millis() + 1_000);
+
+        // Act
+        revocationList.revokeAccount(accountUUID, clock.millis());
+
+        // Assert
+        assertTrue(revocationList.isRevoked(before));
+        assertFalse(revocationList.isRevoked(after));
+    }
+
+    @Test
+    @DisplayName("Should keep the newest account revocation")
+    void shouldKeepNewestAccountRevocation() {
+        // Arrange
+        long revokedAt = clock.millis();
+        AccessTokenClaims claims = claims("jti", revokedAt + 500);
+
+        // Act
+        revocationList.revokeAccount(accountUUID, revokedAt + 1_000);
+        revocationList.revokeAccount(accountUUID, revokedAt);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(claims));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    @DisplayName("Should forget an account revocation once its tokens can no longer be valid")
+    void shouldExpireAccountRevocation() {
+        // Arrange
+        revocationList.revokeAccount(accountUUID, clock.millis());
+
+        // Act
+        clock.advance(Duration.ofMillis(TTL_MILLIS).plusSeconds(31));
+        revocationList.advance();
+
+        // Assert
+        assertEquals(0, revocationList.size());
+    }
+
+    @Test
+    @DisplayName("Should keep revoked tokens across a filter rotation")
+    void shouldSurviveFilterRotation() {
+        // Arrange
+        AccessTokenClaims claims = claims("jti", clock.millis());
+        revocationList.revokeToken("jti", clock.millis() + TTL_MILLIS * 3);
+
+        // Act
+        clock.advance(Duration.ofMillis(TTL_MILLIS).plusSeconds(30));
+        revocationList.advance();
+
+        // Assert
+        assertTrue(revocationList.isRevoked(claims));
+    }
+
+    @Test
+    @DisplayName("Should apply revocations from the account event stream")
+    void shouldApplyAccountEvents() {
+        // Arrange
+        RevocationEventListener listener = new RevocationEventListener(null, "account-events", revocationList,
+                jwtProperties, clock);
+        AccessTokenClaims claims = claims("jti", clock.millis() - 1_000);
+
+        // Act
+        listener.apply(AccountStatusChangedEvent.create(accountUUID, AccountStatus.ACTIVE, AccountStatus.SUSPENDED));
+
+        // Assert
+        assertTrue(revocationList.isRevoked(claims));
+    }
+
+    @Test
+    @DisplayName("Should apply token revocations from other replicas")
+    void shouldApplyTokenRevokedEvents() {
+        // Arrange
+        RevocationEventListener listener = new RevocationEventListener(null, "account-events", revocationList,
+                jwtProperties, clock);
+
+        // Act
+        listener.apply(TokenRevokedEvent.create(accountUUID, "jti", clock.millis() + TTL_MILLIS));
+
+        // Assert
+        assertTrue(revocationList.isRevoked(claims("jti", clock.millis())));
+    }
+
+    @Test
+    @DisplayName("Should keep the Bloom filter false positive rate near the configured one")
+    void shouldKeepFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) filter.put(TokenRevocationList.hash("revoked-" + i));
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(TokenRevocationList.hash("valid-" + i))) falsePositives++;
+        }
+
+        // Assert
+        for (int i = 0; i < 1000; i++) assertTrue(filter.mightContain(TokenRevocationList.hash("revoked-" + i)));
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    private AccessTokenClaims claims(String tokenId, long issuedAtMillis) {
+        return new AccessTokenClaims(accountUUID, "testUser", tokenId, issuedAtMillis, issuedAtMillis + TTL_MILLIS);
+    }
+}
@@ -0,0 +1,115 @@
+package com.klabs.accountservice.infrastructure.security.throttle;
+
+import com.klabs.accountservice.shared.exception.LoginThrottledException;
+import com.klabs.accountservice.shared.time.FakeClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Striped Login Throttle Tests")
+class StripedLoginThrottleTest {
+
+    private final FakeClock clock = FakeClock.now();
+
+    private final StripedLoginThrottle throttle = new StripedLoginThrottle(
+            new LoginThrottleProperties(
+                    new LoginThrottleProperties.Limit(3, 1, Duration.ofMinutes(1)),
+                    new LoginThrottleProperties.Limit(5, 5, Duration.ofMinutes(1)),
+                    4, 1000, Duration.ofMinutes(1)),
+            clock, new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Should reject attempts for a login once its bucket is empty")
+    void shouldRejectOverAccountLimit() {
+        // Arrange
+        for (int i = 0; i < 3; i++) throttle.acquire("testUser", "10.0.0." + i);
+
+        // Act & Assert
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("TESTUSER", "10.0.0.9"));
+        assertDoesNotThrow(() -> throttle.acquire("otherUser", "10.0.0.9"));
+    }
+
+    @Test
+    @DisplayName("Should reject attempts from an address across logins")
+    void shouldRejectOverAddressLimit() {
+        // Arrange
+        for (int i = 0; i < 5; i++) throttle.acquire("user" + i, "10.0.0.1");
+
+        // Act & Assert
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("user9", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should refill the bucket as time passes")
+    void shouldRefillLazily() {
+        // Arrange
+        for (int i = 0; i < 3; i++) throttle.acquire("testUser", null);
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("testUser", null));
+
+        // Act
+        clock.advance(Duration.ofMinutes(1));
+
+        // Assert
+        assertDoesNotThrow(() -> throttle.acquire("testUser", null));
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("testUser", null));
+    }
+
+    @Test
+    @DisplayName("Should evict buckets only once they have refilled completely")
+    void shouldEvictIdleBuckets() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(new LoginThrottleProperties.Limit(3, 1, Duration.ofMinutes(1)), 4, 1000);
+        long now = clock.millis();
+        table.tryAcquire("a", now);
+        table.tryAcquire("b", now);
+        table.tryAcquire("b", now);
+
+        // Act
+        int early = table.evictIdle(now + Duration.ofMinutes(1).toMillis());
+        int late = table.evictIdle(now + Duration.ofMinutes(3).toMillis());
+
+        // Assert
+        assertEquals(0, early);
+        assertEquals(2, late);
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    @DisplayName("Should bound the number of buckets")
+    void shouldBoundBuckets() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(new LoginThrottleProperties.Limit(3, 1, Duration.ofMinutes(1)), 4, 40);
+
+        // Act
+        for (int i = 0; i < 1000; i++) table.tryAcquire("key" + i, clock.millis());
+
+        // Assert
+        assertTrue(table.size() <= 40);
+    }
+
+    @Test
+    @DisplayName("Should keep a drained bucket and still admit an unrelated login while its stripe is full")
+    void shouldAdmitUnrelatedLoginWhileStripeSaturated() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(new LoginThrottleProperties.Limit(3, 1, Duration.ofMinutes(1)), 1, 4);
+        long now = clock.millis();
+        for (int i = 0; i < 3; i++) table.tryAcquire("victim", now);
+        for (int i = 0; i < 3; i++) table.tryAcquire("spray" + i, now);
+
+        // Act
+        boolean victim = table.tryAcquire("victim", now);
+        boolean unrelated = table.tryAcquire("unrelated", now);
+        int overflowed = 0;
+        for (int i = 0; i < 1000; i++) if (table.tryAcquire("burst" + i, now)) overflowed++;
+
+        // Assert
+        assertFalse(victim);
+        assertTrue(unrelated);
+        assertEquals(3 * TokenBucketTable.OVERFLOW_KEYS - 1, overflowed);
+        assertEquals(4, table.size());
+    }
+}
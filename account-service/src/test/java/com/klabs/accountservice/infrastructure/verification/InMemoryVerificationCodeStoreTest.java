@@ -0,0 +1,212 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import com.klabs.accountservice.domain.model.VerificationResult;
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+import com.klabs.accountservice.shared.time.DomainClock;
+import com.klabs.accountservice.shared.time.FakeClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In Memory Verification Code Store Tests")
+class InMemoryVerificationCodeStoreTest {
+
+    private final FakeClock clock = FakeClock.now();
+
+    private static final String DIGEST_KEY = "c2VjcmV0LWtleS1vZi10aGUtdmVyaWZpY2F0aW9uLWNvZGVz";
+
+    private final InMemoryVerificationCodeStore store = newStore();
+
+    private final UUID accountUUID = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should match the saved code once and then forget it")
+    void shouldMatchSavedCodeOnce() {
+        // Arrange
+        VerificationCode code = VerificationCode.generate();
+        store.save(accountUUID, code);
+
+        // Act
+        VerificationResult first = store.verify(accountUUID, code.getCode());
+        VerificationResult second = store.verify(accountUUID, code.getCode());
+
+        // Assert
+        assertEquals(VerificationResult.MATCHED, first);
+        assertEquals(VerificationResult.NOT_FOUND, second);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should drop the code after too many wrong attempts")
+    void shouldDropCodeAfterMaxAttempts() {
+        // Arrange
+        VerificationCode code = VerificationCode.generate();
+        store.save(accountUUID, code);
+        String wrong = wrongCode(code);
+
+        // Act
+        VerificationResult first = store.verify(accountUUID, wrong);
+        VerificationResult second = store.verify(accountUUID, "abc");
+        VerificationResult third = store.verify(accountUUID, wrong);
+
+        // Assert
+        assertEquals(VerificationResult.MISMATCHED, first);
+        assertEquals(VerificationResult.MISMATCHED, second);
+        assertEquals(VerificationResult.ATTEMPTS_EXHAUSTED, third);
+        assertEquals(VerificationResult.NOT_FOUND, store.verify(accountUUID, code.getCode()));
+    }
+
+    @Test
+    @DisplayName("Should report an expired code before the wheel has removed it")
+    void shouldReportExpiredCode() {
+        // Arrange
+        VerificationCode code = VerificationCode.generate();
+        store.save(accountUUID, code);
+
+        // Act
+        clock.advance(Duration.ofMinutes(11));
+
+        // Assert
+        assertEquals(VerificationResult.EXPIRED, store.verify(accountUUID, code.getCode()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should remove expired codes when the wheel advances")
+    void shouldRemoveExpiredCodes() {
+        // Arrange
+        for (int i = 0; i < 1_000; i++) store.save(UUID.randomUUID(), VerificationCode.generate());
+
+        // Act
+        clock.advance(Duration.ofMinutes(5));
+        store.expireDue();
+        int afterFiveMinutes = store.size();
+        clock.advance(Duration.ofMinutes(6));
+        store.expireDue();
+
+        // Assert
+        assertEquals(1_000, afterFiveMinutes);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should replace the previous code of the same account")
+    void shouldReplacePreviousCode() {
+        // Arrange
+        VerificationCode first = VerificationCode.generate();
+        VerificationCode second = VerificationCode.generate();
+        store.save(accountUUID, first);
+
+        // Act
+        store.save(accountUUID, second);
+
+        // Assert
+        assertEquals(1, store.size());
+        if (!first.getCode().equals(second.getCode()))
+            assertEquals(VerificationResult.MISMATCHED, store.verify(accountUUID, first.getCode()));
+        assertEquals(VerificationResult.MATCHED, store.verify(accountUUID, second.getCode()));
+    }
+
+    @Test
+    @DisplayName("Should report every change to the listener")
+    void shouldNotifyListener() {
+        // Arrange
+        List<String> changes = new ArrayList<>();
+        store.setListener(new VerificationCodeChangeListener() {
+            @Override
+            public void saved(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+                changes.add("saved:" + attempts);
+            }
+
+            @Override
+            public void removed(UUID accountUUID) {
+                changes.add("removed");
+            }
+        });
+        VerificationCode code = VerificationCode.generate();
+
+        // Act
+        store.save(accountUUID, code);
+        store.verify(accountUUID, wrongCode(code));
+        store.verify(accountUUID, code.getCode());
+
+        // Assert
+        assertEquals(List.of("saved:0", "saved:1", "removed"), changes);
+    }
+
+    @Test
+    @DisplayName("Should accept a code up to and including the millisecond it expires at")
+    void shouldAcceptCodeUntilExpiry() {
+        // Arrange
+        VerificationCode code = VerificationCode.of(123456, DomainClock.toLocalDateTime(clock.millis() + 60_000));
+        UUID otherAccount = UUID.randomUUID();
+        store.save(accountUUID, code);
+        store.save(otherAccount, code);
+
+        // Act
+        clock.set(Instant.ofEpochMilli(code.getExpiresAtMillis()));
+        VerificationResult atExpiry = store.verify(accountUUID, code.getCode());
+        clock.advance(Duration.ofMillis(1));
+        VerificationResult afterExpiry = store.verify(otherAccount, code.getCode());
+
+        // Assert
+        assertEquals(VerificationResult.MATCHED, atExpiry);
+        assertEquals(VerificationResult.EXPIRED, afterExpiry);
+    }
+
+    @Test
+    @DisplayName("Should hand out only a digest that a store with the same key can verify")
+    void shouldRestoreCodeFromDigest() {
+        // Arrange
+        List<Long> digests = new ArrayList<>();
+        store.setListener(new VerificationCodeChangeListener() {
+            @Override
+            public void saved(UUID accountUUID, long codeDigest, long expiresAtMillis, int attempts) {
+                digests.add(codeDigest);
+            }
+
+            @Override
+            public void removed(UUID accountUUID) {
+            }
+        });
+        VerificationCode code = VerificationCode.of(123456, DomainClock.toLocalDateTime(clock.millis() + 60_000));
+        store.save(accountUUID, code);
+        InMemoryVerificationCodeStore restarted = newStore();
+
+        // Act
+        restarted.restore(accountUUID, digests.getFirst(), code.getExpiresAtMillis(), 0);
+
+        // Assert
+        assertNotEquals(123456L, digests.getFirst());
+        assertNotEquals(digests.getFirst(), store.digest(UUID.randomUUID(), 123456));
+        assertEquals(VerificationResult.MATCHED, restarted.verify(accountUUID, code.getCode()));
+    }
+
+    @Test
+    @DisplayName("Should parse only six digit codes")
+    void shouldParseSixDigitCodes() {
+        // Act & Assert
+        assertEquals(42, InMemoryVerificationCodeStore.parseCode("000042"));
+        assertEquals(-1, InMemoryVerificationCodeStore.parseCode("00042"));
+        assertEquals(-1, InMemoryVerificationCodeStore.parseCode("00004a"));
+        assertEquals(-1, InMemoryVerificationCodeStore.parseCode(null));
+    }
+
+    private InMemoryVerificationCodeStore newStore() {
+        return new InMemoryVerificationCodeStore(new VerificationCodeStoreProperties(3, Duration.ofSeconds(1),
+                new VerificationCodeStoreProperties.WriteBehind(false, Duration.ofSeconds(1), 500), DIGEST_KEY),
+                clock, new SimpleMeterRegistry());
+    }
+
+    private static String wrongCode(VerificationCode code) {
+        return String.format("%06d", (Integer.parseInt(code.getCode()) + 1) % 1_000_000);
+    }
+}
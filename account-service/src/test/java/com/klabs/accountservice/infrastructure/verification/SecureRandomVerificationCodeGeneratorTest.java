@@ -0,0 +1,93 @@
+package com.klabs.accountservice.infrastructure.verification;
+
+import com.klabs.accountservice.domain.valueobject.VerificationCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Secure Random Verification Code Generator Tests")
+class SecureRandomVerificationCodeGeneratorTest {
+
+    private final SecureRandomVerificationCodeGenerator generator = new SecureRandomVerificationCodeGenerator(
+            new VerificationCodeGeneratorProperties(Duration.ofMinutes(10), "DRBG", 4, 96));
+
+    @Test
+    @DisplayName("Should generate six digit code valid for the configured time")
+    void shouldGenerateSixDigitCode() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now().plusMinutes(10).minusSeconds(1);
+
+        // Act
+        VerificationCode code = generator.generate();
+
+        // Assert
+        assertTrue(code.getCode().matches("\\d{6}"));
+        assertTrue(code.getExpiresAt().isAfter(before));
+        assertFalse(code.isExpired());
+    }
+
+    @Test
+    @DisplayName("Should generate requested number of codes in a batch")
+    void shouldGenerateBatch() {
+        // Act
+        List<VerificationCode> codes = generator.generate(1_000);
+
+        // Assert
+        assertEquals(1_000, codes.size());
+        assertTrue(codes.stream().allMatch(code -> code.getCode().matches("\\d{6}")));
+        assertTrue(codes.stream().map(VerificationCode::getCode).distinct().count() > 990);
+        assertTrue(generator.generate(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
+    }
+
+    @Test
+    @DisplayName("Should spread codes evenly over all leading digits")
+    void shouldSpreadCodesEvenly() {
+        // Arrange
+        int samples = 200_000;
+        int[] counts = new int[10];
+
+        // Act
+        for (VerificationCode code : generator.generate(samples)) counts[code.getCode().charAt(0) - '0']++;
+
+        // Assert
+        double expected = samples / 10.0;
+        double chiSquare = 0;
+        for (int count : counts) chiSquare += (count - expected) * (count - expected) / expected;
+        // 9 degrees of freedom, p = 0.001
+        assertTrue(chiSquare < 27.88, "chi-square " + chiSquare);
+    }
+
+    @Test
+    @DisplayName("Should generate codes from many threads at once")
+    void shouldGenerateConcurrently() throws Exception {
+        // Arrange
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 100; j++) codes.add(generator.generate().getCode());
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+
+        // Assert
+        assertTrue(codes.size() > 6_000);
+        assertTrue(codes.stream().allMatch(code -> code.matches("\\d{6}")));
+    }
+}
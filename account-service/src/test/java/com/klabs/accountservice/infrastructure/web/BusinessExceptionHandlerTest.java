@@ -0,0 +1,60 @@
+package com.klabs.accountservice.infrastructure.web;
+
+import com.klabs.accountservice.shared.exception.AccountNotFoundException;
+import com.klabs.accountservice.shared.exception.BusinessException;
+import com.klabs.accountservice.shared.exception.InvalidCredentialsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Business Exception Handler Tests")
+class BusinessExceptionHandlerTest {
+
+    private final BusinessExceptionHandler handler = new BusinessExceptionHandler();
+
+    @Test
+    @DisplayName("Should map invalid credentials to a 401 problem without the exception message")
+    void shouldMapInvalidCredentials() {
+        // Act
+        ResponseEntity<byte[]> response = handler.handle(new InvalidCredentialsException("Invalid old password"));
+
+        // Assert
+        assertEquals(401, response.getStatusCode().value());
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"type\":\"/problems/invalid-credentials\",\"title\":\"Invalid credentials\",\"status\":401}",
+                new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should use the problem of the nearest mapped ancestor")
+    void shouldFallBackToAncestorProblem() {
+        // Act
+        ResponseEntity<byte[]> missing = handler.handle(new AccountNotFoundException("missing") {
+        });
+        ResponseEntity<byte[]> generic = handler.handle(new BusinessException("rule") {
+        });
+
+        // Assert
+        assertEquals(404, missing.getStatusCode().value());
+        assertEquals(400, generic.getStatusCode().value());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Problem.class)
+    @DisplayName("Should render every problem as a complete body")
+    void shouldRenderEveryProblem(Problem problem) {
+        // Act
+        String body = new String(problem.body(), StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(body.startsWith("{\"type\":\"" + problem.type() + "\""));
+        assertTrue(body.endsWith("\"status\":" + problem.status().value() + "}"));
+    }
+}
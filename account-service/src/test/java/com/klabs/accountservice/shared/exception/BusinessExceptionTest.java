@@ -0,0 +1,32 @@
+package com.klabs.accountservice.shared.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Business Exception Tests")
+class BusinessExceptionTest {
+
+    @Test
+    @DisplayName("Should not record a stack trace for an expected failure by default")
+    void shouldBeStacklessByDefault() {
+        // Act
+        InvalidCredentialsException exception = new InvalidCredentialsException("Invalid credentials");
+
+        // Assert
+        assertFalse(BusinessException.STACK_TRACES);
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("Invalid credentials", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should keep the stack trace when wrapping a cause")
+    void shouldKeepStackTraceWithCause() {
+        // Act
+        AccountNotFoundException exception = new AccountNotFoundException("Account not found", new IllegalStateException());
+
+        // Assert
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+}
@@ -0,0 +1,81 @@
+package com.klabs.accountservice.shared.time;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Coarse Clock Tests")
+class CoarseClockTest {
+
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should follow the source clock within a few milliseconds")
+    void shouldFollowSourceClock() {
+        // Arrange
+        FakeClock source = new FakeClock(1_000_000L);
+
+        try (CoarseClock clock = new CoarseClock(source, ZoneOffset.UTC)) {
+            // Act
+            source.advance(Duration.ofSeconds(5));
+
+            // Assert
+            await().atMost(Duration.ofSeconds(1)).until(() -> clock.millis() == 1_005_000L);
+            assertEquals(LocalDateTime.of(1970, 1, 1, 0, 16, 45), clock.localDateTime());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep up with the system clock")
+    void shouldKeepUpWithSystemClock() {
+        // Arrange
+        try (CoarseClock clock = new CoarseClock(InstantSource.system(), ZoneId.systemDefault())) {
+            // Act
+            long drift = Math.abs(System.currentTimeMillis() - clock.millis());
+
+            // Assert
+            assertTrue(drift < 50, "drift " + drift);
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve domain objects from the installed clock")
+    void shouldServeDomainObjectsFromInstalledClock() {
+        // Arrange
+        FakeClock fake = new FakeClock(0);
+
+        // Act
+        DomainClock.use(fake, ZoneOffset.UTC);
+
+        // Assert
+        assertEquals(0, DomainClock.millis());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0), DomainClock.now());
+        assertEquals(60_000, DomainClock.toEpochMillis(LocalDateTime.of(1970, 1, 1, 0, 1)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the system clock once the installed coarse clock is closed")
+    void shouldFallBackWhenCoarseClockIsClosed() {
+        // Arrange
+        CoarseClock clock = new CoarseClock(new FakeClock(0), ZoneOffset.UTC);
+        DomainClock.use(clock, ZoneOffset.UTC);
+
+        // Act
+        clock.close();
+
+        // Assert
+        assertTrue(DomainClock.millis() > 0);
+    }
+}
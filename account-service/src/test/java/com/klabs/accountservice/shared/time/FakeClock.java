@@ -0,0 +1,36 @@
+package com.klabs.accountservice.shared.time;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+
+public class FakeClock implements InstantSource {
+
+    private volatile long millis;
+
+    public FakeClock(long millis) {
+        this.millis = millis;
+    }
+
+    public static FakeClock now() {
+        return new FakeClock(System.currentTimeMillis());
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    public void advance(Duration duration) {
+        millis += duration.toMillis();
+    }
+
+    public void set(Instant instant) {
+        millis = instant.toEpochMilli();
+    }
+}
@@ -0,0 +1,142 @@
+package com.klabs.accountservice.shared.time;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hierarchical Timing Wheel Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final List<Timer> fired = new ArrayList<>();
+
+    private long now = 1_000_000L;
+
+    private final HierarchicalTimingWheel<Timer> wheel = new HierarchicalTimingWheel<>(TICK, now, timer -> {
+        timer.firedAt = now;
+        fired.add(timer);
+    });
+
+    @Test
+    @DisplayName("Should expire a timer once its time has come")
+    void shouldExpireDueTimer() {
+        // Arrange
+        Timer timer = new Timer();
+        wheel.schedule(timer, now + 50);
+
+        // Act
+        advance(40);
+        boolean firedEarly = !fired.isEmpty();
+        advance(10);
+
+        // Assert
+        assertFalse(firedEarly);
+        assertEquals(List.of(timer), fired);
+        assertFalse(timer.isScheduled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade timers from higher levels without firing them early")
+    void shouldCascadeLongTimers() {
+        // Arrange
+        Timer timer = new Timer();
+        long delay = TICK * 64 * 64 * 3 + 7 * TICK;
+        wheel.schedule(timer, now + delay);
+
+        // Act
+        advance(delay - TICK);
+        boolean firedEarly = !fired.isEmpty();
+        advance(TICK);
+
+        // Assert
+        assertFalse(firedEarly);
+        assertEquals(List.of(timer), fired);
+    }
+
+    @Test
+    @DisplayName("Should not expire a cancelled timer")
+    void shouldNotExpireCancelledTimer() {
+        // Arrange
+        Timer timer = new Timer();
+        wheel.schedule(timer, now + 100);
+
+        // Act
+        boolean cancelled = wheel.cancel(timer);
+        advance(1_000);
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(fired.isEmpty());
+        assertFalse(wheel.cancel(timer));
+    }
+
+    @Test
+    @DisplayName("Should move a rescheduled timer to its new time")
+    void shouldRescheduleTimer() {
+        // Arrange
+        Timer timer = new Timer();
+        wheel.schedule(timer, now + 100);
+
+        // Act
+        wheel.schedule(timer, now + 5_000);
+        advance(1_000);
+        boolean firedEarly = !fired.isEmpty();
+        advance(4_000);
+
+        // Assert
+        assertFalse(firedEarly);
+        assertEquals(List.of(timer), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should refuse timers that are already due")
+    void shouldRefuseTimerInThePast() {
+        // Act & Assert
+        assertFalse(wheel.schedule(new Timer(), now));
+        assertFalse(wheel.schedule(new Timer(), now - 1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should expire every timer on time across random delays")
+    void shouldExpireRandomTimersOnTime() {
+        // Arrange
+        Random random = new Random(42);
+        List<Timer> timers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Timer timer = new Timer();
+            timer.expiresAt = now + 1 + (long) (Math.pow(random.nextDouble(), 3) * TICK * 1_000_000);
+            wheel.schedule(timer, timer.expiresAt);
+            timers.add(timer);
+        }
+
+        // Act
+        while (fired.size() < timers.size()) advance(TICK * (1 + random.nextInt(500)));
+
+        // Assert
+        for (Timer timer : timers) {
+            assertTrue(timer.firedAt >= timer.expiresAt);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private void advance(long millis) {
+        now += millis;
+        wheel.advanceTo(now);
+    }
+
+    private static final class Timer extends HierarchicalTimingWheel.Node {
+
+        private long expiresAt;
+
+        private long firedAt = -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.klabs.gateway.routing;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the route of a request among {@code routes} routes, through the trie and by testing each
+ * route's pattern in turn as the stock handler mapping does. Requests are spread over all routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteResolutionBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int routes;
+
+    private final PathTrie<Integer> trie = new PathTrie<>();
+
+    private final List<PathPattern> patterns = new ArrayList<>();
+
+    private String[] paths;
+
+    private PathContainer[] pathContainers;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < routes; i++) {
+            String pattern = switch (i % 3) {
+                case 0 -> "/api/v1/service-" + i + "/**";
+                case 1 -> "/api/v1/service-" + i + "/items/{id}";
+                default -> "/api/v2/service-" + i + "/*/history";
+            };
+            trie.add(pattern, i);
+            patterns.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        paths = new String[PATHS];
+        pathContainers = new PathContainer[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            int route = random.nextInt(routes);
+            paths[i] = switch (route % 3) {
+                case 0 -> "/api/v1/service-" + route + "/profile/settings";
+                case 1 -> "/api/v1/service-" + route + "/items/" + random.nextInt(1_000_000);
+                default -> "/api/v2/service-" + route + "/" + random.nextInt(1_000_000) + "/history";
+            };
+            pathContainers[i] = PathContainer.parsePath(paths[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> trie() {
+        return trie.match(paths[next++ & (PATHS - 1)]);
+    }
+
+    @Benchmark
+    public int linear() {
+        PathContainer path = pathContainers[next++ & (PATHS - 1)];
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matches(path)) return i;
+        }
+        return -1;
+    }
+}
@@ -1,27 +1,88 @@
 package com.klabs.gateway;
 
+import com.klabs.gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.klabs.gateway.coalescing.CoalescingGatewayFilterFactory;
+import com.klabs.gateway.resilience.BudgetedRetryGatewayFilterFactory;
+import com.klabs.gateway.resilience.FallbackController;
+import com.klabs.gateway.resilience.ResilienceProperties;
+import com.klabs.gateway.routing.RouteEntry;
+import com.klabs.gateway.routing.RouteTable;
+import com.klabs.gateway.routing.RouteTableProperties;
+import com.klabs.gateway.security.JwtAuthenticationGatewayFilterFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import reactor.netty.http.HttpProtocol;
+
+import java.util.List;
+import java.util.Set;
 
 @Configuration
 class GatewayConfiguration {
 
-    @Value("${app.routes.account-service.uri}")
-    private String accountServiceUri;
+    private static final Set<String> UNAVAILABLE_STATUSES = Set.of("502", "503", "504");
 
     @Value("${app.routes.end-error-service.uri}")
     private String errorServiceUri;
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
-        return builder.routes()
-                .route("route_v1_account_service", r -> r
-                        .path("/api/v1/auth/**", "/api/v1/account/**", "/api/v1/verify")
-                        .uri(accountServiceUri))
+    public RouteTable routeTable(RouteTableProperties properties, ResourceLoader resourceLoader,
+                                 ApplicationEventPublisher events, RouteLocatorBuilder builder,
+                                 JwtAuthenticationGatewayFilterFactory jwtAuthentication,
+                                 ResponseCacheGatewayFilterFactory responseCache,
+                                 CoalescingGatewayFilterFactory coalescing,
+                                 BudgetedRetryGatewayFilterFactory retry,
+                                 ResilienceProperties resilience) {
+        List<RouteEntry> fixedEntries = resilience.fallback() == ResilienceProperties.Fallback.ERROR_SERVICE
+                ? List.of(new RouteEntry("route_fallback_error_service", List.of(FallbackController.PATH + "/**"),
+                        errorServiceUri, null, false, false, false, false))
+                : List.of();
+        return new RouteTable(resourceLoader.getResource(properties.file()), properties.checkInterval(), fixedEntries,
+                entry -> builder.routes()
+                        .route(entry.id(), r -> r
+                                .path(entry.paths().toArray(String[]::new))
+                                .filters(f -> {
+                                    if (entry.authenticated())
+                                        f.filter(jwtAuthentication.apply(new JwtAuthenticationGatewayFilterFactory.Config()));
+                                    if (entry.cached())
+                                        f.filter(responseCache.apply(new ResponseCacheGatewayFilterFactory.Config().setName(entry.name())));
+                                    if (entry.coalesced())
+                                        f.filter(coalescing.apply(new CoalescingGatewayFilterFactory.Config().setName(entry.name())));
+                                    return entry.resilient() ? resilient(f, entry.name(), retry) : f;
+                                })
+                                .uri(entry.uri()))
+                        .build()
+                        .getRoutes()
+                        .blockFirst(),
+                events);
+    }
+
+    /**
+     * Protocols of the proxy client, which all routes share. {@code H2C} alone speaks HTTP/2 with
+     * prior knowledge and multiplexes requests over a few pooled connections per backend, so every
+     * backend must accept cleartext HTTP/2; {@code HTTP11,H2C} upgrades the backends that can.
+     */
+    @Bean
+    public HttpClientCustomizer backendProtocols(@Value("${app.routes.protocols:HTTP11}") HttpProtocol[] protocols) {
+        return httpClient -> httpClient.protocol(protocols);
+    }
 
-                .build();
+    /**
+     * Circuit breaker around budgeted retries: an open circuit answers from the fallback at once
+     * and the breaker counts a request once, however many attempts it took.
+     */
+    private static GatewayFilterSpec resilient(GatewayFilterSpec filters, String name,
+                                               BudgetedRetryGatewayFilterFactory retry) {
+        return filters
+                .circuitBreaker(c -> c
+                        .setName(name)
+                        .setFallbackUri("forward:" + FallbackController.PATH + "/" + name)
+                        .setStatusCodes(UNAVAILABLE_STATUSES))
+                .filter(retry.apply(new BudgetedRetryGatewayFilterFactory.Config().setName(name)));
     }
 }
@@ -0,0 +1,104 @@
+package com.klabs.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drops the cached responses of an account whenever account-service publishes an event for it.
+ * Events are keyed by account id, so only the record key is read. Like the revocation listener in
+ * account-service every replica reads all partitions without a consumer group, from the end: the
+ * cache starts empty and only has to hear about changes from then on.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.response-cache", name = "enabled", havingValue = "true")
+public class AccountEventInvalidationListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+
+    private final String topic;
+
+    private final ResponseCache cache;
+
+    private volatile Consumer<String, byte[]> consumer;
+
+    private volatile boolean running;
+
+    private Thread poller;
+
+    @SuppressWarnings("unchecked")
+    public AccountEventInvalidationListener(ConsumerFactory<?, ?> consumerFactory,
+                                            @Value("${app.kafka.topics.account-events}") String topic,
+                                            ResponseCache cache) {
+        this.consumerFactory = (ConsumerFactory<String, byte[]>) consumerFactory;
+        this.topic = topic;
+        this.cache = cache;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        poller = Thread.ofPlatform().name("response-cache-invalidations").start(this::pollLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Consumer<String, byte[]> current = consumer;
+        if (current != null) current.wakeup();
+        try {
+            poller.join(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        try (Consumer<String, byte[]> kafkaConsumer = consumerFactory.createConsumer(null, "-response-cache")) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = kafkaConsumer.partitionsFor(topic).stream()
+                    .map(PartitionInfo::partition)
+                    .map(partition -> new TopicPartition(topic, partition))
+                    .toList();
+            kafkaConsumer.assign(partitions);
+            kafkaConsumer.seekToEnd(partitions);
+            // resolve the end offsets now, so nothing published after going live is skipped
+            partitions.forEach(kafkaConsumer::position);
+            cache.setLive(true);
+            log.info("Following {} partitions of {} for response cache invalidations", partitions.size(), topic);
+            while (running) {
+                for (ConsumerRecord<String, byte[]> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    if (record.key() != null) cache.invalidate(record.key());
+                }
+            }
+        } catch (WakeupException e) {
+            if (running) log.error("Response cache invalidation listener woken up unexpectedly", e);
+        } catch (RuntimeException e) {
+            log.error("Response cache invalidation listener stopped, the cache is bypassed", e);
+        } finally {
+            cache.setLive(false);
+            consumer = null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.klabs.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads the {@code Cache-Control} and {@code Surrogate-Control} directives that decide whether and
+ * for how long a response may be kept.
+ */
+final class CacheDirectives {
+
+    static final String SURROGATE_CONTROL = "Surrogate-Control";
+
+    private static final Set<String> KEYED_VARY = Set.of("accept", "accept-encoding", "authorization");
+
+    private CacheDirectives() {
+    }
+
+    static boolean has(String directives, String name) {
+        return value(directives, name) != null;
+    }
+
+    /**
+     * @return the value of a directive, an empty string for one without a value, or null if absent
+     */
+    static String value(String directives, String name) {
+        if (directives == null) return null;
+        for (String directive : directives.split(",")) {
+            String trimmed = directive.strip();
+            int equals = trimmed.indexOf('=');
+            String directiveName = equals < 0 ? trimmed : trimmed.substring(0, equals).strip();
+            if (directiveName.equalsIgnoreCase(name))
+                return equals < 0 ? "" : trimmed.substring(equals + 1).strip().replace("\"", "");
+        }
+        return null;
+    }
+
+    /**
+     * How long a stored response may be served without asking the backend. The gateway caches per
+     * account, so like a surrogate it follows {@code Surrogate-Control} first and then
+     * {@code s-maxage}; a private {@code max-age} is meant for the client and is ignored.
+     */
+    static long freshnessMillis(HttpHeaders headers) {
+        Long surrogate = seconds(value(headers.getFirst(SURROGATE_CONTROL), "max-age"));
+        if (surrogate != null) return surrogate * 1000;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null || has(cacheControl, "no-cache")) return 0;
+        Long shared = seconds(value(cacheControl, "s-maxage"));
+        if (shared != null) return shared * 1000;
+        Long maxAge = seconds(value(cacheControl, "max-age"));
+        return maxAge != null && !has(cacheControl, "private") ? maxAge * 1000 : 0;
+    }
+
+    static boolean isStorable(HttpHeaders headers) {
+        if (has(headers.getCacheControl(), "no-store") || has(headers.getFirst(SURROGATE_CONTROL), "no-store")
+                || headers.containsKey(HttpHeaders.SET_COOKIE))
+            return false;
+        for (String vary : headers.getVary()) {
+            if (!KEYED_VARY.contains(vary.toLowerCase(Locale.ROOT))) return false;
+        }
+        return headers.getETag() != null || freshnessMillis(headers) > 0;
+    }
+
+    private static Long seconds(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
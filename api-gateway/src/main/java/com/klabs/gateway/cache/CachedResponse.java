@@ -0,0 +1,56 @@
+package com.klabs.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A stored 200 response with the headers a client should see; hop-by-hop and surrogate headers are
+ * left out.
+ */
+record CachedResponse(String subject, HttpHeaders headers, byte[] body, long storedAtMillis, long freshUntilMillis) {
+
+    private static final int HEADER_OVERHEAD = 64;
+
+    static CachedResponse of(String subject, HttpHeaders responseHeaders, byte[] body, long nowMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(responseHeaders);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.CONNECTION);
+        headers.remove(CacheDirectives.SURROGATE_CONTROL);
+        headers.setContentLength(body.length);
+        return new CachedResponse(subject, HttpHeaders.readOnlyHttpHeaders(headers), body, nowMillis,
+                nowMillis + CacheDirectives.freshnessMillis(responseHeaders));
+    }
+
+    /**
+     * The same body after the backend answered 304, with the validators and freshness it sent.
+     */
+    CachedResponse revalidated(HttpHeaders notModifiedHeaders, long nowMillis) {
+        HttpHeaders updated = new HttpHeaders();
+        updated.putAll(headers);
+        for (String name : new String[]{HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.EXPIRES, HttpHeaders.DATE}) {
+            if (notModifiedHeaders.containsKey(name)) updated.put(name, notModifiedHeaders.get(name));
+        }
+        long freshness = notModifiedHeaders.containsKey(CacheDirectives.SURROGATE_CONTROL)
+                || notModifiedHeaders.containsKey(HttpHeaders.CACHE_CONTROL)
+                ? CacheDirectives.freshnessMillis(notModifiedHeaders)
+                : freshUntilMillis - storedAtMillis;
+        return new CachedResponse(subject, HttpHeaders.readOnlyHttpHeaders(updated), body, nowMillis, nowMillis + freshness);
+    }
+
+    String etag() {
+        return headers.getETag();
+    }
+
+    boolean isFresh(long nowMillis) {
+        return nowMillis < freshUntilMillis;
+    }
+
+    long sizeBytes() {
+        long size = body.length;
+        for (var header : headers.entrySet()) {
+            size += HEADER_OVERHEAD + header.getKey().length();
+            for (String value : header.getValue()) size += value.length();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,174 @@
+package com.klabs.gateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stored responses in least recently used order, bounded by their total size and indexed by
+ * account so an account event drops all of them at once. A response fetched while its account was
+ * invalidated is not stored, using a generation per stripe of accounts. Entries are served only
+ * while {@link AccountEventInvalidationListener} follows the event stream.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Set<Key>> keysBySubject = new HashMap<>();
+
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private final Counter evictions;
+
+    private final Counter invalidations;
+
+    private long bytes;
+
+    private volatile boolean live;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxBytes = properties.maxSize().toBytes();
+        Gauge.builder("gateway.response.cache.size", this, ResponseCache::bytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("gateway.response.cache.entries", this, ResponseCache::size).register(meterRegistry);
+        this.evictions = meterRegistry.counter("gateway.response.cache.evictions");
+        this.invalidations = meterRegistry.counter("gateway.response.cache.invalidations");
+    }
+
+    boolean isLive() {
+        return live;
+    }
+
+    /**
+     * Entries are only trustworthy while invalidations arrive; losing the stream drops them all.
+     */
+    void setLive(boolean live) {
+        this.live = live;
+        if (!live) clear();
+    }
+
+    CachedResponse get(Key key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long generation(String subject) {
+        lock.lock();
+        try {
+            return generations[stripe(subject)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param generation of the subject when the request was sent upstream
+     * @return false if the subject was invalidated meanwhile and the response was not stored
+     */
+    boolean put(Key key, CachedResponse response, long generation) {
+        long size = response.sizeBytes();
+        lock.lock();
+        try {
+            if (!live || generations[stripe(key.subject())] != generation || size > maxBytes) return false;
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) bytes -= previous.sizeBytes();
+            keysBySubject.computeIfAbsent(key.subject(), subject -> new HashSet<>()).add(key);
+            bytes += size;
+            evictOverflow();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(String subject) {
+        lock.lock();
+        try {
+            generations[stripe(subject)]++;
+            Set<Key> keys = keysBySubject.remove(subject);
+            if (keys == null) return;
+            for (Key key : keys) {
+                CachedResponse removed = entries.remove(key);
+                if (removed != null) bytes -= removed.sizeBytes();
+            }
+            invalidations.increment(keys.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            for (int i = 0; i < generations.length; i++) generations[i]++;
+            entries.clear();
+            keysBySubject.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Key, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, CachedResponse> entry = eldest.next();
+            eldest.remove();
+            bytes -= entry.getValue().sizeBytes();
+            Set<Key> keys = keysBySubject.get(entry.getKey().subject());
+            if (keys != null && keys.remove(entry.getKey()) && keys.isEmpty()) keysBySubject.remove(entry.getKey().subject());
+            evictions.increment();
+        }
+    }
+
+    private static int stripe(String subject) {
+        return (subject.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    /**
+     * A request as far as the cache is concerned; the subject is the account id set by the JWT filter
+     * and the credential the token it came with, so a revoked token never shares another session's entries.
+     */
+    record Key(String route, String subject, String credential, String path, String query, String accept,
+               String acceptEncoding) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.klabs.gateway.cache;
+
+import com.klabs.gateway.security.ClaimHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Answers GET requests of an authenticated account from the {@link ResponseCache}. A fresh entry
+ * is served without a backend call; a stale one with an ETag is revalidated with
+ * {@code If-None-Match} and served again on 304. Place it after the JWT filter, which sets the
+ * account and token ids the cache is keyed by, and before coalescing and the circuit breaker. The
+ * gateway does not check revocation, so entries are kept per token: a token revoked by a logout
+ * must reach account-service even after another session of its account refilled the cache.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private final ResponseCache cache;
+
+    private final ResponseCacheProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache cache, ResponseCacheProperties properties,
+                                             MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.cache = cache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (!properties.enabled()) return (exchange, chain) -> chain.filter(exchange);
+
+        Outcomes outcomes = new Outcomes(config.getName());
+        int maxEntryBytes = (int) Math.min(Integer.MAX_VALUE, properties.maxEntrySize().toBytes());
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String subject = request.getHeaders().getFirst(ClaimHeaders.ACCOUNT_ID);
+            String requestCacheControl = request.getHeaders().getCacheControl();
+            if (request.getMethod() != HttpMethod.GET || subject == null || !cache.isLive()
+                    || CacheDirectives.has(requestCacheControl, "no-store")) {
+                outcomes.bypass.increment();
+                return chain.filter(exchange);
+            }
+
+            ResponseCache.Key key = key(config.getName(), subject, request);
+            String clientEtag = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            long now = System.currentTimeMillis();
+            CachedResponse cached = cache.get(key);
+            if (cached != null && cached.isFresh(now) && !CacheDirectives.has(requestCacheControl, "no-cache")) {
+                outcomes.hit.increment();
+                return write(exchange.getResponse(), cached, clientEtag, now);
+            }
+
+            CachedResponse revalidating = cached != null && cached.etag() != null ? cached : null;
+            long generation = cache.generation(subject);
+            CachingResponse response = new CachingResponse(exchange.getResponse(), key, revalidating, generation,
+                    clientEtag, maxEntryBytes, outcomes);
+            return chain.filter(exchange.mutate()
+                    .request(r -> {
+                        if (revalidating != null) r.headers(h -> h.set(HttpHeaders.IF_NONE_MATCH, revalidating.etag()));
+                    })
+                    .response(response)
+                    .build());
+        };
+    }
+
+    private static ResponseCache.Key key(String route, String subject, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String tokenId = headers.getFirst(ClaimHeaders.TOKEN_ID);
+        return new ResponseCache.Key(route, subject, tokenId != null ? tokenId : headers.getFirst(HttpHeaders.AUTHORIZATION),
+                request.getURI().getRawPath(), request.getURI().getRawQuery(),
+                headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String clientEtag, long nowMillis) {
+        HttpHeaders headers = response.getHeaders();
+        headers.clear();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(Math.max(0, nowMillis - cached.storedAtMillis()) / 1000));
+        if (matches(clientEtag, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Weak comparison as for {@code If-None-Match}; compression turns the stored strong ETag weak.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        String stored = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.strip();
+            if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(stored))
+                return true;
+        }
+        return false;
+    }
+
+    public static class Config {
+
+        private String name = "default";
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+
+    private final class Outcomes {
+
+        private final Counter hit;
+
+        private final Counter revalidated;
+
+        private final Counter miss;
+
+        private final Counter bypass;
+
+        private Outcomes(String route) {
+            this.hit = requests(route, "hit");
+            this.revalidated = requests(route, "revalidated");
+            this.miss = requests(route, "miss");
+            this.bypass = requests(route, "bypass");
+        }
+
+        private Counter requests(String route, String outcome) {
+            return Counter.builder("gateway.response.cache.requests").tag("route", route).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Turns a 304 of a revalidation into the stored response and keeps a copy of a storable 200.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCache.Key key;
+
+        private final CachedResponse revalidating;
+
+        private final long generation;
+
+        private final String clientEtag;
+
+        private final int maxEntryBytes;
+
+        private final Outcomes outcomes;
+
+        private CachingResponse(ServerHttpResponse delegate, ResponseCache.Key key, CachedResponse revalidating,
+                                long generation, String clientEtag, int maxEntryBytes, Outcomes outcomes) {
+            super(delegate);
+            this.key = key;
+            this.revalidating = revalidating;
+            this.generation = generation;
+            this.clientEtag = clientEtag;
+            this.maxEntryBytes = maxEntryBytes;
+            this.outcomes = outcomes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long now = System.currentTimeMillis();
+            if (revalidating != null && getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                outcomes.revalidated.increment();
+                CachedResponse refreshed = revalidating.revalidated(getHeaders(), now);
+                cache.put(key, refreshed, generation);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> write(getDelegate(), refreshed, clientEtag, now)));
+            }
+            outcomes.miss.increment();
+            boolean storable = getStatusCode() == HttpStatus.OK && CacheDirectives.isStorable(getHeaders());
+            HttpHeaders upstreamHeaders = new HttpHeaders();
+            if (storable) upstreamHeaders.putAll(getHeaders());
+            getHeaders().remove(CacheDirectives.SURROGATE_CONTROL);
+            if (!storable) return super.writeWith(body);
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (copy.size() > maxEntryBytes) return;
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        int position = buffer.readPosition();
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (copy.size() <= maxEntryBytes)
+                            cache.put(key, CachedResponse.of(key.subject(), upstreamHeaders, copy.toByteArray(), now), generation);
+                    }));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.klabs.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Per-account cache of GET responses. Responses larger than {@code maxEntrySize} are not stored and
+ * the least recently used entries are dropped beyond {@code maxSize} in total.
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("64KB") DataSize maxEntrySize) {
+}
@@ -0,0 +1,246 @@
+package com.klabs.gateway.coalescing;
+
+import com.klabs.gateway.security.ClaimHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collapses identical concurrent GET and HEAD requests into one upstream call whose response is
+ * replayed to every request that arrived while it was in flight. Requests are identical when
+ * method, path, query, credentials, the Accept header and the {@code If-None-Match} and
+ * {@code If-Modified-Since} conditions match, so a 304 only goes to requests that asked for it;
+ * behind the JWT filter the credentials are the account and token id. A response is shared only when it fits
+ * {@code maxResponseSize} and sets no cookies; otherwise, and after {@code maxWait}, waiters go
+ * upstream on their own. Place it after the JWT filter and outside the circuit breaker. The
+ * response is shared as the backend sent it, uncompressed, and each request's own
+ * {@code CompressionFilter} encodes it for that client.
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> COALESCED = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+
+    private final CoalescingProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingGatewayFilterFactory(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (!properties.enabled()) return (exchange, chain) -> chain.filter(exchange);
+
+        Map<Key, Flight> flights = new ConcurrentHashMap<>();
+        Metrics metrics = new Metrics(config.getName());
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, properties.maxResponseSize().toBytes());
+        return (exchange, chain) -> {
+            if (!COALESCED.contains(exchange.getRequest().getMethod())) return chain.filter(exchange);
+
+            Key key = Key.of(exchange.getRequest());
+            Flight flight = new Flight();
+            Flight leading = flights.putIfAbsent(key, flight);
+            if (leading != null) return follow(exchange, chain, leading, metrics);
+
+            metrics.leader.increment();
+            CapturingResponse response = new CapturingResponse(exchange.getResponse(), maxBytes);
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doOnSuccess(done -> land(flights, key, flight, response.shared(), metrics))
+                    .doOnError(error -> land(flights, key, flight, null, metrics))
+                    .doOnCancel(() -> land(flights, key, flight, null, metrics));
+        };
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight flight, Metrics metrics) {
+        flight.followers.incrementAndGet();
+        return flight.result.asMono()
+                .timeout(properties.maxWait(), Mono.fromSupplier(() -> {
+                    metrics.timedOut.increment();
+                    return Optional.empty();
+                }))
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) return chain.filter(exchange);
+                    metrics.follower.increment();
+                    return shared.get().writeTo(exchange.getResponse());
+                });
+    }
+
+    private static void land(Map<Key, Flight> flights, Key key, Flight flight, SharedResponse shared, Metrics metrics) {
+        if (!flights.remove(key, flight)) return;
+        if (shared == null) metrics.unshareable.increment();
+        metrics.fanOut.record(1 + flight.followers.get());
+        flight.result.tryEmitValue(Optional.ofNullable(shared));
+    }
+
+    public static class Config {
+
+        private String name = "default";
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+
+    private final class Metrics {
+
+        private final Counter leader;
+
+        private final Counter follower;
+
+        private final Counter timedOut;
+
+        private final Counter unshareable;
+
+        /**
+         * Requests answered per upstream call, the collapse ratio.
+         */
+        private final DistributionSummary fanOut;
+
+        private Metrics(String route) {
+            this.leader = requests(route, "leader");
+            this.follower = requests(route, "coalesced");
+            this.timedOut = requests(route, "wait_timeout");
+            this.unshareable = requests(route, "unshareable");
+            this.fanOut = DistributionSummary.builder("gateway.coalescing.fanout")
+                    .tag("route", route)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+        }
+
+        private Counter requests(String route, String outcome) {
+            return Counter.builder("gateway.coalescing.requests").tag("route", route).tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record Key(HttpMethod method, String path, String query, String subject, String credential,
+                       String accept, String ifNoneMatch, String ifModifiedSince) {
+
+        static Key of(ServerHttpRequest request) {
+            HttpHeaders headers = request.getHeaders();
+            String tokenId = headers.getFirst(ClaimHeaders.TOKEN_ID);
+            return new Key(request.getMethod(), request.getURI().getRawPath(), request.getURI().getRawQuery(),
+                    headers.getFirst(ClaimHeaders.ACCOUNT_ID),
+                    tokenId != null ? tokenId : headers.getFirst(HttpHeaders.AUTHORIZATION),
+                    headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.IF_NONE_MATCH),
+                    headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        }
+    }
+
+    private static final class Flight {
+
+        private final Sinks.One<Optional<SharedResponse>> result = Sinks.one();
+
+        private final AtomicInteger followers = new AtomicInteger();
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+        // always through writeWith, so decorators of the follower's response see a bodiless 304 too
+        Mono<Void> writeTo(ServerHttpResponse response) {
+            response.setStatusCode(status);
+            response.getHeaders().putAll(headers);
+            if (body.length == 0) return response.writeWith(Flux.empty());
+            return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+        }
+    }
+
+    /**
+     * Passes the leader's response through while keeping a copy of its body, up to the limit, and
+     * of its headers as they were before the outer filters rewrote them for the leader's client.
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final int maxBytes;
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private volatile boolean shareable = true;
+
+        private HttpHeaders headers;
+
+        private CapturingResponse(ServerHttpResponse delegate, int maxBytes) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            snapshotHeaders();
+            return super.writeWith(Flux.from(body).doOnNext(this::capture));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // streamed responses are not replayed
+            shareable = false;
+            return super.writeAndFlushWith(body);
+        }
+
+        private synchronized void capture(DataBuffer buffer) {
+            if (!shareable) return;
+            int length = buffer.readableByteCount();
+            if (body.size() + length > maxBytes) {
+                shareable = false;
+                body.reset();
+                return;
+            }
+            byte[] bytes = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            body.writeBytes(bytes);
+        }
+
+        private synchronized void snapshotHeaders() {
+            if (headers != null) return;
+            headers = new HttpHeaders();
+            headers.putAll(getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.remove(HttpHeaders.CONNECTION);
+        }
+
+        synchronized SharedResponse shared() {
+            HttpStatusCode status = getStatusCode();
+            // a bodiless response completed without writeWith, nothing has rewritten its headers
+            snapshotHeaders();
+            if (!shareable || status == null || headers.containsKey(HttpHeaders.SET_COOKIE)) return null;
+            return new SharedResponse(status, headers, body.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.klabs.gateway.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Collapsing of identical concurrent GET and HEAD requests. A waiting request gives up after
+ * {@code maxWait} and goes upstream itself, as do all waiters when the response is larger than
+ * {@code maxResponseSize}.
+ */
+@ConfigurationProperties(prefix = "app.coalescing")
+public record CoalescingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1s") Duration maxWait,
+        @DefaultValue("256KB") DataSize maxResponseSize) {
+}
@@ -0,0 +1,102 @@
+package com.klabs.gateway.compression;
+
+import com.aayushatharva.brotli4j.encoder.BrotliEncoderChannel;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Brotli through the native brotli4j encoder, which has no reusable state; its output is written
+ * into the current output buffer as it is produced.
+ */
+final class BrotliEncoder implements ContentEncoder {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Sink sink = new Sink();
+
+    private final BrotliEncoderChannel channel;
+
+    private boolean closed;
+
+    BrotliEncoder(int quality) {
+        try {
+            this.channel = new BrotliEncoderChannel(sink, new Encoder.Parameters().setQuality(quality), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized DataBuffer encode(DataBuffer input, DataBufferFactory factory) {
+        DataBuffer output = sink.target = factory.allocateBuffer(Math.max(64, input.readableByteCount() / 2));
+        try (DataBuffer.ByteBufferIterator chunks = input.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                ByteBuffer chunk = chunks.next();
+                while (chunk.hasRemaining()) channel.write(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sink.target = null;
+        }
+        return output;
+    }
+
+    @Override
+    public synchronized DataBuffer finish(DataBufferFactory factory) {
+        DataBuffer output = sink.target = factory.allocateBuffer(BUFFER_SIZE);
+        try {
+            closed = true;
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sink.target = null;
+        }
+        return output;
+    }
+
+    @Override
+    public synchronized void release() {
+        if (closed) return;
+        closed = true;
+        try {
+            // output of an abandoned body goes nowhere, the sink has no target
+            channel.close();
+        } catch (IOException e) {
+            // nothing left to clean up
+        }
+    }
+
+    private static final class Sink implements WritableByteChannel {
+
+        private DataBuffer target;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            if (target == null) {
+                source.position(source.limit());
+                return length;
+            }
+            target.ensureWritable(length);
+            target.write(source);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.klabs.gateway.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses responses with brotli or gzip, whichever the client prefers, chunk by chunk as they
+ * stream through, so large bodies are never aggregated. Backends are asked for uncompressed
+ * responses, which keeps one representation for the response cache and coalescing, and the
+ * compression runs once here. Brotli is offered only when its native library loads.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    static final String GZIP = "gzip";
+
+    static final String BROTLI = "br";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CompressionProperties properties;
+
+    private final List<MimeType> mimeTypes;
+
+    private final DeflaterPool deflaters;
+
+    private final boolean brotliAvailable;
+
+    private final Map<String, Metrics> metrics;
+
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mimeTypes = properties.mimeTypes().stream().map(MimeType::valueOf).toList();
+        this.deflaters = new DeflaterPool(properties.gzipLevel(), properties.pooledDeflaters());
+        this.brotliAvailable = properties.enabled() && isBrotliAvailable();
+        this.metrics = Map.of(GZIP, new Metrics(GZIP, meterRegistry), BROTLI, new Metrics(BROTLI, meterRegistry));
+        Gauge.builder("gateway.compression.deflaters.idle", deflaters, DeflaterPool::idle).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled()) return chain.filter(exchange);
+        String encoding = exchange.getRequest().getMethod() == HttpMethod.HEAD ? null
+                : negotiate(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING), brotliAvailable);
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING)))
+                .response(encoding == null ? exchange.getResponse()
+                        : new CompressingResponse(exchange.getResponse(), encoding))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    /**
+     * @return the accepted encoding with the highest quality, brotli on a tie, or null for none
+     */
+    static String negotiate(String acceptEncoding, boolean brotliAvailable) {
+        if (acceptEncoding == null) return null;
+        double gzip = 0;
+        double brotli = 0;
+        double wildcard = -1;
+        boolean gzipListed = false;
+        boolean brotliListed = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            switch (coding) {
+                case GZIP, "x-gzip" -> {
+                    gzip = quality;
+                    gzipListed = true;
+                }
+                case BROTLI -> {
+                    brotli = quality;
+                    brotliListed = true;
+                }
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        if (!gzipListed && wildcard >= 0) gzip = wildcard;
+        if (!brotliListed && wildcard >= 0) brotli = wildcard;
+        if (!brotliAvailable) brotli = 0;
+        if (brotli > 0 && brotli >= gzip) return BROTLI;
+        return gzip > 0 ? GZIP : null;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private boolean isCompressible(HttpStatusCode status, HttpHeaders headers) {
+        if (status != null && (status.is1xxInformational() || status.value() == 204 || status.value() == 304))
+            return false;
+        String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding)) return false;
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-transform")) return false;
+        MediaType contentType = headers.getContentType();
+        if (contentType == null || mimeTypes.stream().noneMatch(type -> type.isCompatibleWith(contentType))) return false;
+        long length = headers.getContentLength();
+        return length < 0 || length >= properties.minResponseSize().toBytes();
+    }
+
+    private ContentEncoder encoder(String encoding) {
+        return BROTLI.equals(encoding) ? new BrotliEncoder(properties.brotliQuality()) : new GzipEncoder(deflaters);
+    }
+
+    private static boolean isBrotliAvailable() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli is not available on this platform, compressing with gzip only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private static final class Metrics {
+
+        private final Counter bytesIn;
+
+        private final Counter bytesOut;
+
+        private final Counter bytesSaved;
+
+        private final Timer cpu;
+
+        private Metrics(String encoding, MeterRegistry meterRegistry) {
+            this.bytesIn = Counter.builder("gateway.compression.bytes.in").baseUnit("bytes").tag("encoding", encoding)
+                    .register(meterRegistry);
+            this.bytesOut = Counter.builder("gateway.compression.bytes.out").baseUnit("bytes").tag("encoding", encoding)
+                    .register(meterRegistry);
+            this.bytesSaved = Counter.builder("gateway.compression.bytes.saved").baseUnit("bytes").tag("encoding", encoding)
+                    .register(meterRegistry);
+            this.cpu = Timer.builder("gateway.compression.cpu").tag("encoding", encoding)
+                    .description("CPU time spent compressing one response")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Totals of one response body, touched only by the thread writing it.
+     */
+    private static final class Usage {
+
+        private long bytesIn;
+
+        private long bytesOut;
+
+        private long cpuNanos;
+    }
+
+    /**
+     * Decides on the first write, once status and headers are known, whether to compress.
+     */
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final String encoding;
+
+        private CompressingResponse(ServerHttpResponse delegate, String encoding) {
+            super(delegate);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!isCompressible(getStatusCode(), headers)) return super.writeWith(body);
+
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String etag = headers.getETag();
+            // the compressed body is a different representation, no longer byte for byte the same
+            if (etag != null && !etag.startsWith("W/")) headers.setETag("W/" + etag);
+
+            ContentEncoder encoder = encoder(encoding);
+            Metrics meters = metrics.get(encoding);
+            DataBufferFactory factory = bufferFactory();
+            Usage usage = new Usage();
+            return super.writeWith(Flux.from(body)
+                    .map(input -> {
+                        long start = cpuNanos();
+                        try {
+                            usage.bytesIn += input.readableByteCount();
+                            return encoder.encode(input, factory);
+                        } finally {
+                            DataBufferUtils.release(input);
+                            usage.cpuNanos += cpuNanos() - start;
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(() -> {
+                        long start = cpuNanos();
+                        DataBuffer last = encoder.finish(factory);
+                        usage.cpuNanos += cpuNanos() - start;
+                        return last;
+                    }))
+                    .filter(output -> {
+                        usage.bytesOut += output.readableByteCount();
+                        if (output.readableByteCount() > 0) return true;
+                        DataBufferUtils.release(output);
+                        return false;
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signal -> {
+                        encoder.release();
+                        meters.bytesIn.increment(usage.bytesIn);
+                        meters.bytesOut.increment(usage.bytesOut);
+                        meters.bytesSaved.increment(Math.max(0, usage.bytesIn - usage.bytesOut));
+                        meters.cpu.record(usage.cpuNanos, TimeUnit.NANOSECONDS);
+                    }));
+        }
+    }
+}
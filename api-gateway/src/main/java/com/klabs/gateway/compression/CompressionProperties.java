@@ -0,0 +1,23 @@
+package com.klabs.gateway.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Compression of responses the client accepts compressed. Responses with a known length below
+ * {@code minResponseSize} are sent as they are; streamed ones of unknown length are compressed.
+ * At most {@code pooledDeflaters} idle gzip compressors are kept for reuse.
+ */
+@ConfigurationProperties(prefix = "app.compression")
+public record CompressionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1KB") DataSize minResponseSize,
+        @DefaultValue({"application/json", "application/problem+json", "application/xml", "text/plain",
+                "text/csv", "text/html"}) List<String> mimeTypes,
+        @DefaultValue("6") int gzipLevel,
+        @DefaultValue("4") int brotliQuality,
+        @DefaultValue("64") int pooledDeflaters) {
+}
@@ -0,0 +1,24 @@
+package com.klabs.gateway.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * Compresses one response body chunk by chunk. Input is read in place and output is written
+ * straight into buffers of the response's factory, so the only copy is the compressed one.
+ */
+interface ContentEncoder {
+
+    /**
+     * Compresses a chunk without releasing it; the result may be empty while the compressor
+     * collects input.
+     */
+    DataBuffer encode(DataBuffer input, DataBufferFactory factory);
+
+    DataBuffer finish(DataBufferFactory factory);
+
+    /**
+     * Frees the compressor, also when the body was not finished. Safe to call more than once.
+     */
+    void release();
+}
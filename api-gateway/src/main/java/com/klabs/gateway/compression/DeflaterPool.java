@@ -0,0 +1,46 @@
+package com.klabs.gateway.compression;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * Idle deflaters for reuse. A deflater holds a few hundred kilobytes of native memory, so
+ * creating and ending one per response costs more than compressing a small body.
+ */
+final class DeflaterPool {
+
+    private final int level;
+
+    private final int maxIdle;
+
+    private final ConcurrentLinkedQueue<Deflater> idle = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    DeflaterPool(int level, int maxIdle) {
+        this.level = level;
+        this.maxIdle = maxIdle;
+    }
+
+    Deflater borrow() {
+        Deflater deflater = idle.poll();
+        if (deflater == null) return new Deflater(level, true);
+        idleCount.decrementAndGet();
+        return deflater;
+    }
+
+    void giveBack(Deflater deflater) {
+        deflater.reset();
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(deflater);
+        } else {
+            idleCount.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    int idle() {
+        return idleCount.get();
+    }
+}
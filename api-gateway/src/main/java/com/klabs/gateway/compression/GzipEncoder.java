@@ -0,0 +1,89 @@
+package com.klabs.gateway.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip framing around a raw deflate stream from the {@link DeflaterPool}.
+ */
+final class GzipEncoder implements ContentEncoder {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int TRAILER_SIZE = 8;
+
+    private static final int CHUNK = 8192;
+
+    private final DeflaterPool pool;
+
+    private final CRC32 crc = new CRC32();
+
+    private Deflater deflater;
+
+    private boolean headerWritten;
+
+    GzipEncoder(DeflaterPool pool) {
+        this.pool = pool;
+        this.deflater = pool.borrow();
+    }
+
+    @Override
+    public synchronized DataBuffer encode(DataBuffer input, DataBufferFactory factory) {
+        DataBuffer output = factory.allocateBuffer(Math.max(HEADER.length, input.readableByteCount() / 2));
+        writeHeader(output);
+        try (DataBuffer.ByteBufferIterator chunks = input.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                ByteBuffer chunk = chunks.next();
+                crc.update(chunk.duplicate());
+                deflater.setInput(chunk);
+                while (!deflater.needsInput()) deflate(output, Deflater.NO_FLUSH);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public synchronized DataBuffer finish(DataBufferFactory factory) {
+        DataBuffer output = factory.allocateBuffer(CHUNK);
+        writeHeader(output);
+        deflater.finish();
+        while (!deflater.finished()) deflate(output, Deflater.NO_FLUSH);
+        output.ensureWritable(TRAILER_SIZE);
+        writeIntLittleEndian(output, (int) crc.getValue());
+        writeIntLittleEndian(output, (int) deflater.getBytesRead());
+        return output;
+    }
+
+    @Override
+    public synchronized void release() {
+        if (deflater == null) return;
+        pool.giveBack(deflater);
+        deflater = null;
+    }
+
+    private void writeHeader(DataBuffer output) {
+        if (headerWritten) return;
+        output.write(HEADER);
+        headerWritten = true;
+    }
+
+    private void deflate(DataBuffer output, int flush) {
+        output.ensureWritable(CHUNK);
+        int written;
+        try (DataBuffer.ByteBufferIterator buffers = output.writableByteBuffers()) {
+            written = deflater.deflate(buffers.next(), flush);
+        }
+        output.writePosition(output.writePosition() + written);
+    }
+
+    private static void writeIntLittleEndian(DataBuffer output, int value) {
+        output.write((byte) value);
+        output.write((byte) (value >>> 8));
+        output.write((byte) (value >>> 16));
+        output.write((byte) (value >>> 24));
+    }
+}
@@ -0,0 +1,78 @@
+package com.klabs.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Passive health of one backend instance: requests in flight, consecutive failures and, after too
+ * many, the time until which it is ejected. An instance that joins or returns from ejection is
+ * weighted down until its slow start has passed, so it is not flooded while its caches are cold.
+ */
+final class InstanceStats {
+
+    private static final double MIN_WEIGHT = 0.1;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private int consecutiveFailures;
+
+    private int ejections;
+
+    private volatile long ejectedUntilMillis;
+
+    private volatile long activeSinceMillis;
+
+    InstanceStats(long nowMillis) {
+        this.activeSinceMillis = nowMillis;
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void finished() {
+        inFlight.decrementAndGet();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void succeeded() {
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * @return whether this failure ejected the instance
+     */
+    synchronized boolean failed(long nowMillis, int threshold, long ejectionMillis, long maxEjectionMillis) {
+        if (isEjected(nowMillis) || ++consecutiveFailures < threshold) return false;
+        consecutiveFailures = 0;
+        // each ejection in a row lasts longer, an instance healthy for a while starts over
+        if (nowMillis - ejectedUntilMillis > maxEjectionMillis) ejections = 0;
+        ejections++;
+        long ejectedFor = Math.min(maxEjectionMillis, ejectionMillis * ejections);
+        ejectedUntilMillis = nowMillis + ejectedFor;
+        activeSinceMillis = ejectedUntilMillis;
+        return true;
+    }
+
+    boolean isEjected(long nowMillis) {
+        return nowMillis < ejectedUntilMillis;
+    }
+
+    /**
+     * Weight between 0.1 and 1 that grows linearly over the slow start period.
+     */
+    double weight(long nowMillis, long slowStartMillis) {
+        if (slowStartMillis <= 0) return 1;
+        double ramp = (double) (nowMillis - activeSinceMillis) / slowStartMillis;
+        return Math.max(MIN_WEIGHT, Math.min(1, ramp));
+    }
+
+    /**
+     * Lower is better: requests in flight, including the one being placed, per unit of weight.
+     */
+    double load(long nowMillis, long slowStartMillis) {
+        return (inFlight.get() + 1) / weight(nowMillis, slowStartMillis);
+    }
+}
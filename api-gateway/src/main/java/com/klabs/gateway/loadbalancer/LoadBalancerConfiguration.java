@@ -0,0 +1,9 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@LoadBalancerClients(defaultConfiguration = UpstreamLoadBalancerConfiguration.class)
+class LoadBalancerConfiguration {
+}
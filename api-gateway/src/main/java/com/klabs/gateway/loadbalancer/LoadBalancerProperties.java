@@ -0,0 +1,34 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend instances per service id, routed to as {@code lb://<service>}, and the passive health
+ * settings shared by all of them.
+ */
+@ConfigurationProperties(prefix = "app.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue Map<String, Service> services,
+        @DefaultValue("5") int consecutiveFailures,
+        @DefaultValue("30s") Duration ejectionTime,
+        @DefaultValue("5m") Duration maxEjectionTime,
+        @DefaultValue("50") int maxEjectedPercent,
+        @DefaultValue("30s") Duration slowStart) {
+
+    /**
+     * Instances listed here and, if set, one URI per line in {@code instancesFile}, which is
+     * re-read when it changes, at most once per {@code refreshInterval}.
+     */
+    public record Service(
+            @DefaultValue List<URI> instances,
+            Path instancesFile,
+            @DefaultValue("10s") Duration refreshInterval) {
+    }
+}
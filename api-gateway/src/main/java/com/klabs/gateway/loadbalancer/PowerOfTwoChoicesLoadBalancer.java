@@ -0,0 +1,35 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks the less loaded of two random instances, see {@link UpstreamRegistry#choose}. Unlike round
+ * robin this steers away from a replica that is slow or stuck in a pause, because its requests pile
+ * up in flight.
+ */
+class PowerOfTwoChoicesLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ServiceInstanceListSupplier instances;
+
+    private final UpstreamRegistry registry;
+
+    PowerOfTwoChoicesLoadBalancer(ServiceInstanceListSupplier instances, UpstreamRegistry registry) {
+        this.instances = instances;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        return instances.get(request).next().map(candidates -> {
+            ServiceInstance chosen = registry.choose(candidates, System.currentTimeMillis());
+            return chosen == null ? new EmptyResponse() : new DefaultResponse(chosen);
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Wraps the proxied call so a request cancelled by a disconnecting client or a time limiter still
+ * leaves flight; the load balancer only completes requests that finished or failed.
+ */
+@Component
+public class UpstreamCancellationFilter implements GlobalFilter, Ordered {
+
+    private final UpstreamLoadBalancerLifecycle lifecycle;
+
+    public UpstreamCancellationFilter(UpstreamLoadBalancerLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) lifecycle.cancelled(exchange.getAttributes());
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.klabs.gateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Instances of one service from the configuration and an optional file. The file is checked
+ * lazily when the balancer asks for instances; a file that cannot be read keeps the last list.
+ */
+@Slf4j
+class UpstreamInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private final String serviceId;
+
+    private final LoadBalancerProperties.Service service;
+
+    private volatile List<ServiceInstance> instances;
+
+    private volatile long nextCheckMillis;
+
+    private FileTime fileModified;
+
+    UpstreamInstanceListSupplier(String serviceId, LoadBalancerProperties.Service service) {
+        this.serviceId = serviceId;
+        this.service = service;
+        this.instances = toInstances(service.instances());
+        refreshFromFile(System.currentTimeMillis());
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        long now = System.currentTimeMillis();
+        if (service.instancesFile() != null && now >= nextCheckMillis) refreshFromFile(now);
+        return Flux.just(instances);
+    }
+
+    private synchronized void refreshFromFile(long nowMillis) {
+        if (service.instancesFile() == null || nowMillis < nextCheckMillis) return;
+        nextCheckMillis = nowMillis + service.refreshInterval().toMillis();
+        try {
+            FileTime modified = Files.getLastModifiedTime(service.instancesFile());
+            if (modified.equals(fileModified)) return;
+            Set<URI> uris = new LinkedHashSet<>(service.instances());
+            for (String line : Files.readAllLines(service.instancesFile())) {
+                String trimmed = line.strip();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) uris.add(URI.create(trimmed));
+            }
+            instances = toInstances(uris);
+            fileModified = modified;
+            log.info("Loaded {} instances of {} from {}", instances.size(), serviceId, service.instancesFile());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to read instances of {} from {}, keeping {} known instances: {}",
+                    serviceId, service.instancesFile(), instances.size(), e.getMessage());
+        }
+    }
+
+    private List<ServiceInstance> toInstances(Iterable<URI> uris) {
+        List<ServiceInstance> result = new ArrayList<>();
+        for (URI uri : uris) {
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+            result.add(new DefaultServiceInstance(uri.getHost() + ":" + port, serviceId, uri.getHost(), port, secure));
+        }
+        return List.copyOf(result);
+    }
+}
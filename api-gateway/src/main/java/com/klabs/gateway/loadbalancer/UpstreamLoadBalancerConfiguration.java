@@ -0,0 +1,26 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Beans of every per-service load balancer context. Deliberately not a {@code @Configuration}:
+ * it is registered through {@link LoadBalancerConfiguration} only, never by component scan.
+ */
+class UpstreamLoadBalancerConfiguration {
+
+    @Bean
+    ServiceInstanceListSupplier upstreamInstanceListSupplier(Environment environment, UpstreamRegistry registry) {
+        return registry.supplier(LoadBalancerClientFactory.getName(environment));
+    }
+
+    @Bean
+    ReactorLoadBalancer<ServiceInstance> upstreamLoadBalancer(ServiceInstanceListSupplier instances,
+                                                              UpstreamRegistry registry) {
+        return new PowerOfTwoChoicesLoadBalancer(instances, registry);
+    }
+}
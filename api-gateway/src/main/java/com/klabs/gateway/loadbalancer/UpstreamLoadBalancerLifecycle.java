@@ -0,0 +1,76 @@
+package com.klabs.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Reports every proxied request to the {@link UpstreamRegistry}: in flight from the moment an
+ * instance is chosen, and on completion its latency and whether it failed. Connection errors,
+ * timeouts and 5xx responses count as failures. A cancelled request, which the load balancer
+ * never completes, only leaves flight through {@link #cancelled}.
+ */
+@Component
+public class UpstreamLoadBalancerLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private static final String IN_FLIGHT_ATTRIBUTE = UpstreamLoadBalancerLifecycle.class.getName() + ".inFlight";
+
+    private final UpstreamRegistry registry;
+
+    public UpstreamLoadBalancerLifecycle(UpstreamRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) return;
+        attributes(request).put(IN_FLIGHT_ATTRIBUTE, new InFlight(lbResponse.getServer(), System.nanoTime()));
+        registry.started(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+        if (context.status() == CompletionContext.Status.DISCARD || context.getLoadBalancerResponse() == null
+                || !context.getLoadBalancerResponse().hasServer()) return;
+        // only requests counted in flight by onStartRequest and not cancelled since are finished here
+        if (!(attributes(context.getLoadBalancerRequest()).remove(IN_FLIGHT_ATTRIBUTE) instanceof InFlight inFlight)) return;
+
+        ResponseData response = context.getClientResponse();
+        boolean failed = context.status() == CompletionContext.Status.FAILED
+                || response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+        registry.completed(inFlight.instance(), failed, System.nanoTime() - inFlight.startedAtNanos());
+    }
+
+    /**
+     * Takes a request whose exchange was cancelled out of flight, without a latency or an outcome:
+     * a client that went away says nothing about the backend.
+     */
+    void cancelled(Map<String, Object> attributes) {
+        if (attributes.remove(IN_FLIGHT_ATTRIBUTE) instanceof InFlight inFlight) registry.released(inFlight.instance());
+    }
+
+    private static Map<String, Object> attributes(Request<RequestDataContext> request) {
+        return request.getContext().getClientRequest().getAttributes();
+    }
+
+    private record InFlight(ServiceInstance instance, long startedAtNanos) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.klabs.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passive health of every backend instance, shared by the per-service balancers and the lifecycle
+ * that reports request outcomes, and the selection itself: power of two choices over the instances
+ * that are not ejected, comparing requests in flight scaled by the slow start weight.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class UpstreamRegistry {
+
+    private final LoadBalancerProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, UpstreamInstanceListSupplier> suppliers = new ConcurrentHashMap<>();
+
+    private final Map<String, Instance> instances = new ConcurrentHashMap<>();
+
+    public UpstreamRegistry(LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    UpstreamInstanceListSupplier supplier(String serviceId) {
+        LoadBalancerProperties.Service service = properties.services().get(serviceId);
+        if (service == null) throw new IllegalStateException("No instances configured for service " + serviceId);
+        return suppliers.computeIfAbsent(serviceId, id -> new UpstreamInstanceListSupplier(id, service));
+    }
+
+    ServiceInstance choose(List<ServiceInstance> candidates, long nowMillis) {
+        if (candidates.isEmpty()) return null;
+        if (candidates.size() == 1) return candidates.getFirst();
+
+        List<ServiceInstance> healthy = candidates.stream()
+                .filter(instance -> !instance(instance).stats.isEjected(nowMillis))
+                .toList();
+        // like a panic threshold: with too many instances ejected, spread over all of them
+        int minHealthy = (int) Math.ceil(candidates.size() * (100 - properties.maxEjectedPercent()) / 100.0);
+        List<ServiceInstance> pool = healthy.size() >= Math.max(1, minHealthy) ? healthy : candidates;
+        if (pool.size() == 1) return pool.getFirst();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(pool.size());
+        int second = random.nextInt(pool.size() - 1);
+        if (second >= first) second++;
+        long slowStartMillis = properties.slowStart().toMillis();
+        ServiceInstance a = pool.get(first);
+        ServiceInstance b = pool.get(second);
+        return instance(a).stats.load(nowMillis, slowStartMillis) <= instance(b).stats.load(nowMillis, slowStartMillis) ? a : b;
+    }
+
+    void started(ServiceInstance serviceInstance) {
+        instance(serviceInstance).stats.started();
+    }
+
+    void completed(ServiceInstance serviceInstance, boolean failed, long elapsedNanos) {
+        Instance instance = instance(serviceInstance);
+        instance.stats.finished();
+        instance.latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (!failed) {
+            instance.stats.succeeded();
+            return;
+        }
+        if (instance.stats.failed(System.currentTimeMillis(), properties.consecutiveFailures(),
+                properties.ejectionTime().toMillis(), properties.maxEjectionTime().toMillis())) {
+            instance.ejections.increment();
+            log.warn("Ejected {} instance {} after {} consecutive failures", serviceInstance.getServiceId(),
+                    serviceInstance.getInstanceId(), properties.consecutiveFailures());
+        }
+    }
+
+    void released(ServiceInstance serviceInstance) {
+        instance(serviceInstance).stats.finished();
+    }
+
+    InstanceStats stats(ServiceInstance serviceInstance) {
+        return instance(serviceInstance).stats;
+    }
+
+    private Instance instance(ServiceInstance serviceInstance) {
+        String key = serviceInstance.getServiceId() + '/' + serviceInstance.getInstanceId();
+        Instance instance = instances.get(key);
+        return instance != null ? instance : instances.computeIfAbsent(key, k -> register(serviceInstance));
+    }
+
+    private Instance register(ServiceInstance serviceInstance) {
+        String service = serviceInstance.getServiceId();
+        String id = serviceInstance.getInstanceId();
+        InstanceStats stats = new InstanceStats(System.currentTimeMillis());
+        Gauge.builder("gateway.upstream.inflight", stats, InstanceStats::inFlight)
+                .tag("service", service).tag("instance", id).register(meterRegistry);
+        Gauge.builder("gateway.upstream.ejected", stats, s -> s.isEjected(System.currentTimeMillis()) ? 1 : 0)
+                .tag("service", service).tag("instance", id).register(meterRegistry);
+        Timer latency = Timer.builder("gateway.upstream.latency")
+                .tag("service", service).tag("instance", id)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Counter ejections = Counter.builder("gateway.upstream.ejections")
+                .tag("service", service).tag("instance", id).register(meterRegistry);
+        return new Instance(stats, latency, ejections);
+    }
+
+    private record Instance(InstanceStats stats, Timer latency, Counter ejections) {
+    }
+}
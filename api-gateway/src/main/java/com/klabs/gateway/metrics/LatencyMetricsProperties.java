@@ -0,0 +1,17 @@
+package com.klabs.gateway.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Latency histograms of proxied requests. The percentile buckets span {@code minimumExpected} to
+ * {@code maximumExpected}; slower requests land in the last bucket.
+ */
+@ConfigurationProperties(prefix = "app.metrics.latency")
+public record LatencyMetricsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1ms") Duration minimumExpected,
+        @DefaultValue("30s") Duration maximumExpected) {
+}
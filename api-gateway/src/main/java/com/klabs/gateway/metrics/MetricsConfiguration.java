@@ -0,0 +1,26 @@
+package com.klabs.gateway.metrics;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets the proxy client mark when it has a connection and starts the request, and when the
+ * response headers arrive, in the {@link RequestTiming} of the request it is proxying.
+ */
+@Configuration
+class MetricsConfiguration {
+
+    @Bean
+    public HttpClientCustomizer upstreamTiming() {
+        return httpClient -> httpClient
+                .doOnRequest((request, connection) -> {
+                    RequestTiming timing = RequestTiming.of(request.currentContextView());
+                    if (timing != null) timing.requestSent(System.nanoTime());
+                })
+                .doOnResponse((response, connection) -> {
+                    RequestTiming timing = RequestTiming.of(response.currentContextView());
+                    if (timing != null) timing.responseReceived(System.nanoTime());
+                });
+    }
+}
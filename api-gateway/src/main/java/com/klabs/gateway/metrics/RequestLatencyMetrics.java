@@ -0,0 +1,103 @@
+package com.klabs.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route latency histograms: {@code gateway.requests} by status class, and
+ * {@code gateway.request.phases} splitting each request into the time spent in gateway filters,
+ * acquiring a backend connection, waiting for the first byte of the response and streaming it
+ * back. A request that stops early, answered by a filter or failed to connect, adds its remaining
+ * time to the phase it stopped in, so the phases of a request sum to its latency.
+ */
+@Component
+@EnableConfigurationProperties(LatencyMetricsProperties.class)
+public class RequestLatencyMetrics {
+
+    public enum Phase { FILTERS, CONNECT, FIRST_BYTE, STREAMING }
+
+    static final String CANCELLED = "cancelled";
+
+    private final LatencyMetricsProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RouteTimers> routes = new ConcurrentHashMap<>();
+
+    public RequestLatencyMetrics(LatencyMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public void record(String route, String status, RequestTiming timing, long endNanos) {
+        RouteTimers timers = routes.get(route);
+        if (timers == null) timers = routes.computeIfAbsent(route, this::register);
+
+        long started = timing.started();
+        timers.requests(status).record(endNanos - started, TimeUnit.NANOSECONDS);
+
+        long[] marks = {started, timing.routed(), timing.requestSent(), timing.responseReceived()};
+        Phase[] phases = Phase.values();
+        for (int i = 0; i < phases.length; i++) {
+            long next = i + 1 < marks.length ? marks[i + 1] : 0;
+            if (next == 0) {
+                timers.phases[i].record(endNanos - marks[i], TimeUnit.NANOSECONDS);
+                return;
+            }
+            timers.phases[i].record(next - marks[i], TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String statusClass(HttpStatusCode status) {
+        return status == null ? CANCELLED : status.value() / 100 + "xx";
+    }
+
+    private RouteTimers register(String route) {
+        Timer[] phases = new Timer[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phases[phase.ordinal()] = histogram(Timer.builder("gateway.request.phases")
+                    .tag("route", route).tag("phase", phase.name().toLowerCase(Locale.ROOT)));
+        }
+        return new RouteTimers(route, phases);
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder
+                .publishPercentileHistogram()
+                .minimumExpectedValue(properties.minimumExpected())
+                .maximumExpectedValue(properties.maximumExpected())
+                .register(meterRegistry);
+    }
+
+    private final class RouteTimers {
+
+        private final String route;
+
+        private final Timer[] phases;
+
+        private final Map<String, Timer> requests = new ConcurrentHashMap<>();
+
+        private RouteTimers(String route, Timer[] phases) {
+            this.route = route;
+            this.phases = phases;
+        }
+
+        private Timer requests(String status) {
+            Timer timer = requests.get(status);
+            return timer != null ? timer : requests.computeIfAbsent(status, s -> histogram(Timer.builder("gateway.requests")
+                    .tag("route", route).tag("status", s)));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.klabs.gateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.ContextView;
+
+/**
+ * Moments, from {@link System#nanoTime()}, one request reached on its way through the gateway,
+ * zero for those it has not reached. Kept as an exchange attribute for the filters and in the
+ * Reactor context for the proxy client's callbacks.
+ */
+public final class RequestTiming {
+
+    static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private final long started;
+
+    private volatile long routed;
+
+    private volatile long requestSent;
+
+    private volatile long responseReceived;
+
+    public RequestTiming(long started) {
+        this.started = started;
+    }
+
+    public static RequestTiming of(ServerWebExchange exchange) {
+        return exchange.getAttribute(ATTRIBUTE);
+    }
+
+    public static RequestTiming of(ContextView context) {
+        return context.getOrDefault(RequestTiming.class, null);
+    }
+
+    /** The routing filter takes over; a retry starts the upstream phases again. */
+    public void routed(long nanos) {
+        requestSent = 0;
+        responseReceived = 0;
+        routed = nanos;
+    }
+
+    /** A connection was acquired and the request is being written to it. */
+    public void requestSent(long nanos) {
+        requestSent = nanos;
+    }
+
+    /** The upstream response headers arrived. */
+    public void responseReceived(long nanos) {
+        responseReceived = nanos;
+    }
+
+    long started() {
+        return started;
+    }
+
+    long routed() {
+        return routed;
+    }
+
+    long requestSent() {
+        return requestSent;
+    }
+
+    long responseReceived() {
+        return responseReceived;
+    }
+}
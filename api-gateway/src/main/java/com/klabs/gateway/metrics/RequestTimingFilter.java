@@ -0,0 +1,53 @@
+package com.klabs.gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times each routed request from the first gateway filter until its response is written and
+ * records it in {@link RequestLatencyMetrics}. An error that escapes the filters is counted with
+ * the status the error handler will answer it with.
+ */
+@Component
+public class RequestTimingFilter implements GlobalFilter, Ordered {
+
+    private final RequestLatencyMetrics metrics;
+
+    public RequestTimingFilter(RequestLatencyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!metrics.isEnabled()) return chain.filter(exchange);
+
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        exchange.getAttributes().put(RequestTiming.ATTRIBUTE, timing);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTiming.class, timing))
+                .doOnSuccess(ignored -> record(exchange, timing, exchange.getResponse().getStatusCode()))
+                .doOnError(e -> record(exchange, timing, e instanceof ErrorResponse error
+                        ? error.getStatusCode() : HttpStatus.INTERNAL_SERVER_ERROR))
+                .doOnCancel(() -> record(exchange, timing, null));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, RequestTiming timing, HttpStatusCode status) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unrouted";
+        metrics.record(routeId, RequestLatencyMetrics.statusClass(status), timing, System.nanoTime());
+    }
+}
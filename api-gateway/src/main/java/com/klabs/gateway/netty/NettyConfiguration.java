@@ -0,0 +1,36 @@
+package com.klabs.gateway.netty;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * One set of event loops, sized to the processors, for both the inbound server and the client
+ * that proxies to the backends. A proxied request then stays on the thread that accepted it
+ * instead of hopping to the client's own loop, and the gateway runs no other threads for I/O.
+ */
+@Configuration
+@EnableConfigurationProperties(NettyProperties.class)
+class NettyConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources gatewayLoopResources(NettyProperties properties) {
+        return LoopResources.create("gateway-io", properties.selectThreads(), properties.effectiveIoThreads(), true);
+    }
+
+    @Bean
+    public ReactorResourceFactory reactorResourceFactory(LoopResources gatewayLoopResources) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        factory.setUseGlobalResources(false);
+        factory.setLoopResources(gatewayLoopResources);
+        return factory;
+    }
+
+    @Bean
+    public HttpClientCustomizer sharedEventLoops(LoopResources gatewayLoopResources) {
+        return httpClient -> httpClient.runOn(gatewayLoopResources);
+    }
+}
@@ -0,0 +1,18 @@
+package com.klabs.gateway.netty;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Event loops shared by the server and the backend client. {@code ioThreads} of 0 means one per
+ * available processor.
+ */
+@ConfigurationProperties(prefix = "app.netty")
+public record NettyProperties(
+        @DefaultValue("1") int selectThreads,
+        @DefaultValue("0") int ioThreads) {
+
+    public int effectiveIoThreads() {
+        return ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
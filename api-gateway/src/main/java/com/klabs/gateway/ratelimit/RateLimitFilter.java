@@ -0,0 +1,138 @@
+package com.klabs.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits requests per client with in-process token buckets, one table per configured rule, so
+ * abusive clients are answered with 429 before authentication or routing. Clients are identified
+ * by their address.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter implements GlobalFilter, Ordered, SmartLifecycle {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final RateLimitProperties properties;
+
+    private final List<CompiledRule> rules = new ArrayList<>();
+
+    private volatile Disposable evictor;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int replicas = Math.max(1, properties.replicas());
+        for (RateLimitProperties.Rule rule : properties.rules()) {
+            String name = rule.path() != null ? rule.path() : rule.route() != null ? rule.route() : "all";
+            TokenBucketTable buckets = new TokenBucketTable(Math.max(1, rule.capacity() / replicas),
+                    (double) rule.refillTokens() / replicas, rule.refillPeriod().toMillis(),
+                    properties.stripes(), properties.maxClientsPerRule());
+            PathPattern pattern = rule.path() == null ? null : PathPatternParser.defaultInstance.parse(rule.path());
+            Counter rejected = Counter.builder("gateway.ratelimit.rejected").tag("rule", name).register(meterRegistry);
+            Gauge.builder("gateway.ratelimit.clients", buckets, TokenBucketTable::size).tag("rule", name).register(meterRegistry);
+            rules.add(new CompiledRule(rule.route(), pattern, buckets, rejected));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.enabled()) return chain.filter(exchange);
+        CompiledRule rule = ruleFor(exchange);
+        if (rule == null) return chain.filter(exchange);
+
+        long waitMillis = rule.buckets().tryAcquire(clientKey(exchange), System.currentTimeMillis());
+        if (waitMillis == 0) return chain.filter(exchange);
+
+        rule.rejected().increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString((waitMillis + 999) / 1000));
+        return response.setComplete();
+    }
+
+    private CompiledRule ruleFor(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (CompiledRule rule : rules) {
+            if (rule.routeId() != null && (route == null || !rule.routeId().equals(route.getId()))) continue;
+            if (rule.pattern() != null && !rule.pattern().matches(path)) continue;
+            return rule;
+        }
+        return null;
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        if (properties.trustForwardedFor()) {
+            String forwardedFor = exchange.getRequest().getHeaders().getFirst(FORWARDED_FOR);
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                // the last entry was added by our own proxy, the ones before it are client supplied
+                return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            }
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) return UNKNOWN_CLIENT;
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (CompiledRule rule : rules) evicted += rule.buckets().evictIdle(now);
+        if (evicted > 0) log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (evictor != null || rules.isEmpty()) return;
+        evictor = Flux.interval(properties.evictionInterval(), properties.evictionInterval())
+                .subscribe(tick -> evictIdle());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (evictor == null) return;
+        evictor.dispose();
+        evictor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return evictor != null;
+    }
+
+    private record CompiledRule(String routeId, PathPattern pattern, TokenBucketTable buckets, Counter rejected) {
+    }
+}
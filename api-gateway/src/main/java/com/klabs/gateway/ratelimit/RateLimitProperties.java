@@ -0,0 +1,36 @@
+package com.klabs.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limit rules, checked in order; the first rule whose route and path match a request applies.
+ * With {@code replicas} above one every replica enforces its share of each budget, which keeps the
+ * overall limit without coordination as long as the load balancer spreads clients evenly.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue List<Rule> rules,
+        @DefaultValue("1") int replicas,
+        @DefaultValue("false") boolean trustForwardedFor,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("100000") int maxClientsPerRule,
+        @DefaultValue("1m") Duration evictionInterval) {
+
+    /**
+     * Bucket of {@code capacity} requests per client that regains {@code refillTokens} every
+     * {@code refillPeriod}. {@code route} and {@code path} are optional; a rule without either
+     * matches every request.
+     */
+    public record Rule(
+            String route,
+            String path,
+            int capacity,
+            int refillTokens,
+            @DefaultValue("1s") Duration refillPeriod) {
+    }
+}
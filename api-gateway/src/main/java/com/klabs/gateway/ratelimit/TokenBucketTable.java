@@ -0,0 +1,120 @@
+package com.klabs.gateway.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets by client key, split over lock stripes. A bucket is two primitives and is refilled
+ * lazily when it is next used; the locks are held only for that arithmetic, so taking them on an
+ * event loop is fine. Buckets that have refilled completely are evicted, and each stripe drops its
+ * least recently used bucket once it holds its share of {@code maxBuckets}.
+ */
+final class TokenBucketTable {
+
+    private final Stripe[] stripes;
+
+    private final int mask;
+
+    private final double capacity;
+
+    private final double tokensPerMilli;
+
+    private final long millisToFull;
+
+    TokenBucketTable(double capacity, double refillTokens, long refillPeriodMillis, int stripeCount, int maxBuckets) {
+        if (capacity < 1 || refillTokens <= 0 || refillPeriodMillis < 1)
+            throw new IllegalArgumentException("Bucket capacity, refill tokens and refill period must be positive");
+        int count = Integer.highestOneBit(Math.max(1, stripeCount) * 2 - 1);
+        int perStripe = Math.max(1, maxBuckets / count);
+
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        this.capacity = capacity;
+        this.tokensPerMilli = refillTokens / refillPeriodMillis;
+        this.millisToFull = (long) Math.ceil(capacity / tokensPerMilli);
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe(perStripe);
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return 0 if a token was taken, otherwise the milliseconds until one is available
+     */
+    long tryAcquire(String key, long nowMillis) {
+        Stripe stripe = stripeOf(key);
+        stripe.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, nowMillis);
+                stripe.buckets.put(key, bucket);
+            } else if (nowMillis > bucket.refilledAtMillis) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + (nowMillis - bucket.refilledAtMillis) * tokensPerMilli);
+                bucket.refilledAtMillis = nowMillis;
+            }
+            if (bucket.tokens < 1) return Math.max(1, (long) Math.ceil((1 - bucket.tokens) / tokensPerMilli));
+            bucket.tokens -= 1;
+            return 0;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                Iterator<Bucket> iterator = stripe.buckets.values().iterator();
+                while (iterator.hasNext()) {
+                    if (nowMillis - iterator.next().refilledAtMillis >= millisToFull) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.buckets.size();
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe extends ReentrantLock {
+
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long refilledAtMillis;
+
+        private Bucket(double tokens, long refilledAtMillis) {
+            this.tokens = tokens;
+            this.refilledAtMillis = refilledAtMillis;
+        }
+    }
+}
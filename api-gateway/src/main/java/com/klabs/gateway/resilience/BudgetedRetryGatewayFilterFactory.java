@@ -0,0 +1,92 @@
+package com.klabs.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retries idempotent requests that failed before a response was written, within a
+ * {@link RetryBudget} per route. Place it inside the circuit breaker so an open circuit is not
+ * retried and the breaker sees a request once, however many attempts it took.
+ */
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private final ResilienceProperties.Retry properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public BudgetedRetryGatewayFilterFactory(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties.retry();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RetryBudget budget = new RetryBudget(properties.budgetRatio(), properties.minRetriesPerSecond(),
+                (int) Math.max(1, properties.budgetWindow().toSeconds()));
+        Counter retried = retries(config.getName(), "retried");
+        Counter exhausted = retries(config.getName(), "budget_exhausted");
+        return (exchange, chain) -> {
+            if (!IDEMPOTENT.contains(exchange.getRequest().getMethod())) return chain.filter(exchange);
+            budget.recordRequest(System.currentTimeMillis());
+            return attempt(exchange, chain, 1, budget, retried, exhausted);
+        };
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, int attempt, RetryBudget budget,
+                               Counter retried, Counter exhausted) {
+        return chain.filter(exchange).onErrorResume(error -> {
+            if (attempt > properties.attempts() || exchange.getResponse().isCommitted() || !isRetryable(error))
+                return Mono.error(error);
+            if (!budget.tryAcquireRetry(System.currentTimeMillis())) {
+                exhausted.increment();
+                return Mono.error(error);
+            }
+            retried.increment();
+            ServerWebExchangeUtils.reset(exchange);
+            return Mono.delay(properties.backoff().multipliedBy(attempt))
+                    .then(Mono.defer(() -> attempt(exchange, chain, attempt + 1, budget, retried, exhausted)));
+        });
+    }
+
+    static boolean isRetryable(Throwable error) {
+        // connection failures and timeouts, including the ones of reactor-netty
+        return error instanceof IOException || error instanceof TimeoutException;
+    }
+
+    private Counter retries(String route, String outcome) {
+        return Counter.builder("gateway.retries").tag("route", route).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    public static class Config {
+
+        private String name = "default";
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+}
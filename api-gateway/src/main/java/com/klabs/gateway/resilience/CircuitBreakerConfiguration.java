@@ -0,0 +1,39 @@
+package com.klabs.gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default settings of every route's breaker. Breakers trip on slow calls as well as on failures,
+ * so a backend that stops answering opens the circuit before connections pile up behind it.
+ * Breaker states and call timings are exported by the Resilience4J Micrometer binding.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+class CircuitBreakerConfiguration {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCircuitBreaker(ResilienceProperties properties) {
+        ResilienceProperties.CircuitBreaker breaker = properties.circuitBreaker();
+        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                        .slidingWindowSize((int) Math.max(1, breaker.slidingWindow().toSeconds()))
+                        .minimumNumberOfCalls(breaker.minimumCalls())
+                        .failureRateThreshold(breaker.failureRateThreshold())
+                        .slowCallDurationThreshold(breaker.slowCallDuration())
+                        .slowCallRateThreshold(breaker.slowCallRateThreshold())
+                        .waitDurationInOpenState(breaker.openDuration())
+                        .permittedNumberOfCallsInHalfOpenState(breaker.halfOpenCalls())
+                        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .build())
+                .timeLimiterConfig(TimeLimiterConfig.custom().timeoutDuration(breaker.timeout()).build())
+                .build());
+    }
+}
@@ -0,0 +1,39 @@
+package com.klabs.gateway.resilience;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Static answer for routes whose circuit is open, so they fail fast without a backend. Replaced
+ * by a route to the error service when {@code app.resilience.fallback=error-service}.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "app.resilience", name = "fallback", havingValue = "static", matchIfMissing = true)
+public class FallbackController {
+
+    public static final String PATH = "/fallback";
+
+    private static final byte[] BODY = ("{\"type\":\"/problems/service-unavailable\","
+            + "\"title\":\"Service temporarily unavailable\",\"status\":503}").getBytes(StandardCharsets.UTF_8);
+
+    private final String retryAfter;
+
+    public FallbackController(ResilienceProperties properties) {
+        this.retryAfter = Long.toString(Math.max(1, properties.circuitBreaker().openDuration().toSeconds()));
+    }
+
+    @RequestMapping(PATH + "/**")
+    public ResponseEntity<byte[]> fallback() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(BODY);
+    }
+}
@@ -0,0 +1,51 @@
+package com.klabs.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.resilience")
+public record ResilienceProperties(
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Retry retry,
+        @DefaultValue("STATIC") Fallback fallback) {
+
+    /**
+     * A breaker opens when either failures or calls slower than {@code slowCallDuration} reach
+     * their rate threshold within {@code slidingWindow}.
+     */
+    public record CircuitBreaker(
+            @DefaultValue("50") float failureRateThreshold,
+            @DefaultValue("2s") Duration slowCallDuration,
+            @DefaultValue("50") float slowCallRateThreshold,
+            @DefaultValue("10s") Duration slidingWindow,
+            @DefaultValue("20") int minimumCalls,
+            @DefaultValue("30s") Duration openDuration,
+            @DefaultValue("5") int halfOpenCalls,
+            @DefaultValue("5s") Duration timeout) {
+    }
+
+    /**
+     * Retries of idempotent requests, at most {@code budgetRatio} of the requests seen in
+     * {@code budgetWindow} plus {@code minRetriesPerSecond}.
+     */
+    public record Retry(
+            @DefaultValue("2") int attempts,
+            @DefaultValue("50ms") Duration backoff,
+            @DefaultValue("0.1") double budgetRatio,
+            @DefaultValue("5") int minRetriesPerSecond,
+            @DefaultValue("10s") Duration budgetWindow) {
+    }
+
+    public enum Fallback {
+        /**
+         * Answer with a static 503 problem from the gateway itself.
+         */
+        STATIC,
+        /**
+         * Forward to {@code app.routes.end-error-service.uri}.
+         */
+        ERROR_SERVICE
+    }
+}
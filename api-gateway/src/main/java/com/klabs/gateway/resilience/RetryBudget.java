@@ -0,0 +1,78 @@
+package com.klabs.gateway.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps retries at a fraction of the requests seen over a sliding window of one-second slots, plus
+ * a small floor so low traffic can still retry. When the backend fails every request the retries
+ * stop at the ratio instead of multiplying the load by the number of attempts.
+ */
+final class RetryBudget {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final double ratio;
+
+    private final long minRetries;
+
+    private final long[] slotSeconds;
+
+    private final long[] requests;
+
+    private final long[] retries;
+
+    RetryBudget(double ratio, int minRetriesPerSecond, int windowSeconds) {
+        if (ratio < 0 || minRetriesPerSecond < 0 || windowSeconds < 1)
+            throw new IllegalArgumentException("Retry budget ratio and floor must not be negative, the window must be positive");
+        this.ratio = ratio;
+        this.minRetries = (long) minRetriesPerSecond * windowSeconds;
+        this.slotSeconds = new long[windowSeconds];
+        this.requests = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+        Arrays.fill(slotSeconds, Long.MIN_VALUE);
+    }
+
+    void recordRequest(long nowMillis) {
+        lock.lock();
+        try {
+            requests[slot(nowMillis / 1000)]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a retry from the budget, if there is one left.
+     */
+    boolean tryAcquireRetry(long nowMillis) {
+        long second = nowMillis / 1000;
+        lock.lock();
+        try {
+            int current = slot(second);
+            long windowRequests = 0;
+            long windowRetries = 0;
+            for (int i = 0; i < slotSeconds.length; i++) {
+                if (second - slotSeconds[i] < slotSeconds.length) {
+                    windowRequests += requests[i];
+                    windowRetries += retries[i];
+                }
+            }
+            if (windowRetries >= minRetries + (long) (windowRequests * ratio)) return false;
+            retries[current]++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int slot(long second) {
+        int index = (int) Math.floorMod(second, (long) slotSeconds.length);
+        if (slotSeconds[index] != second) {
+            slotSeconds[index] = second;
+            requests[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package com.klabs.gateway.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path patterns compiled into a tree of segments, so finding the patterns that may match a path
+ * walks the path once instead of testing every pattern. A segment is a literal, a single-segment
+ * wildcard ({@code *}, {@code {var}} or any segment containing a wildcard, which the caller
+ * confirms with the full pattern), or a trailing {@code **} matching zero or more segments.
+ * Matches are returned in the order their values were added.
+ */
+public final class PathTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    private int size;
+
+    public void add(String pattern, T value) {
+        Node<T> node = root;
+        String[] segments = segments(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1)
+                    throw new IllegalArgumentException("'**' is only supported at the end of a pattern: " + pattern);
+                node.rest.add(new Entry<>(size++, value));
+                return;
+            }
+            if (isWildcard(segment)) {
+                if (node.wildcard == null) node.wildcard = new Node<>();
+                node = node.wildcard;
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node<>());
+            }
+        }
+        node.exact.add(new Entry<>(size++, value));
+    }
+
+    public List<T> match(String path) {
+        List<Entry<T>> found = new ArrayList<>(2);
+        collect(root, segments(path), 0, found);
+        if (found.size() > 1) found.sort((a, b) -> Integer.compare(a.order(), b.order()));
+        List<T> values = new ArrayList<>(found.size());
+        for (Entry<T> entry : found) values.add(entry.value());
+        return values;
+    }
+
+    private static <T> void collect(Node<T> node, String[] segments, int index, List<Entry<T>> found) {
+        found.addAll(node.rest);
+        if (index == segments.length) {
+            found.addAll(node.exact);
+            return;
+        }
+        Node<T> literal = node.literals.get(segments[index]);
+        if (literal != null) collect(literal, segments, index + 1, found);
+        if (node.wildcard != null) collect(node.wildcard, segments, index + 1, found);
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static String[] segments(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') start++;
+        while (end > start && path.charAt(end - 1) == '/') end--;
+        return start == end ? new String[0] : path.substring(start, end).split("/+");
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> literals = new HashMap<>();
+
+        private final List<Entry<T>> exact = new ArrayList<>(1);
+
+        private final List<Entry<T>> rest = new ArrayList<>(1);
+
+        private Node<T> wildcard;
+    }
+
+    private record Entry<T>(int order, T value) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.klabs.gateway.routing;
+
+import java.util.List;
+
+/**
+ * One route of the route file. {@code name} labels the route's circuit breaker and metrics and
+ * defaults to the id; {@code resilient} puts the circuit breaker and retries around the backend
+ * call and defaults to true.
+ */
+public record RouteEntry(
+        String id,
+        List<String> paths,
+        String uri,
+        String name,
+        boolean authenticated,
+        boolean cached,
+        boolean coalesced,
+        Boolean resilient) {
+
+    public RouteEntry {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("Route id is required");
+        if (paths == null || paths.isEmpty() || paths.stream().anyMatch(path -> path == null || !path.startsWith("/")))
+            throw new IllegalArgumentException("Route " + id + " needs paths starting with '/'");
+        if (uri == null || uri.isBlank()) throw new IllegalArgumentException("Route " + id + " needs a uri");
+        paths = List.copyOf(paths);
+        if (name == null) name = id;
+        if (resilient == null) resilient = true;
+    }
+}
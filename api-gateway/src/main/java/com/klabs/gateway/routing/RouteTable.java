@@ -0,0 +1,148 @@
+package com.klabs.gateway.routing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Routes from the route file, swapped as a whole when the file changes. A file that fails to parse
+ * or compile leaves the current routes in place; at startup it fails the application. Besides
+ * serving as a {@link RouteLocator}, the table answers which routes may match a path from a
+ * {@link PathTrie}, see {@link TrieRoutePredicateHandlerMapping}.
+ */
+@Slf4j
+public class RouteTable implements RouteLocator, SmartLifecycle {
+
+    private static final TypeReference<List<RouteEntry>> ENTRIES = new TypeReference<>() {
+    };
+
+    private final Resource file;
+
+    private final Duration checkInterval;
+
+    private final List<RouteEntry> fixedEntries;
+
+    private final Function<RouteEntry, Route> compiler;
+
+    private final ApplicationEventPublisher events;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Snapshot snapshot;
+
+    private volatile Disposable watcher;
+
+    private long fileModified;
+
+    /**
+     * @param fixedEntries routes defined in code, placed after the ones of the file
+     * @param compiler     builds a gateway route with its predicates and filters from an entry
+     */
+    public RouteTable(Resource file, Duration checkInterval, List<RouteEntry> fixedEntries,
+                      Function<RouteEntry, Route> compiler, ApplicationEventPublisher events) {
+        this.file = file;
+        this.checkInterval = checkInterval;
+        this.fixedEntries = List.copyOf(fixedEntries);
+        this.compiler = compiler;
+        this.events = events;
+        this.fileModified = lastModified();
+        this.snapshot = load();
+        log.info("Loaded {} routes from {}", snapshot.routes().size(), file.getDescription());
+    }
+
+    @Override
+    public Flux<Route> getRoutes() {
+        return Flux.fromIterable(snapshot.routes());
+    }
+
+    /**
+     * Routes whose paths may match, in table order; their predicates have the final say.
+     */
+    public List<Route> candidates(String path) {
+        return snapshot.trie().match(path);
+    }
+
+    synchronized boolean reloadIfChanged() {
+        long modified = lastModified();
+        if (modified == fileModified) return false;
+        try {
+            snapshot = load();
+            fileModified = modified;
+            log.info("Reloaded {} routes from {}", snapshot.routes().size(), file.getDescription());
+        } catch (RuntimeException e) {
+            log.error("Keeping the current routes, {} is invalid: {}", file.getDescription(), e.getMessage());
+            return false;
+        }
+        events.publishEvent(new RefreshRoutesEvent(this));
+        return true;
+    }
+
+    private Snapshot load() {
+        List<RouteEntry> entries;
+        try (InputStream in = file.getInputStream()) {
+            entries = objectMapper.readValue(in, ENTRIES);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read routes from " + file.getDescription(), e);
+        }
+        List<RouteEntry> all = new ArrayList<>(entries);
+        all.addAll(fixedEntries);
+        Set<String> ids = new HashSet<>();
+        List<Route> routes = new ArrayList<>(all.size());
+        PathTrie<Route> trie = new PathTrie<>();
+        for (RouteEntry entry : all) {
+            if (!ids.add(entry.id())) throw new IllegalArgumentException("Duplicate route id " + entry.id());
+            Route route = compiler.apply(entry);
+            routes.add(route);
+            for (String path : entry.paths()) trie.add(path, route);
+        }
+        return new Snapshot(List.copyOf(routes), trie);
+    }
+
+    private long lastModified() {
+        try {
+            return file.isFile() ? file.lastModified() : 0;
+        } catch (IOException e) {
+            return fileModified;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (watcher != null || !file.isFile()) return;
+        watcher = Flux.interval(checkInterval, checkInterval, Schedulers.boundedElastic())
+                .subscribe(tick -> reloadIfChanged());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (watcher == null) return;
+        watcher.dispose();
+        watcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return watcher != null;
+    }
+
+    private record Snapshot(List<Route> routes, PathTrie<Route> trie) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.klabs.gateway.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Location of the route file. A file on the file system is checked for changes every
+ * {@code checkInterval}; one on the classpath is read once.
+ */
+@ConfigurationProperties(prefix = "app.routes.table")
+public record RouteTableProperties(
+        @DefaultValue("classpath:routes.json") String file,
+        @DefaultValue("2s") Duration checkInterval) {
+}
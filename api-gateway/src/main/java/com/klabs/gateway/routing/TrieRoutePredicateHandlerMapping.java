@@ -0,0 +1,49 @@
+package com.klabs.gateway.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * Finds the route of a request through the {@link RouteTable} trie instead of testing the
+ * predicates of every route in turn, so the cost depends on the path, not on the number of
+ * routes. Only the few candidates the trie returns have their predicates evaluated. Routes must
+ * therefore all come from the table.
+ */
+@Slf4j
+public class TrieRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping {
+
+    private final RouteTable routeTable;
+
+    public TrieRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                            GlobalCorsProperties globalCorsProperties, Environment environment,
+                                            RouteTable routeTable) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeTable = routeTable;
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        return Flux.fromIterable(routeTable.candidates(path))
+                .concatMap(route -> Mono.just(route)
+                        .filterWhen(candidate -> {
+                            exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, candidate.getId());
+                            return candidate.getPredicate().apply(exchange);
+                        })
+                        .onErrorResume(error -> {
+                            log.error("Error applying predicate for route: {}", route.getId(), error);
+                            return Mono.empty();
+                        }))
+                .next();
+    }
+}
@@ -0,0 +1,21 @@
+package com.klabs.gateway.security;
+
+import java.util.List;
+
+public final class ClaimHeaders {
+
+    public static final String ACCOUNT_ID = "X-Account-Id";
+
+    public static final String ACCOUNT_LOGIN = "X-Account-Login";
+
+    public static final String TOKEN_ID = "X-Token-Id";
+
+    public static final String TOKEN_ISSUED_AT = "X-Token-Issued-At";
+
+    public static final String TOKEN_EXPIRES_AT = "X-Token-Expires-At";
+
+    public static final List<String> ALL = List.of(ACCOUNT_ID, ACCOUNT_LOGIN, TOKEN_ID, TOKEN_ISSUED_AT, TOKEN_EXPIRES_AT);
+
+    private ClaimHeaders() {
+    }
+}
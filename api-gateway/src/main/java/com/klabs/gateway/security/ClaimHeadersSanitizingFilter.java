@@ -0,0 +1,30 @@
+package com.klabs.gateway.security;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Drops client-supplied claim headers on every route, so account-service only ever sees claim
+ * headers that the JWT filter set after verifying the token.
+ */
+@Component
+public class ClaimHeadersSanitizingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        var headers = exchange.getRequest().getHeaders();
+        if (ClaimHeaders.ALL.stream().noneMatch(headers::containsKey)) return chain.filter(exchange);
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(h -> ClaimHeaders.ALL.forEach(h::remove)))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,130 @@
+package com.klabs.gateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Public keys of account-service, fetched from its JWKS endpoint and refreshed in the background.
+ * An {@code lb://} JWKS uri is resolved through the load balancer like the routes.
+ * A token signed with a key we have not seen yet triggers an early refresh, at most once per
+ * {@code minRefreshInterval}, so a key rotation does not reject tokens until the next refresh.
+ */
+@Slf4j
+@Component
+public class JwksKeyCache extends LocatorAdapter<Key> implements SmartLifecycle {
+
+    private static final String LB_SCHEME = "lb";
+
+    private final WebClient webClient;
+
+    private final JwtAuthenticationProperties properties;
+
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+
+    private volatile Map<String, Key> keys = Map.of();
+
+    private volatile Disposable refresher;
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder, ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer,
+                        JwtAuthenticationProperties properties) {
+        // every replica publishes the same shared keys, so an lb:// uri may ask any of them
+        if (LB_SCHEME.equals(properties.jwksUri().getScheme())) loadBalancer.ifAvailable(webClientBuilder::filter);
+        this.webClient = webClientBuilder.build();
+        this.properties = properties;
+    }
+
+    /**
+     * Refreshes the keys unless that was already tried within {@code minRefreshInterval}.
+     */
+    public Mono<Void> refreshIfStale() {
+        long last = lastRefreshNanos.get();
+        long now = System.nanoTime();
+        if (now - last < properties.minRefreshInterval().toNanos() || !lastRefreshNanos.compareAndSet(last, now))
+            return Mono.empty();
+        return fetch().onErrorResume(e -> {
+            log.warn("Failed to refresh signing keys from {}: {}", properties.jwksUri(), e.getMessage());
+            return Mono.empty();
+        });
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    void update(Map<String, Key> keys) {
+        this.keys = Map.copyOf(keys);
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        Key key = keyId == null ? null : keys.get(keyId);
+        if (key == null) throw new UnknownSigningKeyException(keyId);
+        return key;
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get().uri(properties.jwksUri())
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(JwksKeyCache::parse)
+                .doOnNext(parsed -> {
+                    update(parsed);
+                    log.debug("Loaded {} signing keys", parsed.size());
+                })
+                .then();
+    }
+
+    static Map<String, Key> parse(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        Map<String, Key> parsed = new HashMap<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            if (jwk.getId() != null) parsed.put(jwk.getId(), jwk.toKey());
+        }
+        return parsed;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (refresher != null) return;
+        refresher = Flux.interval(Duration.ZERO, properties.refreshInterval())
+                .concatMap(tick -> {
+                    lastRefreshNanos.set(System.nanoTime());
+                    return fetch().onErrorResume(e -> {
+                        log.warn("Failed to load signing keys from {}: {}", properties.jwksUri(), e.getMessage());
+                        return Mono.empty();
+                    });
+                })
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (refresher == null) return;
+        refresher.dispose();
+        refresher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.klabs.gateway.security;
+
+import io.jsonwebtoken.JwtException;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token at the edge and forwards its claims in {@link ClaimHeaders}. Requests
+ * without a valid token are answered with 401 and never reach the service.
+ */
+@Component
+public class JwtAuthenticationGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<JwtAuthenticationGatewayFilterFactory.Config> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier verifier;
+
+    private final JwksKeyCache keys;
+
+    public JwtAuthenticationGatewayFilterFactory(JwtVerifier verifier, JwksKeyCache keys) {
+        super(Config.class);
+        this.verifier = verifier;
+        this.keys = keys;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String token = bearerToken(exchange);
+            if (token == null) return unauthorized(exchange, "invalid_request");
+            return authenticate(exchange, chain, token, true);
+        };
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, GatewayFilterChain chain, String token, boolean mayRefresh) {
+        VerifiedClaims claims;
+        try {
+            claims = verifier.verify(token);
+        } catch (UnknownSigningKeyException e) {
+            if (!mayRefresh) return unauthorized(exchange, "invalid_token");
+            return keys.refreshIfStale().then(Mono.defer(() -> authenticate(exchange, chain, token, false)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return unauthorized(exchange, "invalid_token");
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.set(ClaimHeaders.ACCOUNT_ID, claims.subject());
+                    if (claims.login() != null) headers.set(ClaimHeaders.ACCOUNT_LOGIN, claims.login());
+                    if (claims.tokenId() != null) headers.set(ClaimHeaders.TOKEN_ID, claims.tokenId());
+                    headers.set(ClaimHeaders.TOKEN_ISSUED_AT, Long.toString(claims.issuedAtMillis()));
+                    headers.set(ClaimHeaders.TOKEN_EXPIRES_AT, Long.toString(claims.expiresAtMillis()));
+                }))
+                .build());
+    }
+
+    private static String bearerToken(ServerWebExchange exchange) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length()))
+            return null;
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange, String error) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"" + error + "\"");
+        return response.setComplete();
+    }
+
+    public static class Config {
+    }
+}
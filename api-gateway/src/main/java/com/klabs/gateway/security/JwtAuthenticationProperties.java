@@ -0,0 +1,17 @@
+package com.klabs.gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.security.jwt")
+public record JwtAuthenticationProperties(
+        URI jwksUri,
+        @DefaultValue("account-service") String issuer,
+        @DefaultValue("5m") Duration refreshInterval,
+        @DefaultValue("10s") Duration minRefreshInterval,
+        @DefaultValue("30s") Duration clockSkew,
+        @DefaultValue("10000") int verifiedCacheSize) {
+}
@@ -0,0 +1,48 @@
+package com.klabs.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies access tokens against the cached public keys with a parser built once. Tokens verified
+ * recently are answered from a small cache without checking the signature again.
+ */
+@Component
+@EnableConfigurationProperties(JwtAuthenticationProperties.class)
+public class JwtVerifier {
+
+    private static final String LOGIN_CLAIM = "login";
+
+    private final JwtParser parser;
+
+    private final VerifiedTokenCache cache;
+
+    public JwtVerifier(JwksKeyCache keys, JwtAuthenticationProperties properties) {
+        this.parser = Jwts.parser()
+                .keyLocator(keys)
+                .requireIssuer(properties.issuer())
+                .clockSkewSeconds(properties.clockSkew().toSeconds())
+                .build();
+        this.cache = new VerifiedTokenCache(properties.verifiedCacheSize());
+    }
+
+    /**
+     * Returns the claims of a valid token or throws a {@link io.jsonwebtoken.JwtException}.
+     */
+    public VerifiedClaims verify(String token) {
+        VerifiedClaims claims = cache.get(token, System.currentTimeMillis());
+        if (claims != null) return claims;
+
+        Claims payload = parser.parseSignedClaims(token).getPayload();
+        if (payload.getSubject() == null || payload.getIssuedAt() == null || payload.getExpiration() == null)
+            throw new MalformedJwtException("Subject, issue and expiration times are required");
+        claims = new VerifiedClaims(payload.getSubject(), payload.get(LOGIN_CLAIM, String.class), payload.getId(),
+                payload.getIssuedAt().getTime(), payload.getExpiration().getTime());
+        cache.put(token, claims);
+        return claims;
+    }
+}
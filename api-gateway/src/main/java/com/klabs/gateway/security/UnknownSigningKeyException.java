@@ -0,0 +1,10 @@
+package com.klabs.gateway.security;
+
+import io.jsonwebtoken.JwtException;
+
+class UnknownSigningKeyException extends JwtException {
+
+    UnknownSigningKeyException(String keyId) {
+        super("Unknown signing key " + keyId);
+    }
+}
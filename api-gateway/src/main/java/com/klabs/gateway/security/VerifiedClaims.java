@@ -0,0 +1,4 @@
+package com.klabs.gateway.security;
+
+public record VerifiedClaims(String subject, String login, String tokenId, long issuedAtMillis, long expiresAtMillis) {
+}
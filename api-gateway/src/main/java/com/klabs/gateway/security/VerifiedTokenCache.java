@@ -0,0 +1,81 @@
+package com.klabs.gateway.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU of tokens whose signature was already checked, keyed by the signature part. A hit
+ * still compares the whole token, so a cached signature never vouches for a different header or
+ * payload. Split into segments so concurrent requests rarely share a lock.
+ */
+class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    VerifiedTokenCache(int capacity) {
+        int perSegment = capacity <= 0 ? 0 : Math.max(1, capacity / SEGMENTS);
+        this.segments = new Segment[perSegment == 0 ? 0 : SEGMENTS];
+        for (int i = 0; i < segments.length; i++) segments[i] = new Segment(perSegment);
+    }
+
+    VerifiedClaims get(String token, long nowMillis) {
+        if (segments.length == 0) return null;
+        String signature = signatureOf(token);
+        Segment segment = segmentFor(signature);
+        synchronized (segment) {
+            Entry entry = segment.get(signature);
+            if (entry == null) return null;
+            if (entry.claims.expiresAtMillis() <= nowMillis) {
+                segment.remove(signature);
+                return null;
+            }
+            return entry.token.equals(token) ? entry.claims : null;
+        }
+    }
+
+    void put(String token, VerifiedClaims claims) {
+        if (segments.length == 0) return;
+        String signature = signatureOf(token);
+        Segment segment = segmentFor(signature);
+        synchronized (segment) {
+            segment.put(signature, new Entry(token, claims));
+        }
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment segmentFor(String signature) {
+        int hash = signature.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private record Entry(String token, VerifiedClaims claims) {
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.klabs.gateway.mvc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import static org.springframework.cloud.gateway.server.mvc.filter.BeforeFilterFunctions.uri;
+import static org.springframework.cloud.gateway.server.mvc.handler.GatewayRouterFunctions.route;
+import static org.springframework.cloud.gateway.server.mvc.handler.HandlerFunctions.http;
+import static org.springframework.web.servlet.function.RequestPredicates.path;
+
+/**
+ * Servlet-stack gateway with the same account-service route and no filters, the baseline that
+ * {@code EngineFootprintLoadTest} compares the Netty gateway against. Not part of the application.
+ */
+@SpringBootApplication
+public class MvcGatewayBaselineApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(MvcGatewayBaselineApplication.class, args);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> accountServiceRoute(@Value("${app.routes.account-service.uri}") String uri) {
+        return route("route_v1_account_service")
+                .route(path("/api/v1/**"), http())
+                .before(uri(uri))
+                .build();
+    }
+}
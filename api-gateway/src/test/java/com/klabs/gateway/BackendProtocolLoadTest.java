@@ -0,0 +1,143 @@
+package com.klabs.gateway;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares HTTP/1.1 and cleartext HTTP/2 between the gateway and a local backend at high
+ * concurrency: connections the backend accepted, CPU of this JVM per request, which runs the
+ * client, the gateway and the backend alike, and client-side latency. The backend adds a small
+ * delay so requests overlap. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@DisplayName("Backend Protocol Load Test")
+class BackendProtocolLoadTest {
+
+    private static final int REQUESTS = 50_000;
+
+    private static final int CONCURRENCY = 512;
+
+    private static final String PATH = "/api/v1/auth/ping";
+
+    private static final AtomicLong backendConnections = new AtomicLong();
+
+    private static DisposableServer backend;
+
+    @BeforeAll
+    static void setUp() {
+        backend = HttpServer.create().port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .doOnChannelInit((observer, channel, address) -> backendConnections.incrementAndGet())
+                .route(routes -> routes
+                        .get("/.well-known/jwks.json", (request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(Mono.just("{\"keys\":[]}")))
+                        .get(PATH, (request, response) -> response
+                                .sendString(Mono.just("pong").delayElement(Duration.ofMillis(2)))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (backend != null) backend.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should compare HTTP/1.1 and h2c towards the backend")
+    void compareProtocols() {
+        // Act
+        Result http11 = measure("HTTP11");
+        Result h2c = measure("H2C");
+
+        // Assert
+        System.out.printf("HTTP/1.1: %s%n", http11);
+        System.out.printf("h2c:      %s%n", h2c);
+        assertEquals(REQUESTS, http11.succeeded());
+        assertEquals(REQUESTS, h2c.succeeded());
+        assertTrue(h2c.backendConnections() < http11.backendConnections());
+    }
+
+    private static Result measure(String protocols) {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .properties(
+                        "server.port=0",
+                        "app.routes.account-service.uri=http://localhost:" + backend.port(),
+                        "app.routes.protocols=" + protocols,
+                        "app.rate-limit.enabled=false")
+                .run()) {
+            ConnectionProvider clientPool = ConnectionProvider.builder("load-client").maxConnections(CONCURRENCY).build();
+            WebClient client = WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(clientPool)))
+                    .baseUrl("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port"))
+                    .build();
+            try {
+                run(client, REQUESTS / 10);
+                backendConnections.set(0);
+                long cpuStart = processCpuNanos();
+                Result result = run(client, REQUESTS);
+                return result.withUsage(backendConnections.get(), (processCpuNanos() - cpuStart) / 1_000.0 / REQUESTS);
+            } finally {
+                clientPool.disposeLater().block();
+            }
+        }
+    }
+
+    private static Result run(WebClient client, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong succeeded = new AtomicLong();
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+                    return client.get().uri(PATH).retrieve().toBodilessEntity()
+                            .doOnSuccess(response -> {
+                                latencies[i] = System.nanoTime() - requestStart;
+                                if (response.getStatusCode().is2xxSuccessful()) succeeded.incrementAndGet();
+                            });
+                }), CONCURRENCY)
+                .blockLast();
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(succeeded.get(), requests * 1_000_000_000.0 / elapsed, latencies[requests / 2] / 1_000,
+                latencies[(int) (requests * 0.99)] / 1_000, latencies[(int) (requests * 0.999)] / 1_000, 0, 0);
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private record Result(long succeeded, double requestsPerSecond, long p50Micros, long p99Micros, long p999Micros,
+                          long backendConnections, double cpuMicrosPerRequest) {
+
+        Result withUsage(long connections, double cpuMicros) {
+            return new Result(succeeded, requestsPerSecond, p50Micros, p99Micros, p999Micros, connections, cpuMicros);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %d us, p99 %d us, p99.9 %d us, %d backend connections, %.1f us CPU/request",
+                    requestsPerSecond, p50Micros, p99Micros, p999Micros, backendConnections, cpuMicrosPerRequest);
+        }
+    }
+}
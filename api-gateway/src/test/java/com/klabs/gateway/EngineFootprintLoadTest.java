@@ -0,0 +1,168 @@
+package com.klabs.gateway;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the Netty gateway and a servlet-stack gateway with the same route as separate JVMs in
+ * front of a local stub and compares time to the first proxied response, resident memory after
+ * load, and latency. The classpaths are passed in by the {@code loadTest} Gradle task; resident
+ * memory is read from {@code /proc} and reported as -1 elsewhere.
+ */
+@Tag("load")
+@DisplayName("Engine Footprint Load Test")
+class EngineFootprintLoadTest {
+
+    private static final int REQUESTS = 20_000;
+
+    private static final int CONCURRENCY = 64;
+
+    private static final String PATH = "/api/v1/auth/ping";
+
+    private static final List<String> JVM_OPTIONS = List.of("-Xms64m", "-Xmx512m");
+
+    private static DisposableServer backend;
+
+    @BeforeAll
+    static void setUp() {
+        backend = HttpServer.create().port(0).protocol(HttpProtocol.H2C, HttpProtocol.HTTP11).route(routes -> routes
+                        .get("/.well-known/jwks.json", (request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(Mono.just("{\"keys\":[]}")))
+                        .get(PATH, (request, response) -> response.sendString(Mono.just("pong"))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (backend != null) backend.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should compare the Netty gateway with the servlet-stack baseline")
+    void compareEngines() throws Exception {
+        // Act
+        Footprint webflux = measure("webflux", System.getProperty("gateway.webflux.classpath"),
+                ApiGatewayApplication.class.getName(), "--app.rate-limit.enabled=false");
+        Footprint mvc = measure("mvc", System.getProperty("gateway.mvc.classpath"),
+                "com.klabs.gateway.mvc.MvcGatewayBaselineApplication");
+
+        // Assert
+        System.out.println(webflux);
+        System.out.println(mvc);
+        assertEquals(REQUESTS, webflux.succeeded());
+        assertEquals(REQUESTS, mvc.succeeded());
+    }
+
+    private static Footprint measure(String engine, String classpath, String mainClass, String... extraArgs) throws Exception {
+        assertNotNull(classpath, "Run with ./gradlew loadTest so the gateway classpaths are set");
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(JVM_OPTIONS);
+        command.addAll(List.of("-cp", classpath, mainClass,
+                "--server.port=" + port,
+                "--app.routes.account-service.uri=http://localhost:" + backend.port()));
+        command.addAll(List.of(extraArgs));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            WebClient client = WebClient.create("http://localhost:" + port);
+            awaitFirstResponse(client, process);
+            long startupMillis = (System.nanoTime() - start) / 1_000_000;
+
+            run(client, REQUESTS / 4);
+            Latency latency = run(client, REQUESTS);
+            return new Footprint(engine, startupMillis, residentMegabytes(process.pid()), latency.succeeded(),
+                    latency.p50Micros(), latency.p99Micros());
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitFirstResponse(WebClient client, Process process) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "Gateway exited during startup");
+            try {
+                if (client.get().uri(PATH).retrieve().toBodilessEntity()
+                        .block(Duration.ofSeconds(1)).getStatusCode().is2xxSuccessful()) return;
+            } catch (RuntimeException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        fail("Gateway did not answer within two minutes");
+    }
+
+    private static Latency run(WebClient client, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong succeeded = new AtomicLong();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+                    return client.get().uri(PATH).retrieve().toBodilessEntity()
+                            .doOnSuccess(response -> {
+                                latencies[i] = System.nanoTime() - requestStart;
+                                if (response.getStatusCode().is2xxSuccessful()) succeeded.incrementAndGet();
+                            });
+                }), CONCURRENCY)
+                .blockLast();
+        Arrays.sort(latencies);
+        return new Latency(succeeded.get(), latencies[requests / 2] / 1_000, latencies[(int) (requests * 0.99)] / 1_000);
+    }
+
+    private static long residentMegabytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Latency(long succeeded, long p50Micros, long p99Micros) {
+    }
+
+    private record Footprint(String engine, long startupMillis, long rssMegabytes, long succeeded,
+                             long p50Micros, long p99Micros) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s startup %d ms, RSS %d MB, p50 %d us, p99 %d us",
+                    engine, startupMillis, rssMegabytes, p50Micros, p99Micros);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.klabs.gateway.cache;
+
+import com.klabs.gateway.coalescing.CoalescingGatewayFilterFactory;
+import com.klabs.gateway.coalescing.CoalescingProperties;
+import com.klabs.gateway.security.ClaimHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Response Cache Gateway Filter Tests")
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String ETAG = "\"0a1b2c\"";
+
+    private static final String BODY = "{\"login\":\"user\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> upstreamConditions = new ArrayList<>();
+
+    private ResponseCache cache;
+
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties(true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(16));
+        cache = new ResponseCache(properties, meterRegistry);
+        cache.setLive(true);
+        filter = new ResponseCacheGatewayFilterFactory(cache, properties, meterRegistry)
+                .apply(new ResponseCacheGatewayFilterFactory.Config().setName("account-service"));
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh response without calling the backend")
+    void shouldServeFreshHit() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Act
+        MockServerWebExchange exchange = exchange("account-1");
+        filter.filter(exchange, backend).block();
+
+        // Assert
+        assertEquals(1, upstreamConditions.size());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+        assertEquals(ETAG, exchange.getResponse().getHeaders().getETag());
+        assertFalse(exchange.getResponse().getHeaders().containsKey(CacheDirectives.SURROGATE_CONTROL));
+        assertEquals(1, meterRegistry.get("gateway.response.cache.requests").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should revalidate a stale response with If-None-Match and serve it on 304")
+    void shouldRevalidateStaleEntry() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", null);
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Act
+        MockServerWebExchange exchange = exchange("account-1");
+        filter.filter(exchange, backend).block();
+
+        // Assert
+        assertEquals(List.of("none", ETAG), upstreamConditions);
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should serve the stored response to every concurrent revalidation coalesced into one 304")
+    void shouldRevalidateThroughCoalescing() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", null);
+        GatewayFilterChain slowBackend = exchange -> Mono.delay(Duration.ofMillis(100))
+                .then(Mono.defer(() -> backend.filter(exchange)));
+        GatewayFilter coalescing = new CoalescingGatewayFilterFactory(
+                new CoalescingProperties(true, Duration.ofSeconds(1), DataSize.ofKilobytes(16)), meterRegistry)
+                .apply(new CoalescingGatewayFilterFactory.Config().setName("account-service"));
+        GatewayFilterChain chain = exchange -> coalescing.filter(exchange, slowBackend);
+        filter.filter(exchange("account-1"), chain).block();
+        MockServerWebExchange first = exchange("account-1");
+        MockServerWebExchange second = exchange("account-1");
+
+        // Act
+        Mono.when(filter.filter(first, chain), filter.filter(second, chain)).block();
+
+        // Assert
+        assertEquals(List.of("none", ETAG), upstreamConditions);
+        for (MockServerWebExchange exchange : List.of(first, second)) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a client's matching If-None-Match with 304 from the cache")
+    void shouldAnswerClientConditionalRequest() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1"), backend).block();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me")
+                .header(ClaimHeaders.ACCOUNT_ID, "account-1")
+                .header(ClaimHeaders.TOKEN_ID, "account-1-token")
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG));
+
+        // Act
+        filter.filter(exchange, backend).block();
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(1, upstreamConditions.size());
+    }
+
+    @Test
+    @DisplayName("Should keep responses of different accounts apart")
+    void shouldKeyOnSubject() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Act
+        filter.filter(exchange("account-2"), backend).block();
+
+        // Assert
+        assertEquals(2, upstreamConditions.size());
+    }
+
+    @Test
+    @DisplayName("Should drop an account's responses when its event arrives")
+    void shouldInvalidateOnAccountEvent() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Act
+        cache.invalidate("account-1");
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Assert
+        assertEquals(List.of("none", "none"), upstreamConditions);
+    }
+
+    @Test
+    @DisplayName("Should send a revoked token upstream after another session refilled the cache")
+    void shouldKeyOnToken() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1", "revoked-token"), backend).block();
+        cache.invalidate("account-1");
+        filter.filter(exchange("account-1", "other-session"), backend).block();
+
+        // Act
+        filter.filter(exchange("account-1", "revoked-token"), backend).block();
+
+        // Assert
+        assertEquals(3, upstreamConditions.size());
+        assertEquals(0, meterRegistry.get("gateway.response.cache.requests").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not store responses marked no-store")
+    void shouldNotStoreNoStore() {
+        // Arrange
+        GatewayFilterChain backend = backend("no-store", null);
+
+        // Act
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache while invalidations are not followed")
+    void shouldBypassWhenNotLive() {
+        // Arrange
+        GatewayFilterChain backend = backend("private, no-cache", "max-age=30");
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Act
+        cache.setLive(false);
+        filter.filter(exchange("account-1"), backend).block();
+
+        // Assert
+        assertEquals(2, upstreamConditions.size());
+        assertEquals(0, cache.size());
+    }
+
+    private GatewayFilterChain backend(String cacheControl, String surrogateControl) {
+        return exchange -> {
+            String condition = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            upstreamConditions.add(condition == null ? "none" : condition);
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().setCacheControl(cacheControl);
+            response.getHeaders().setETag(ETAG);
+            if (surrogateControl != null) response.getHeaders().set(CacheDirectives.SURROGATE_CONTROL, surrogateControl);
+            if (ETAG.equals(condition)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.writeWith(Mono.empty());
+            }
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange exchange(String accountId) {
+        return exchange(accountId, accountId + "-token");
+    }
+
+    private static MockServerWebExchange exchange(String accountId, String tokenId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me")
+                .header(ClaimHeaders.ACCOUNT_ID, accountId)
+                .header(ClaimHeaders.TOKEN_ID, tokenId));
+    }
+}
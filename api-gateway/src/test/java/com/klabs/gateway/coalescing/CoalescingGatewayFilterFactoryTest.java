@@ -0,0 +1,223 @@
+package com.klabs.gateway.coalescing;
+
+import com.klabs.gateway.compression.CompressionFilter;
+import com.klabs.gateway.compression.CompressionProperties;
+import com.klabs.gateway.security.ClaimHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Coalescing Gateway Filter Tests")
+class CoalescingGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap("{\"login\":\"user\"}".getBytes(StandardCharsets.UTF_8))));
+        }));
+    };
+
+    @Test
+    @DisplayName("Should answer identical concurrent requests with one upstream call")
+    void shouldCoalesceIdenticalRequests() {
+        // Arrange
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofKilobytes(1));
+        MockServerWebExchange first = exchange("/api/v1/account/me", "account-1");
+        MockServerWebExchange second = exchange("/api/v1/account/me", "account-1");
+
+        // Act
+        Mono.when(filter.filter(first, upstream), filter.filter(second, upstream)).block();
+
+        // Assert
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals("{\"login\":\"user\"}", second.getResponse().getBodyAsString().block());
+        assertEquals(1, meterRegistry.get("gateway.coalescing.requests").tag("outcome", "coalesced").counter().count());
+        assertEquals(2, meterRegistry.get("gateway.coalescing.fanout").summary().max());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce requests of different accounts")
+    void shouldKeyOnSubject() {
+        // Arrange
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofKilobytes(1));
+
+        // Act
+        Mono.when(filter.filter(exchange("/api/v1/account/me", "account-1"), upstream),
+                filter.filter(exchange("/api/v1/account/me", "account-2"), upstream)).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce requests with different queries")
+    void shouldKeyOnQuery() {
+        // Arrange
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofKilobytes(1));
+
+        // Act
+        Mono.when(filter.filter(exchange("/api/v1/account/me?fields=login", "account-1"), upstream),
+                filter.filter(exchange("/api/v1/account/me?fields=email", "account-1"), upstream)).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should send waiters upstream when the response is too large to share")
+    void shouldNotShareLargeResponse() {
+        // Arrange
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofBytes(4));
+        MockServerWebExchange second = exchange("/api/v1/account/me", "account-1");
+
+        // Act
+        Mono.when(filter.filter(exchange("/api/v1/account/me", "account-1"), upstream),
+                filter.filter(second, upstream)).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("{\"login\":\"user\"}", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should send a waiter upstream after the maximum wait")
+    void shouldStopWaitingAfterMaxWait() {
+        // Arrange
+        GatewayFilter filter = filter(Duration.ofMillis(10), DataSize.ofKilobytes(1));
+
+        // Act
+        Mono.when(filter.filter(exchange("/api/v1/account/me", "account-1"), upstream),
+                filter.filter(exchange("/api/v1/account/me", "account-1"), upstream)).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(1, meterRegistry.get("gateway.coalescing.requests").tag("outcome", "wait_timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not answer an unconditional request with another request's 304")
+    void shouldKeyOnConditions() {
+        // Arrange
+        GatewayFilterChain conditionalUpstream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                response.getHeaders().setETag("\"v1\"");
+                if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) != null) {
+                    response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return response.writeWith(Mono.empty());
+                }
+                response.setStatusCode(HttpStatus.OK);
+                return response.writeWith(Mono.just(response.bufferFactory()
+                        .wrap("{\"login\":\"user\"}".getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofKilobytes(1));
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me")
+                .header(ClaimHeaders.ACCOUNT_ID, "account-1")
+                .header(ClaimHeaders.TOKEN_ID, "account-1-token")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""));
+        MockServerWebExchange unconditional = exchange("/api/v1/account/me", "account-1");
+
+        // Act
+        Mono.when(filter.filter(conditional, conditionalUpstream), filter.filter(unconditional, conditionalUpstream)).block();
+
+        // Assert
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(HttpStatus.OK, unconditional.getResponse().getStatusCode());
+        assertEquals("{\"login\":\"user\"}", unconditional.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should share the uncompressed response when compression runs in front")
+    void shouldShareUncompressedResponseBehindCompression() throws Exception {
+        // Arrange
+        String json = "{\"login\":\"user\",\"history\":\"" + "login,".repeat(400) + "\"}";
+        GatewayFilterChain jsonUpstream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                response.getHeaders().setContentLength(bytes.length);
+                response.getHeaders().setETag("\"v1\"");
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+            }));
+        };
+        CompressionFilter compression = new CompressionFilter(new CompressionProperties(true, DataSize.ofBytes(64),
+                List.of("application/json"), 6, 4, 4), meterRegistry);
+        GatewayFilter filter = filter(Duration.ofSeconds(1), DataSize.ofKilobytes(64));
+        MockServerWebExchange gzipClient = exchange("/api/v1/account/me", "account-1", "gzip");
+        MockServerWebExchange plainClient = exchange("/api/v1/account/me", "account-1", null);
+
+        // Act
+        Mono.when(compression.filter(gzipClient, exchange -> filter.filter(exchange, jsonUpstream)),
+                compression.filter(plainClient, exchange -> filter.filter(exchange, jsonUpstream))).block();
+
+        // Assert
+        assertEquals(1, upstreamCalls.get());
+        HttpHeaders plain = plainClient.getResponse().getHeaders();
+        assertNull(plain.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"v1\"", plain.getETag());
+        assertEquals(json, plainClient.getResponse().getBodyAsString().block());
+        assertEquals("gzip", gzipClient.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        byte[] compressed = DataBufferUtils.join(gzipClient.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(json, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private GatewayFilter filter(Duration maxWait, DataSize maxResponseSize) {
+        return new CoalescingGatewayFilterFactory(new CoalescingProperties(true, maxWait, maxResponseSize), meterRegistry)
+                .apply(new CoalescingGatewayFilterFactory.Config().setName("account-service"));
+    }
+
+    private static MockServerWebExchange exchange(String uri, String accountId) {
+        return exchange(uri, accountId, null);
+    }
+
+    private static MockServerWebExchange exchange(String uri, String accountId, String acceptEncoding) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(uri)
+                .header(ClaimHeaders.ACCOUNT_ID, accountId)
+                .header(ClaimHeaders.TOKEN_ID, accountId + "-token");
+        if (acceptEncoding != null) request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,130 @@
+package com.klabs.gateway.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compression Filter Tests")
+class CompressionFilterTest {
+
+    private static final String ENTRY = "{\"action\":\"LOGIN\",\"account\":\"3f0c2a52-6f1e-4c55-9d8c-0e3a2f1b7d44\"},";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CompressionFilter filter = new CompressionFilter(new CompressionProperties(true, DataSize.ofKilobytes(1),
+            List.of("application/json"), 6, 4, 4), meterRegistry);
+
+    @Test
+    @DisplayName("Should prefer the encoding with the highest quality")
+    void shouldNegotiateEncoding() {
+        // Act & Assert
+        assertEquals("br", CompressionFilter.negotiate("gzip, deflate, br", true));
+        assertEquals("gzip", CompressionFilter.negotiate("gzip, deflate, br", false));
+        assertEquals("gzip", CompressionFilter.negotiate("br;q=0.5, gzip", true));
+        assertEquals("gzip", CompressionFilter.negotiate("*", false));
+        assertNull(CompressionFilter.negotiate("gzip;q=0, identity", true));
+        assertNull(CompressionFilter.negotiate(null, true));
+    }
+
+    @Test
+    @DisplayName("Should stream a gzip body that decompresses to the original")
+    void shouldCompressWithGzip() throws Exception {
+        // Arrange
+        String body = ENTRY.repeat(200);
+        MockServerWebExchange exchange = exchange("gzip");
+
+        // Act
+        filter.filter(exchange, backend(body, 3)).block();
+
+        // Assert
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, headers.getContentLength());
+        assertTrue(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        byte[] compressed = bytes(exchange);
+        assertTrue(compressed.length < body.length() / 4);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(body, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(body.length(), meterRegistry.get("gateway.compression.bytes.in").tag("encoding", "gzip").counter().count());
+        assertEquals(body.length() - compressed.length,
+                meterRegistry.get("gateway.compression.bytes.saved").tag("encoding", "gzip").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should leave responses below the minimum size as they are")
+    void shouldNotCompressSmallResponse() {
+        // Arrange
+        MockServerWebExchange exchange = exchange("gzip");
+
+        // Act
+        filter.filter(exchange, backend(ENTRY, 1)).block();
+
+        // Assert
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(ENTRY, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should ask the backend for an uncompressed response")
+    void shouldRemoveAcceptEncodingUpstream() {
+        // Arrange
+        AtomicReference<String> forwarded = new AtomicReference<>("unset");
+        GatewayFilterChain chain = exchange -> {
+            forwarded.set(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+            return exchange.getResponse().setComplete();
+        };
+
+        // Act
+        filter.filter(exchange("gzip, br"), chain).block();
+
+        // Assert
+        assertNull(forwarded.get());
+    }
+
+    private static GatewayFilterChain backend(String body, int chunks) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(bytes.length);
+            int chunk = (bytes.length + chunks - 1) / chunks;
+            return response.writeWith(Flux.range(0, chunks)
+                    .map(i -> response.bufferFactory().wrap(Arrays.copyOfRange(bytes, i * chunk,
+                            Math.min(bytes.length, (i + 1) * chunk)))));
+        };
+    }
+
+    private static MockServerWebExchange exchange(String acceptEncoding) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/audit")
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding));
+    }
+
+    private static byte[] bytes(MockServerWebExchange exchange) {
+        DataBuffer joined = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+}
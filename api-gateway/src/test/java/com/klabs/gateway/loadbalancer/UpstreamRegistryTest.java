@@ -0,0 +1,166 @@
+package com.klabs.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Upstream Registry Tests")
+class UpstreamRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ServiceInstance first = instance("10.0.0.1");
+
+    private final ServiceInstance second = instance("10.0.0.2");
+
+    @Test
+    @DisplayName("Should choose the instance with fewer requests in flight")
+    void shouldChooseLeastLoaded() {
+        // Arrange
+        UpstreamRegistry registry = registry(Duration.ZERO);
+        IntStream.range(0, 5).forEach(i -> registry.started(first));
+
+        // Act
+        List<ServiceInstance> chosen = IntStream.range(0, 100)
+                .mapToObj(i -> registry.choose(List.of(first, second), System.currentTimeMillis()))
+                .toList();
+
+        // Assert
+        assertTrue(chosen.stream().allMatch(second::equals));
+        assertEquals(5.0, meterRegistry.get("gateway.upstream.inflight").tag("instance", "10.0.0.1:8081").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should eject an instance after consecutive failures")
+    void shouldEjectFailingInstance() {
+        // Arrange
+        UpstreamRegistry registry = registry(Duration.ZERO);
+        IntStream.range(0, 3).forEach(i -> {
+            registry.started(first);
+            registry.completed(first, true, 1_000_000);
+        });
+
+        // Act
+        List<ServiceInstance> chosen = IntStream.range(0, 100)
+                .mapToObj(i -> registry.choose(List.of(first, second), System.currentTimeMillis()))
+                .toList();
+
+        // Assert
+        assertTrue(chosen.stream().allMatch(second::equals));
+        assertEquals(1.0, meterRegistry.get("gateway.upstream.ejected").tag("instance", "10.0.0.1:8081").gauge().value());
+        assertEquals(3, meterRegistry.get("gateway.upstream.latency").tag("instance", "10.0.0.1:8081").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should not eject an instance whose failures are interrupted by a success")
+    void shouldResetFailuresOnSuccess() {
+        // Arrange
+        UpstreamRegistry registry = registry(Duration.ZERO);
+
+        // Act
+        for (boolean failed : new boolean[]{true, true, false, true, true}) {
+            registry.started(first);
+            registry.completed(first, failed, 1_000_000);
+        }
+
+        // Assert
+        assertFalse(registry.stats(first).isEjected(System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Should take a cancelled request out of flight exactly once")
+    void shouldReleaseCancelledRequest() {
+        // Arrange
+        UpstreamRegistry registry = registry(Duration.ZERO);
+        UpstreamLoadBalancerLifecycle lifecycle = new UpstreamLoadBalancerLifecycle(registry);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me"));
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(
+                new RequestData(exchange.getRequest(), exchange.getAttributes())));
+        DefaultResponse response = new DefaultResponse(first);
+        lifecycle.onStartRequest(request, response);
+
+        // Act
+        new UpstreamCancellationFilter(lifecycle).filter(exchange, e -> Mono.never()).subscribe().dispose();
+        lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+
+        // Assert
+        assertEquals(0, registry.stats(first).inFlight());
+        assertEquals(0, meterRegistry.get("gateway.upstream.latency").tag("instance", "10.0.0.1:8081").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should use every instance when too many are ejected")
+    void shouldPanicWhenMostInstancesEjected() {
+        // Arrange
+        UpstreamRegistry registry = registry(Duration.ZERO);
+        for (ServiceInstance instance : List.of(first, second)) {
+            IntStream.range(0, 3).forEach(i -> registry.completed(instance, true, 1_000_000));
+        }
+
+        // Act
+        ServiceInstance chosen = registry.choose(List.of(first, second), System.currentTimeMillis());
+
+        // Assert
+        assertNotNull(chosen);
+    }
+
+    @Test
+    @DisplayName("Should ramp up the weight of a new instance over the slow start")
+    void shouldRampUpDuringSlowStart() {
+        // Arrange
+        InstanceStats stats = new InstanceStats(0);
+
+        // Act & Assert
+        assertEquals(0.1, stats.weight(0, 10_000), 1e-9);
+        assertEquals(0.5, stats.weight(5_000, 10_000), 1e-9);
+        assertEquals(1.0, stats.weight(20_000, 10_000), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should read instances from the instances file")
+    void shouldReadInstancesFile(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("account-service.instances");
+        Files.writeString(file, "# replicas\nhttp://10.0.0.1:8081\n\nhttp://10.0.0.2:8081\n");
+        UpstreamInstanceListSupplier supplier = new UpstreamInstanceListSupplier("account-service",
+                new LoadBalancerProperties.Service(List.of(URI.create("http://10.0.0.1:8081")), file, Duration.ZERO));
+
+        // Act
+        List<ServiceInstance> instances = supplier.get().blockFirst();
+
+        // Assert
+        assertEquals(List.of("10.0.0.1:8081", "10.0.0.2:8081"),
+                instances.stream().map(ServiceInstance::getInstanceId).toList());
+    }
+
+    private UpstreamRegistry registry(Duration slowStart) {
+        return new UpstreamRegistry(new LoadBalancerProperties(Map.of(), 3, Duration.ofSeconds(30),
+                Duration.ofMinutes(5), 50, slowStart), meterRegistry);
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host + ":8081", "account-service", host, 8081, false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.klabs.gateway.metrics;
+
+import com.klabs.gateway.ApiGatewayApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs requests through the gateway to a local stand-in backend that delays its response headers
+ * and then its body, and checks that the phase histograms put each delay where it happened and
+ * that the histograms are exported for Prometheus. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@DisplayName("Latency Breakdown Load Test")
+class LatencyBreakdownLoadTest {
+
+    private static final int REQUESTS = 2_000;
+
+    private static final int CONCURRENCY = 64;
+
+    private static final String ROUTE = "route_v1_account_service_public";
+
+    private static final Duration HEADERS_DELAY = Duration.ofMillis(20);
+
+    private static final Duration BODY_DELAY = Duration.ofMillis(10);
+
+    private static DisposableServer backend;
+
+    private static ConfigurableApplicationContext gateway;
+
+    private static WebClient client;
+
+    @BeforeAll
+    static void setUp() {
+        backend = HttpServer.create().port(0).protocol(HttpProtocol.H2C, HttpProtocol.HTTP11).route(routes -> routes
+                .get("/.well-known/jwks.json", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(Mono.just("{\"keys\":[]}")))
+                .get("/api/v1/auth/slow", (request, response) -> Mono.delay(HEADERS_DELAY)
+                        .then(response.header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                                .sendString(Flux.just("first,", "second").delayElements(BODY_DELAY))
+                                .then())))
+                .bindNow();
+
+        gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .properties(
+                        "server.port=0",
+                        "app.routes.account-service.uri=http://localhost:" + backend.port(),
+                        "app.rate-limit.enabled=false")
+                .run();
+        client = WebClient.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (gateway != null) gateway.close();
+        if (backend != null) backend.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should attribute backend delays to the upstream phases")
+    void shouldBreakDownLatency() {
+        // Act
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> client.get().uri("/api/v1/auth/slow").retrieve().toBodilessEntity(), CONCURRENCY)
+                .blockLast();
+        String scrape = client.get().uri("/actuator/prometheus").retrieve().bodyToMono(String.class).block();
+
+        // Assert
+        MeterRegistry meterRegistry = gateway.getBean(MeterRegistry.class);
+        Timer requests = meterRegistry.get("gateway.requests").tag("route", ROUTE).tag("status", "2xx").timer();
+        System.out.printf("requests: count %d, mean %.2f ms, max %.2f ms%n", requests.count(),
+                requests.mean(TimeUnit.MILLISECONDS), requests.max(TimeUnit.MILLISECONDS));
+        for (RequestLatencyMetrics.Phase phase : RequestLatencyMetrics.Phase.values()) {
+            System.out.printf("%-10s mean %.2f ms%n", phase, phaseMean(meterRegistry, phase));
+        }
+        assertEquals(REQUESTS, requests.count());
+        assertTrue(phaseMean(meterRegistry, RequestLatencyMetrics.Phase.FIRST_BYTE) >= HEADERS_DELAY.toMillis());
+        assertTrue(phaseMean(meterRegistry, RequestLatencyMetrics.Phase.STREAMING) >= BODY_DELAY.toMillis());
+        assertTrue(phaseMean(meterRegistry, RequestLatencyMetrics.Phase.FILTERS) < HEADERS_DELAY.toMillis());
+        assertNotNull(scrape);
+        assertTrue(scrape.contains("gateway_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("gateway_request_phases_seconds_bucket{"));
+    }
+
+    private static double phaseMean(MeterRegistry meterRegistry, RequestLatencyMetrics.Phase phase) {
+        return meterRegistry.get("gateway.request.phases").tag("route", ROUTE)
+                .tag("phase", phase.name().toLowerCase(Locale.ROOT)).timer().mean(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,135 @@
+package com.klabs.gateway.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request Latency Metrics Tests")
+class RequestLatencyMetricsTest {
+
+    private static final long MS = 1_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestLatencyMetrics metrics = new RequestLatencyMetrics(
+            new LatencyMetricsProperties(true, Duration.ofMillis(1), Duration.ofSeconds(30)), meterRegistry);
+
+    @Test
+    @DisplayName("Should split a proxied request into its phases")
+    void shouldRecordPhases() {
+        // Arrange
+        RequestTiming timing = new RequestTiming(1_000 * MS);
+        timing.routed(1_002 * MS);
+        timing.requestSent(1_005 * MS);
+        timing.responseReceived(1_045 * MS);
+
+        // Act
+        metrics.record("account", "2xx", timing, 1_055 * MS);
+
+        // Assert
+        assertEquals(55, requests("account", "2xx").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, phase("account", "filters").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(3, phase("account", "connect").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(40, phase("account", "first_byte").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(10, phase("account", "streaming").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should add the remaining time to the phase a request stopped in")
+    void shouldRecordStoppedPhase() {
+        // Arrange
+        RequestTiming answeredByFilter = new RequestTiming(0);
+        RequestTiming failedToConnect = new RequestTiming(100 * MS);
+        failedToConnect.routed(101 * MS);
+
+        // Act
+        metrics.record("account", "4xx", answeredByFilter, 4 * MS);
+        metrics.record("account", "5xx", failedToConnect, 1_101 * MS);
+
+        // Assert
+        assertEquals(5, phase("account", "filters").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1_000, phase("account", "connect").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, phase("account", "first_byte").count());
+    }
+
+    @Test
+    @DisplayName("Should start the upstream phases again when a request is retried")
+    void shouldResetUpstreamPhasesOnRetry() {
+        // Arrange
+        RequestTiming timing = new RequestTiming(0);
+        timing.routed(1 * MS);
+        timing.requestSent(2 * MS);
+
+        // Act
+        timing.routed(50 * MS);
+        metrics.record("account", "5xx", timing, 60 * MS);
+
+        // Assert
+        assertEquals(50, phase("account", "filters").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(10, phase("account", "connect").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should tag requests with their route and status class")
+    void shouldTagRouteAndStatus() {
+        // Arrange
+        RequestTimingFilter filter = new RequestTimingFilter(metrics);
+        MockServerWebExchange notFound = routedExchange();
+        MockServerWebExchange failed = routedExchange();
+        GatewayFilterChain answer = exchange -> {
+            assertNotNull(RequestTiming.of(exchange));
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        };
+        GatewayFilterChain fail = exchange -> Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT));
+
+        // Act
+        filter.filter(notFound, answer).block();
+        assertThrows(ResponseStatusException.class, () -> filter.filter(failed, fail).block());
+
+        // Assert
+        assertEquals(1, requests("account", "4xx").count());
+        assertEquals(1, requests("account", "5xx").count());
+    }
+
+    @Test
+    @DisplayName("Should map status codes to their class")
+    void shouldMapStatusClass() {
+        // Act & Assert
+        assertEquals("2xx", RequestLatencyMetrics.statusClass(HttpStatus.NO_CONTENT));
+        assertEquals("5xx", RequestLatencyMetrics.statusClass(HttpStatus.BAD_GATEWAY));
+        assertEquals(RequestLatencyMetrics.CANCELLED, RequestLatencyMetrics.statusClass(null));
+    }
+
+    private static MockServerWebExchange routedExchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("account")
+                .uri("lb://account-service")
+                .asyncPredicate(e -> Mono.just(true))
+                .build());
+        return exchange;
+    }
+
+    private Timer requests(String route, String status) {
+        return meterRegistry.get("gateway.requests").tag("route", route).tag("status", status).timer();
+    }
+
+    private Timer phase(String route, String phase) {
+        return meterRegistry.get("gateway.request.phases").tag("route", route).tag("phase", phase).timer();
+    }
+}
@@ -0,0 +1,108 @@
+package com.klabs.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Rate Limit Filter Tests")
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @Test
+    @DisplayName("Should reject a client over the limit of the matching rule with 429")
+    void shouldRejectOverLimit() {
+        // Arrange
+        RateLimitFilter filter = filter(1, new RateLimitProperties.Rule(null, "/api/v1/auth/**", 2, 1, Duration.ofMinutes(1)));
+        for (int i = 0; i < 2; i++) filter.filter(exchange("/api/v1/auth/login", "10.0.0.1"), chain).block();
+
+        // Act
+        MockServerWebExchange rejected = exchange("/api/v1/auth/login", "10.0.0.1");
+        filter.filter(rejected, chain).block();
+
+        // Assert
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("60", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("gateway.ratelimit.rejected").tag("rule", "/api/v1/auth/**").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per client and let unmatched paths through")
+    void shouldLimitPerClient() {
+        // Arrange
+        RateLimitFilter filter = filter(1, new RateLimitProperties.Rule(null, "/api/v1/auth/**", 1, 1, Duration.ofMinutes(1)));
+
+        // Act
+        filter.filter(exchange("/api/v1/auth/login", "10.0.0.1"), chain).block();
+        filter.filter(exchange("/api/v1/auth/login", "10.0.0.2"), chain).block();
+        filter.filter(exchange("/api/v1/account/me", "10.0.0.1"), chain).block();
+
+        // Assert
+        assertEquals(3, forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should enforce a share of the budget on each replica")
+    void shouldDivideBudgetAcrossReplicas() {
+        // Arrange
+        RateLimitFilter filter = filter(4, new RateLimitProperties.Rule(null, null, 8, 8, Duration.ofMinutes(1)));
+
+        // Act
+        for (int i = 0; i < 8; i++) filter.filter(exchange("/api/v1/account/me", "10.0.0.1"), chain).block();
+
+        // Assert
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should refill buckets lazily and evict the idle ones")
+    void shouldRefillAndEvictBuckets() {
+        // Arrange
+        TokenBucketTable table = new TokenBucketTable(2, 1, 1000, 4, 100);
+        table.tryAcquire("client", 0);
+        table.tryAcquire("client", 0);
+
+        // Act
+        long wait = table.tryAcquire("client", 0);
+        long afterRefill = table.tryAcquire("client", 1000);
+        int evictedEarly = table.evictIdle(1500);
+        int evictedLate = table.evictIdle(3000);
+
+        // Assert
+        assertEquals(1000, wait);
+        assertEquals(0, afterRefill);
+        assertEquals(0, evictedEarly);
+        assertEquals(1, evictedLate);
+    }
+
+    private RateLimitFilter filter(int replicas, RateLimitProperties.Rule rule) {
+        return new RateLimitFilter(new RateLimitProperties(true, List.of(rule), replicas, false, 4, 1000, Duration.ofMinutes(1)),
+                meterRegistry);
+    }
+
+    private static MockServerWebExchange exchange(String path, String address) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress(address, 40000)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.klabs.gateway.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Budgeted Retry Gateway Filter Tests")
+class BudgetedRetryGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final GatewayFilterChain failingChain = exchange -> {
+        attempts.incrementAndGet();
+        return Mono.error(new ConnectException("Connection refused"));
+    };
+
+    @Test
+    @DisplayName("Should retry an idempotent request that failed to connect")
+    void shouldRetryConnectionFailure() {
+        // Arrange
+        GatewayFilter filter = filter(2, 0, 10);
+        GatewayFilterChain recovering = exchange -> attempts.incrementAndGet() < 2
+                ? Mono.error(new ConnectException("Connection refused"))
+                : Mono.empty();
+
+        // Act
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me")), recovering).block();
+
+        // Assert
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry requests that are not idempotent")
+    void shouldNotRetryPost() {
+        // Arrange
+        GatewayFilter filter = filter(2, 0, 10);
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> filter.filter(
+                MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/login")), failingChain).block());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the budget is spent")
+    void shouldStopAtBudget() {
+        // Arrange
+        GatewayFilter filter = filter(2, 0.1, 0);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            try {
+                filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/account/me")), failingChain).block();
+            } catch (RuntimeException ignored) {
+                // every request fails
+            }
+        }
+
+        // Assert
+        assertTrue(attempts.get() <= 20 + 2, "attempts: " + attempts.get());
+        assertTrue(meterRegistry.get("gateway.retries").tag("outcome", "budget_exhausted").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should allow retries up to the ratio of requests in the window")
+    void shouldBoundRetriesByRatio() {
+        // Arrange
+        RetryBudget budget = new RetryBudget(0.2, 0, 10);
+        for (int i = 0; i < 50; i++) budget.recordRequest(1_000);
+
+        // Act
+        int granted = 0;
+        for (int i = 0; i < 50; i++) if (budget.tryAcquireRetry(1_000)) granted++;
+        boolean afterWindow = budget.tryAcquireRetry(20_000);
+
+        // Assert
+        assertEquals(10, granted);
+        assertFalse(afterWindow);
+    }
+
+    private GatewayFilter filter(int retries, double ratio, int minRetriesPerSecond) {
+        ResilienceProperties properties = new ResilienceProperties(
+                new ResilienceProperties.CircuitBreaker(50, Duration.ofSeconds(2), 50, Duration.ofSeconds(10), 20,
+                        Duration.ofSeconds(30), 5, Duration.ofSeconds(5)),
+                new ResilienceProperties.Retry(retries, Duration.ZERO, ratio, minRetriesPerSecond, Duration.ofSeconds(10)),
+                ResilienceProperties.Fallback.STATIC);
+        return new BudgetedRetryGatewayFilterFactory(properties, meterRegistry)
+                .apply(new BudgetedRetryGatewayFilterFactory.Config().setName("test"));
+    }
+}
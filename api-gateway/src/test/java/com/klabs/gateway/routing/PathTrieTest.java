@@ -0,0 +1,53 @@
+package com.klabs.gateway.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Path Trie Tests")
+class PathTrieTest {
+
+    @Test
+    @DisplayName("Should match literal, wildcard and trailing double wildcard patterns")
+    void shouldMatchPatterns() {
+        // Arrange
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("/api/v1/verify", "verify");
+        trie.add("/api/v1/auth/**", "auth");
+        trie.add("/api/v1/account/{id}/history", "history");
+
+        // Act & Assert
+        assertEquals(List.of("verify"), trie.match("/api/v1/verify"));
+        assertEquals(List.of("auth"), trie.match("/api/v1/auth"));
+        assertEquals(List.of("auth"), trie.match("/api/v1/auth/login/"));
+        assertEquals(List.of("history"), trie.match("/api/v1/account/42/history"));
+        assertEquals(List.of(), trie.match("/api/v1/account/42"));
+        assertEquals(List.of(), trie.match("/api/v2/verify"));
+    }
+
+    @Test
+    @DisplayName("Should return overlapping matches in the order they were added")
+    void shouldKeepTableOrder() {
+        // Arrange
+        PathTrie<String> trie = new PathTrie<>();
+        trie.add("/api/**", "api");
+        trie.add("/api/v1/account/*", "account");
+        trie.add("/api/v1/account/me", "me");
+
+        // Act & Assert
+        assertEquals(List.of("api", "account", "me"), trie.match("/api/v1/account/me"));
+    }
+
+    @Test
+    @DisplayName("Should reject a double wildcard before the last segment")
+    void shouldRejectInnerDoubleWildcard() {
+        // Arrange
+        PathTrie<String> trie = new PathTrie<>();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> trie.add("/api/**/history", "history"));
+    }
+}
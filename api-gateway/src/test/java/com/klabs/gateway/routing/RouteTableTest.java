@@ -0,0 +1,96 @@
+package com.klabs.gateway.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.FileSystemResource;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Route Table Tests")
+class RouteTableTest {
+
+    private static final String ACCOUNT_ROUTES = """
+            [{"id": "account", "paths": ["/api/v1/account/**"], "uri": "lb://account-service", "authenticated": true}]
+            """;
+
+    private final List<Object> events = new ArrayList<>();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should swap in the routes of a changed file")
+    void shouldReloadChangedFile() throws Exception {
+        // Arrange
+        Path file = write(ACCOUNT_ROUTES, 0);
+        RouteTable table = table(file);
+
+        // Act
+        write("""
+                [{"id": "account", "paths": ["/api/v1/account/**"], "uri": "lb://account-service"},
+                 {"id": "audit", "paths": ["/api/v1/audit/**"], "uri": "lb://audit-service"}]
+                """, 10);
+        boolean reloaded = table.reloadIfChanged();
+
+        // Assert
+        assertTrue(reloaded);
+        assertEquals(List.of("audit"), table.candidates("/api/v1/audit/export").stream().map(Route::getId).toList());
+        assertEquals(2, table.getRoutes().count().block());
+        assertInstanceOf(RefreshRoutesEvent.class, events.getFirst());
+    }
+
+    @Test
+    @DisplayName("Should keep the current routes when the changed file is invalid")
+    void shouldKeepRoutesOnInvalidFile() throws Exception {
+        // Arrange
+        Path file = write(ACCOUNT_ROUTES, 0);
+        RouteTable table = table(file);
+
+        // Act
+        write("[{\"id\": \"account\", \"paths\": [\"api/v1/account\"]}]", 10);
+        boolean reloaded = table.reloadIfChanged();
+
+        // Assert
+        assertFalse(reloaded);
+        assertEquals(List.of("account"), table.candidates("/api/v1/account/me").stream().map(Route::getId).toList());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not reload an unchanged file")
+    void shouldIgnoreUnchangedFile() throws Exception {
+        // Arrange
+        RouteTable table = table(write(ACCOUNT_ROUTES, 0));
+
+        // Act & Assert
+        assertFalse(table.reloadIfChanged());
+    }
+
+    private RouteTable table(Path file) {
+        return new RouteTable(new FileSystemResource(file), Duration.ofSeconds(1), List.of(),
+                entry -> Route.async()
+                        .id(entry.id())
+                        .uri(entry.uri())
+                        .asyncPredicate(exchange -> Mono.just(true))
+                        .build(),
+                events::add);
+    }
+
+    private Path write(String content, int secondsLater) throws Exception {
+        Path file = directory.resolve("routes.json");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_700_000_000_000L + secondsLater * 1000L));
+        return file;
+    }
+}
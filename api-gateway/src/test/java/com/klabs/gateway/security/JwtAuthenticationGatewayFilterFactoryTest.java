@@ -0,0 +1,167 @@
+package com.klabs.gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JWT Authentication Gateway Filter Tests")
+class JwtAuthenticationGatewayFilterFactoryTest {
+
+    private static final String KEY_ID = "test-key";
+
+    private final KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+
+    private final JwtAuthenticationProperties properties = new JwtAuthenticationProperties(
+            URI.create("http://localhost:1/.well-known/jwks.json"), "account-service",
+            Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ZERO, 100);
+
+    private final JwksKeyCache keys = new JwksKeyCache(WebClient.builder(),
+            new StaticListableBeanFactory().getBeanProvider(LoadBalancedExchangeFilterFunction.class), properties);
+
+    private final GatewayFilter filter = new JwtAuthenticationGatewayFilterFactory(new JwtVerifier(keys, properties), keys)
+            .apply(new JwtAuthenticationGatewayFilterFactory.Config());
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        keys.update(Map.of(KEY_ID, keyPair.getPublic()));
+    }
+
+    @Test
+    @DisplayName("Should forward verified claims in headers")
+    void shouldForwardVerifiedClaims() {
+        // Arrange
+        UUID accountUUID = UUID.randomUUID();
+        long expiresAt = (System.currentTimeMillis() / 1000 + 60) * 1000;
+        MockServerWebExchange exchange = exchange("Bearer " + token(KEY_ID, accountUUID, expiresAt, "account-service"));
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals(accountUUID.toString(), headers.getFirst(ClaimHeaders.ACCOUNT_ID));
+        assertEquals("testUser", headers.getFirst(ClaimHeaders.ACCOUNT_LOGIN));
+        assertEquals("token-id", headers.getFirst(ClaimHeaders.TOKEN_ID));
+        assertEquals(Long.toString(expiresAt - 60_000), headers.getFirst(ClaimHeaders.TOKEN_ISSUED_AT));
+        assertEquals(Long.toString(expiresAt), headers.getFirst(ClaimHeaders.TOKEN_EXPIRES_AT));
+    }
+
+    @Test
+    @DisplayName("Should reject a request without a bearer token")
+    void shouldRejectMissingToken() {
+        // Arrange
+        MockServerWebExchange exchange = exchange(null);
+
+        // Act
+        filter.filter(exchange, chain).block();
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should reject expired, foreign-issuer and malformed tokens")
+    void shouldRejectInvalidTokens() {
+        // Arrange
+        long past = System.currentTimeMillis() - 60_000;
+        long future = System.currentTimeMillis() + 60_000;
+        String[] tokens = {
+                token(KEY_ID, UUID.randomUUID(), past, "account-service"),
+                token(KEY_ID, UUID.randomUUID(), future, "someone-else"),
+                "not.a.token"
+        };
+
+        for (String token : tokens) {
+            MockServerWebExchange exchange = exchange("Bearer " + token);
+
+            // Act
+            filter.filter(exchange, chain).block();
+
+            // Assert
+            assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+            assertTrue(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE).contains("invalid_token"));
+        }
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with a key the backend does not publish")
+    void shouldRejectUnknownKey() {
+        // Arrange
+        MockServerWebExchange exchange = exchange("Bearer " + token("rotated-key", UUID.randomUUID(),
+                System.currentTimeMillis() + 60_000, "account-service"));
+
+        // Act
+        filter.filter(exchange, chain).block(Duration.ofSeconds(10));
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    @DisplayName("Should strip claim headers sent by the client")
+    void shouldStripSpoofedClaimHeaders() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/auth/login")
+                .header(ClaimHeaders.ACCOUNT_ID, UUID.randomUUID().toString())
+                .header(ClaimHeaders.ACCOUNT_LOGIN, "admin"));
+
+        // Act
+        new ClaimHeadersSanitizingFilter().filter(exchange, chain).block();
+
+        // Assert
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertFalse(headers.containsKey(ClaimHeaders.ACCOUNT_ID));
+        assertFalse(headers.containsKey(ClaimHeaders.ACCOUNT_LOGIN));
+    }
+
+    private String token(String keyId, UUID subject, long expiresAtMillis, String issuer) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuer(issuer)
+                .subject(subject.toString())
+                .id("token-id")
+                .claim("login", "testUser")
+                .issuedAt(new Date(expiresAtMillis - 60_000))
+                .expiration(new Date(expiresAtMillis))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/account/me");
+        if (authorization != null) request.header(HttpHeaders.AUTHORIZATION, authorization);
+        return MockServerWebExchange.from(request);
+    }
+}
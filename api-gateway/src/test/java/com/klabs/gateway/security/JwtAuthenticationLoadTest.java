@@ -0,0 +1,162 @@
+package com.klabs.gateway.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.klabs.gateway.ApiGatewayApplication;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares authenticating at the gateway with authenticating in the service. A local stub stands
+ * in for account-service: {@code /api/v1/account/me} sits behind the gateway JWT filter and only
+ * reads the claim headers, while {@code /api/v1/auth/me} is routed without the filter and verifies
+ * the token itself, as account-service would. Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+@DisplayName("JWT Authentication Load Test")
+class JwtAuthenticationLoadTest {
+
+    private static final int REQUESTS = 20_000;
+
+    private static final int CONCURRENCY = 64;
+
+    private static final String KEY_ID = "load-test-key";
+
+    private static final KeyPair KEY_PAIR = Jwts.SIG.ES256.keyPair().build();
+
+    private static final LongAdder backendAuthNanos = new LongAdder();
+
+    private static DisposableServer backend;
+
+    private static ConfigurableApplicationContext gateway;
+
+    private static WebClient client;
+
+    private static String token;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        String jwks = new ObjectMapper().writeValueAsString(
+                Map.of("keys", List.of(Jwks.builder().key(KEY_PAIR.getPublic()).id(KEY_ID).build())));
+        JwtParser serviceParser = Jwts.parser().verifyWith(KEY_PAIR.getPublic()).build();
+
+        backend = HttpServer.create().port(0).protocol(HttpProtocol.H2C, HttpProtocol.HTTP11).route(routes -> routes
+                .get("/.well-known/jwks.json", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json").sendString(Mono.just(jwks)))
+                .get("/api/v1/account/me", (request, response) -> response
+                        .sendString(Mono.just(request.requestHeaders().get(ClaimHeaders.ACCOUNT_ID))))
+                .get("/api/v1/auth/me", (request, response) -> {
+                    long start = System.nanoTime();
+                    String subject = serviceParser.parseSignedClaims(
+                            request.requestHeaders().get(HttpHeaders.AUTHORIZATION).substring(7)).getPayload().getSubject();
+                    backendAuthNanos.add(System.nanoTime() - start);
+                    return response.sendString(Mono.just(subject));
+                }))
+                .bindNow();
+
+        gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .properties(
+                        "server.port=0",
+                        "app.routes.account-service.uri=http://localhost:" + backend.port(),
+                        "app.security.jwt.issuer=account-service",
+                        "app.rate-limit.enabled=false")
+                .run();
+        JwksKeyCache keys = gateway.getBean(JwksKeyCache.class);
+        await().until(() -> keys.size() == 1);
+
+        token = Jwts.builder()
+                .header().keyId(KEY_ID).and()
+                .issuer("account-service")
+                .subject(UUID.randomUUID().toString())
+                .claim("login", "loadUser")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(KEY_PAIR.getPrivate())
+                .compact();
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port"))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (gateway != null) gateway.close();
+        if (backend != null) backend.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should compare gateway-side and service-side authentication")
+    void compareAuthenticationPlacement() {
+        // Arrange
+        run("/api/v1/account/me", REQUESTS / 10);
+        run("/api/v1/auth/me", REQUESTS / 10);
+        backendAuthNanos.reset();
+
+        // Act
+        Result gatewaySide = run("/api/v1/account/me", REQUESTS);
+        Result serviceSide = run("/api/v1/auth/me", REQUESTS);
+        long serviceAuthNanos = backendAuthNanos.sum();
+
+        // Assert
+        System.out.printf("gateway-side: %s, backend auth CPU 0 us/request%n", gatewaySide);
+        System.out.printf("service-side: %s, backend auth CPU %.1f us/request%n", serviceSide,
+                serviceAuthNanos / 1_000.0 / REQUESTS);
+        assertEquals(REQUESTS, gatewaySide.succeeded());
+        assertEquals(REQUESTS, serviceSide.succeeded());
+    }
+
+    private static Result run(String path, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong succeeded = new AtomicLong();
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long requestStart = System.nanoTime();
+                    return client.get().uri(path).retrieve().toBodilessEntity()
+                            .doOnSuccess(response -> {
+                                latencies[i] = System.nanoTime() - requestStart;
+                                if (response.getStatusCode().is2xxSuccessful()) succeeded.incrementAndGet();
+                            });
+                }), CONCURRENCY)
+                .blockLast();
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(succeeded.get(), requests * 1_000_000_000.0 / elapsed,
+                latencies[requests / 2] / 1_000, latencies[(int) (requests * 0.99)] / 1_000);
+    }
+
+    private record Result(long succeeded, double requestsPerSecond, long p50Micros, long p99Micros) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %d us, p99 %d us", requestsPerSecond, p50Micros, p99Micros);
+        }
+    }
+}